@@ -123,9 +123,13 @@ export const AddCohortModal = ({
       trainingLocation: data.location, // Map location -> trainingLocation
       startDate: data.start_date, // Map start_date -> startDate
       endDate: data.end_date || null, // Map end_date -> endDate
-      activeGencCount: initialData?.activeGencCount || 0
     };
 
+    // The GenC count follows candidate changes, so it is only sent when creating
+    if (!isEdit) {
+      payload.activeGencCount = 0;
+    }
+
     if (data.coachId && data.coachId !== '') {
       payload.coachId = parseInt(data.coachId, 10);
     } else {
@@ -41,6 +41,7 @@ export const GlobalExportModal = ({ isOpen, onClose }: GlobalExportModalProps) =
     const [startDate, setStartDate] = useState('');
     const [endDate, setEndDate] = useState('');
     const [isDownloading, setIsDownloading] = useState(false);
+    const [progress, setProgress] = useState<string | null>(null);
 
     const handleDownload = async () => {
         if (mode === 'range' && (!startDate || !endDate)) {
@@ -54,7 +55,20 @@ export const GlobalExportModal = ({ isOpen, onClose }: GlobalExportModalProps) =
                 ? { month: selectedMonth, year: selectedYear }
                 : { startDate, endDate };
 
-            const response = await reportApi.exportGlobalReport(params);
+            // Generated as a background job; poll until the spooled file is ready
+            let { data: job } = await reportApi.submitGlobalReportJob(params);
+            while (job.state === 'QUEUED' || job.state === 'RUNNING') {
+                setProgress(job.state === 'QUEUED'
+                    ? 'Queued...'
+                    : `${job.rowsProcessed.toLocaleString()} / ${job.totalRows.toLocaleString()} rows`);
+                await new Promise((resolve) => setTimeout(resolve, 1000));
+                job = (await reportApi.getReportJob(job.jobId)).data;
+            }
+            if (job.state === 'FAILED') {
+                throw new Error(job.error || 'Report generation failed');
+            }
+
+            const response = await reportApi.downloadReportJob(job.jobId);
 
             const blob = new Blob([response.data], {
                 type: 'application/vnd.openxmlformats-officedocument.spreadsheetml.sheet',
@@ -75,11 +89,12 @@ export const GlobalExportModal = ({ isOpen, onClose }: GlobalExportModalProps) =
 
             toast.success('Report downloaded successfully');
             onClose();
-        } catch (error) {
+        } catch (error: any) {
             console.error('Download error:', error);
-            toast.error('Failed to download global report');
+            toast.error(error?.response?.data?.message || 'Failed to download global report');
         } finally {
             setIsDownloading(false);
+            setProgress(null);
         }
     };
 
@@ -215,7 +230,7 @@ export const GlobalExportModal = ({ isOpen, onClose }: GlobalExportModalProps) =
                         disabled={isDownloading}
                         icon={!isDownloading && <Download className="h-4 w-4" />}
                     >
-                        {isDownloading ? 'Compiling Data...' : 'Download Sheet'}
+                        {isDownloading ? (progress ?? 'Compiling Data...') : 'Download Sheet'}
                     </GradientButton>
                 </div>
             </DialogContent>
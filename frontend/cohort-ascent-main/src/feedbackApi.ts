@@ -99,15 +99,37 @@ export interface FeedbackSubmission {
     overallSatisfaction: number;
 }
 
+export interface FeedbackAverages {
+    trainer: number;
+    mentor: number;
+    coach: number;
+    buddy: number;
+    overall: number;
+}
+
+export interface FeedbackWeekAnalytics {
+    weekNumber: number;
+    totalResponses: number;
+    averages: FeedbackAverages;
+    overallDistribution: Record<string, number>;
+}
+
 export interface FeedbackAnalytics {
     totalResponses: number;
-    averages: {
-        trainer: number;
-        mentor: number;
-        coach: number;
-        overall: number;
+    latestWeek: number | null;
+    averages: FeedbackAverages;
+    overallDistribution: Record<string, number>;
+    weeks: FeedbackWeekAnalytics[];
+}
+
+export interface FeedbackResponsePage {
+    content: Feedback[];
+    page: {
+        size: number;
+        number: number;
+        totalElements: number;
+        totalPages: number;
     };
-    responses: Feedback[];
 }
 
 export interface FeedbackSession {
@@ -137,6 +159,23 @@ export const feedbackApi = {
     getAnalytics: (cohortId: number) =>
         api.get<FeedbackAnalytics>(`/feedback/cohort/${cohortId}/analytics`),
 
+    getResponses: (cohortId: number, params: { week?: number; page?: number; size?: number }) =>
+        api.get<FeedbackResponsePage>(`/feedback/cohort/${cohortId}/responses`, { params }),
+
+    // Walks every page of a week's responses (used for CSV exports)
+    getAllResponses: async (cohortId: number, week: number) => {
+        const all: Feedback[] = [];
+        let page = 0;
+        let totalPages = 1;
+        while (page < totalPages) {
+            const response = await feedbackApi.getResponses(cohortId, { week, page, size: 500 });
+            all.push(...response.data.content);
+            totalPages = response.data.page.totalPages;
+            page++;
+        }
+        return all;
+    },
+
     // Public
     getSession: (token: string) =>
         api.get<FeedbackSession>(`/feedback/public/session/${token}`),
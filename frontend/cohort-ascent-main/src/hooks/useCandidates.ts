@@ -24,6 +24,18 @@ export interface Candidate {
   updatedAt: string;
 }
 
+export interface CandidateImportReport {
+  accepted: number;
+  skipped: number;
+  durationMs: number;
+  rows: {
+    row: number;
+    candidateId: string | null;
+    status: 'ACCEPTED' | 'SKIPPED';
+    reason: string | null;
+  }[];
+}
+
 export const useCandidates = (cohortId?: string, email?: string) => {
   return useQuery({
     queryKey: ['candidates', cohortId, email],
@@ -97,12 +109,20 @@ export const useBulkCreateCandidates = () => {
 
   return useMutation({
     mutationFn: async (candidates: Omit<Candidate, 'id' | 'createdAt' | 'updatedAt'>[]) => {
-      const response = await api.post('/candidates/bulk', candidates);
+      const response = await api.post<CandidateImportReport>('/candidates/import', candidates);
       return response.data;
     },
-    onSuccess: (data) => {
+    onSuccess: (report) => {
       queryClient.invalidateQueries({ queryKey: ['candidates'] });
-      toast.success(`${data.length} candidates imported successfully`);
+      queryClient.invalidateQueries({ queryKey: ['cohorts'] });
+      if (report.skipped > 0) {
+        const reasons = report.rows
+          .filter((r) => r.status === 'SKIPPED')
+          .slice(0, 3)
+          .map((r) => `row ${r.row}: ${r.reason}`)
+          .join('; ');
+        toast.warning(`${report.skipped} rows skipped (${reasons}${report.skipped > 3 ? '; ...' : ''})`);
+      }
     },
     onError: (error: any) => {
       toast.error(`Failed to import candidates: ${error.response?.data?.message || error.message}`);
@@ -1,7 +1,7 @@
 import { useEffect } from 'react';
 import { useNotificationStore } from '@/stores/notificationStore';
 import { useAuthStore } from '@/stores/authStore';
-import { Notification } from '@/types/notification';
+import { Notification, RoleNotification } from '@/types/notification';
 import { toast } from 'sonner';
 import { connectSocket, disconnectSocket, EffortActivity } from "@/integrations/realtime/socket";
 import { Zap } from 'lucide-react';
@@ -62,6 +62,7 @@ export const useNotifications = () => {
         try {
             connectSocket(
                 user.id.toString(),
+                user.role,
                 // Legacy Activity Events
                 (activity: EffortActivity) => {
                     const notification = mapEffortToNotification(activity);
@@ -78,6 +79,14 @@ export const useNotifications = () => {
                         description: notification.message,
                         icon: <Zap className="h-4 w-4 text-primary" />,
                     });
+                },
+                // Role-wide fan-out: the per-user rows already exist, so reload them
+                (notification: RoleNotification) => {
+                    fetchRealData();
+                    toast(notification.title, {
+                        description: notification.message,
+                        icon: <Zap className="h-4 w-4 text-primary" />,
+                    });
                 }
             );
         } catch (err) {
@@ -12,12 +12,14 @@ export interface EffortActivity {
   type: 'EFFORT_SUBMITTED' | 'WEEKLY_SUMMARY';
 }
 
-import { Notification } from '@/types/notification';
+import { Notification, RoleNotification } from '@/types/notification';
 
 export const connectSocket = (
   userId: string,
+  role: string,
   onActivityReceived: (activity: EffortActivity) => void,
-  onNotificationReceived: (notification: Notification) => void
+  onNotificationReceived: (notification: Notification) => void,
+  onRoleNotificationReceived: (notification: RoleNotification) => void
 ) => {
   try {
     const socket = new SockJS('/ws');
@@ -47,6 +49,19 @@ export const connectSocket = (
         }
       });
 
+      // Subscribe to role-wide notifications (one frame per fan-out)
+      stompClient?.subscribe(`/topic/notifications/role/${role}`, (message) => {
+        try {
+          const notification: RoleNotification = JSON.parse(message.body);
+          if (notification.excludeUserId?.toString() === userId) {
+            return;
+          }
+          onRoleNotificationReceived(notification);
+        } catch (error) {
+          console.error('Error parsing role Notification WebSocket message:', error);
+        }
+      });
+
       // Subscribe to effort submissions (Legacy/Global)
       stompClient?.subscribe('/topic/efforts', (message) => {
         try {
@@ -120,9 +120,9 @@ export const Candidates = () => {
     }
 
     bulkCreate.mutate(candidatesToCreate, {
-      onSuccess: () => {
+      onSuccess: (report) => {
         setShowCSVUpload(false);
-        toast.success(`Successfully imported ${candidatesToCreate.length} candidates across cohorts.`);
+        toast.success(`Successfully imported ${report.accepted} candidates across cohorts.`);
       },
     });
   };
@@ -40,6 +40,7 @@ import {
 } from '@/hooks/useCohortsBackend';
 import { useSubmitWeeklyEffort, useWeeklySummaries, useEffortsByCohortAndRange, useEffortsByCohort } from '@/hooks/useEffortsBackend';
 import { useCohortFeedbackRequests, useCohortFeedbackAnalytics, useCreateFeedbackRequest, useDeactivateRequest } from '@/hooks/useFeedback';
+import { feedbackApi } from '@/feedbackApi';
 import { Cohort, cohortApi } from '@/integrations/backend/cohortApi';
 import { useCohortStore } from '@/stores/cohortStore';
 import { useTrainers, useCreateTrainer, useAssignTrainer, useUpdateTrainer, useDeleteTrainer, useUnassignTrainer, Trainer } from '@/hooks/useTrainers';
@@ -722,9 +723,9 @@ const CandidatesTab = ({ cohortId, cohort }: CandidatesTabProps) => {
     }));
 
     bulkCreate.mutate(candidates, {
-      onSuccess: () => {
+      onSuccess: (report) => {
         setShowCSVUpload(false);
-        toast.success(`Imported ${candidates.length} candidates for ${cohort.code}`);
+        toast.success(`Imported ${report.accepted} candidates for ${cohort.code}`);
       },
     });
   };
@@ -1148,9 +1149,8 @@ const FeedbackTab = ({ cohortId, cohort }: { cohortId: string; cohort: Cohort })
 
   // Update exportWeek default when analytics loads
   useEffect(() => {
-    if (analytics?.responses?.length) {
-      const maxWeek = Math.max(...analytics.responses.map((r: any) => r.weekNumber));
-      setExportWeek(maxWeek);
+    if (analytics?.latestWeek) {
+      setExportWeek(analytics.latestWeek);
     }
   }, [analytics]);
 
@@ -1181,27 +1181,26 @@ const FeedbackTab = ({ cohortId, cohort }: { cohortId: string; cohort: Cohort })
     window.open(`/feedback/${token}`, '_blank');
   };
 
-  const handleStakeholderExport = (type: 'tech' | 'mentor' | 'coach' | 'buddy' | 'behavioral') => {
-    if (!analytics || analytics.responses.length === 0) {
+  const handleStakeholderExport = async (type: 'tech' | 'mentor' | 'coach' | 'buddy' | 'behavioral') => {
+    if (!analytics || analytics.totalResponses === 0) {
       toast.error('No data available to export');
       return;
     }
 
-
-
     // Determine target week
     let targetWeek = exportWeek;
     if (exportScope === 'latest') {
-      if (analytics.responses.length > 0) {
-        // Ensure weekNumber is treated as a number
-        targetWeek = Math.max(...analytics.responses.map((r: any) => Number(r.weekNumber)));
-      } else {
-        targetWeek = 1; // Default fallback
-      }
+      targetWeek = analytics.latestWeek ?? 1;
     }
 
-    // Filter responses based on target week
-    const responsesToExport = analytics.responses.filter((r: any) => Number(r.weekNumber) === targetWeek);
+    // Responses are paged on the server; fetch only the target week
+    let responsesToExport: any[];
+    try {
+      responsesToExport = await feedbackApi.getAllResponses(parseInt(cohortId), targetWeek);
+    } catch (error) {
+      toast.error('Failed to load feedback responses');
+      return;
+    }
 
     if (responsesToExport.length === 0) {
       toast.error(`No data available for Week ${targetWeek}`);
@@ -1580,28 +1579,17 @@ const FeedbackTab = ({ cohortId, cohort }: { cohortId: string; cohort: Cohort })
 
               <div className="relative z-10">
                 {(() => {
-                  // Calculate latest week stats
-                  if (!analytics.responses.length) return <p className="text-sm text-slate-500">No data available.</p>;
-
-                  const latestWeek = Math.max(...analytics.responses.map(r => r.weekNumber));
-                  const latestResponses = analytics.responses.filter(r => r.weekNumber === latestWeek);
-
-                  // Helper to get average of valid numbers
-                  const getAvg = (vals: (number | null | undefined)[]) => {
-                    const valid = vals.filter(v => typeof v === 'number' && v > 0) as number[];
-                    return valid.length ? valid.reduce((a, b) => a + b, 0) / valid.length : 0;
-                  };
+                  // Latest week stats are aggregated on the server
+                  const latest = analytics.weeks.find(w => w.weekNumber === analytics.latestWeek);
+                  if (!latest) return <p className="text-sm text-slate-500">No data available.</p>;
 
-                  // Calculate category averages for latest week
+                  const latestWeek = latest.weekNumber;
                   const latestStats = {
-                    technical: getAvg(latestResponses.flatMap(r => [
-                      r.courseContentRating, r.technicalKnowledgeRating, r.trainerEngagementRating,
-                      r.conceptsScheduleRating, r.udemyRecapRating, r.additionalScenarioRating
-                    ])),
-                    mentor: getAvg(latestResponses.map(r => r.mentorGuidanceRating)),
-                    coach: getAvg(latestResponses.map(r => r.coachEffectivenessRating)),
-                    buddy: getAvg(latestResponses.map(r => r.buddyMentorGuidanceRating)),
-                    overall: getAvg(latestResponses.map(r => r.overallSatisfaction))
+                    technical: latest.averages.trainer,
+                    mentor: latest.averages.mentor,
+                    coach: latest.averages.coach,
+                    buddy: latest.averages.buddy,
+                    overall: latest.averages.overall
                   };
 
                   return (
@@ -1610,7 +1598,7 @@ const FeedbackTab = ({ cohortId, cohort }: { cohortId: string; cohort: Cohort })
                         <div className="px-3 py-1 bg-white/5 rounded-full border border-white/10">
                           <span className="text-xs font-bold text-neon-blue uppercase tracking-widest">Week {latestWeek} Analysis</span>
                         </div>
-                        <span className="text-[10px] text-slate-500 font-bold uppercase tracking-widest">{latestResponses.length} Responses</span>
+                        <span className="text-[10px] text-slate-500 font-bold uppercase tracking-widest">{latest.totalResponses} Responses</span>
                       </div>
 
                       <div className="space-y-4">
@@ -1656,10 +1644,7 @@ const FeedbackTab = ({ cohortId, cohort }: { cohortId: string; cohort: Cohort })
                   { label: 'Latest Week Review', value: analytics.averages.coach, color: 'from-neon-blue/40 to-neon-blue' },
                   {
                     label: 'Buddy Mentor',
-                    value: (() => {
-                      const valid = analytics.responses.map((r: any) => r.buddyMentorGuidanceRating).filter((v: any) => typeof v === 'number' && v > 0);
-                      return valid.length ? valid.reduce((a: any, b: any) => a + b, 0) / valid.length : 0;
-                    })(),
+                    value: analytics.averages.buddy,
                     color: 'from-amber-500/40 to-amber-500'
                   },
                   { label: 'Overall', value: analytics.averages.overall, color: 'from-green-500/40 to-green-500' },
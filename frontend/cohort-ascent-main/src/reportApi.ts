@@ -29,6 +29,17 @@ export interface ReportResponse {
   overallEffort: Record<string, number>;
 }
 
+export interface ReportJobStatus {
+  jobId: string;
+  type: 'GLOBAL' | 'COHORT';
+  state: 'QUEUED' | 'RUNNING' | 'DONE' | 'FAILED';
+  fileName: string;
+  rowsProcessed: number;
+  totalRows: number;
+  sizeBytes: number;
+  error?: string;
+}
+
 export const reportApi = {
   getReportData: (cohortId?: number) => api.get<ReportResponse>('/reports', { params: { cohortId } }),
   getRecentActivities: (coachId?: number) => api.get<any[]>('/reports/recent-activities', { params: { coachId } }),
@@ -37,4 +48,8 @@ export const reportApi = {
   exportGlobalReport: (params: { month?: number; year?: number; startDate?: string; endDate?: string }) =>
     api.get('/reports/global-export', { params, responseType: 'blob' }),
   getSubmissionCount: () => api.get<number>('/reports/submission-count'),
+  submitGlobalReportJob: (params: { month?: number; year?: number; startDate?: string; endDate?: string }) =>
+    api.post<ReportJobStatus>('/reports/jobs/global', null, { params }),
+  getReportJob: (jobId: string) => api.get<ReportJobStatus>(`/reports/jobs/${jobId}`),
+  downloadReportJob: (jobId: string) => api.get(`/reports/jobs/${jobId}/download`, { responseType: 'blob' }),
 };
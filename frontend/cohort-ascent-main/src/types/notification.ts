@@ -20,3 +20,13 @@ export interface Notification {
     isRead: boolean;
     createdAt: string;
 }
+
+export interface RoleNotification {
+    role: string;
+    type: NotificationType;
+    title: string;
+    message: string;
+    link?: string;
+    createdAt: string;
+    excludeUserId?: number | null;
+}
@@ -1,5 +1,6 @@
 package com.example.Academy.config;
 
+import com.example.Academy.security.UserDetailsCache;
 import com.example.Academy.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -13,10 +14,15 @@ import lombok.RequiredArgsConstructor;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserService userService;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     public org.springframework.security.core.userdetails.UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
+        return userDetailsCache.get(username, this::loadFromDatabase);
+    }
+
+    private org.springframework.security.core.userdetails.UserDetails loadFromDatabase(String username) {
         var user = userService.getUserByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         return org.springframework.security.core.userdetails.User.builder()
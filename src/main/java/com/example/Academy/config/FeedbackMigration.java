@@ -0,0 +1,76 @@
+package com.example.Academy.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Ensures uk_feedback_request_employee exists, since duplicate submissions are
+ * only detected by that key.
+ *
+ * Older code could store the same Employee ID twice for a request, and with
+ * ddl-auto=update Hibernate cannot add the key while such rows exist and only
+ * logs a warning. The later duplicates are deleted here, keeping the first
+ * submission, and the key is created; startup fails if it is still missing.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FeedbackMigration implements CommandLineRunner {
+
+    static final String TABLE = "feedback";
+    static final String CONSTRAINT = "uk_feedback_request_employee";
+
+    private static final int DELETE_BATCH = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void run(String... args) throws Exception {
+        if (hasUniqueKey()) {
+            return;
+        }
+
+        int removed = removeDuplicates();
+        if (removed > 0) {
+            System.out.println("Feedback migration: removed " + removed + " duplicate submissions.");
+        }
+
+        System.out.println("Feedback migration: adding " + CONSTRAINT);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + CONSTRAINT
+                + " UNIQUE (request_id, employee_id)");
+        if (!hasUniqueKey()) {
+            throw new IllegalStateException("Unique key on " + TABLE
+                    + " (request_id, employee_id) is missing; duplicate feedback would be accepted");
+        }
+    }
+
+    /**
+     * Deletes every submission that repeats an earlier one's request and Employee
+     * ID, compared with the column collation as the key will; returns the number
+     * of rows deleted.
+     */
+    public int removeDuplicates() {
+        List<Long> duplicates = jdbcTemplate.queryForList("SELECT DISTINCT f.id FROM " + TABLE + " f JOIN " + TABLE
+                + " k ON k.request_id = f.request_id AND k.employee_id = f.employee_id AND k.id < f.id",
+                Long.class);
+        for (int i = 0; i < duplicates.size(); i += DELETE_BATCH) {
+            List<Long> ids = duplicates.subList(i, Math.min(i + DELETE_BATCH, duplicates.size()));
+            jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE id IN ("
+                    + ids.stream().map(String::valueOf).collect(Collectors.joining(",")) + ")");
+        }
+        return duplicates.size();
+    }
+
+    public boolean hasUniqueKey() {
+        return UniqueKeyInspector.exists(jdbcTemplate, TABLE, "request_id", "employee_id");
+    }
+}
@@ -53,7 +53,7 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/**", "/profiles/**", "/api/feedback/public/**", "/ws/**")
+                        .requestMatchers("/api/auth/**", "/profiles/**", "/api/avatars/**", "/api/feedback/public/**", "/ws/**")
                         .permitAll()
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
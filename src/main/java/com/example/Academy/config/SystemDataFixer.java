@@ -1,17 +1,16 @@
 package com.example.Academy.config;
 
-import com.example.Academy.entity.Cohort;
-import com.example.Academy.entity.StakeholderEffort;
 import com.example.Academy.entity.User;
 import com.example.Academy.repository.CohortRepository;
-import com.example.Academy.repository.StakeholderEffortRepository;
 import com.example.Academy.repository.UserRepository;
+import com.example.Academy.service.EffortStakeholderRepairJob;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.List;
 import java.util.Optional;
 
 @Component
@@ -24,7 +23,7 @@ public class SystemDataFixer implements CommandLineRunner {
     private CohortRepository cohortRepository;
 
     @Autowired
-    private StakeholderEffortRepository effortRepository;
+    private EffortStakeholderRepairJob effortRepairJob;
 
     @Override
     @Transactional
@@ -51,44 +50,20 @@ public class SystemDataFixer implements CommandLineRunner {
         }
 
         // 2. Fix Cohort assignments (Assign target trainer as primary where missing)
-        List<Cohort> allCohorts = cohortRepository.findAll();
-        for (Cohort cohort : allCohorts) {
-            if (cohort.getPrimaryTrainer() == null) {
-                System.out.println("Assigning Trainer 2457 as Primary Trainer for Cohort: " + cohort.getCode());
-                cohort.setPrimaryTrainer(targetTrainer);
-                cohortRepository.save(cohort);
-            }
+        int assigned = cohortRepository.assignPrimaryTrainerWhereMissing(targetTrainer);
+        if (assigned > 0) {
+            System.out.println("Assigned Trainer 2457 as Primary Trainer for " + assigned + " cohorts.");
         }
 
-        // 3. Fix existing Effort records (Replace Coach IDs with actual Trainer IDs)
-        List<StakeholderEffort> efforts = effortRepository.findAll();
-        int totalUpdated = 0;
-
-        for (StakeholderEffort effort : efforts) {
-            User currentStakeholder = effort.getTrainerMentor();
-            User resolvedStakeholder = null;
-
-            // If the record currently points to a COACH (likely the submitter)
-            // or is NULL, we force it to the actual trainer/mentor from the cohort.
-            if (currentStakeholder == null || currentStakeholder.getRole() == User.Role.COACH) {
-                switch (effort.getRole()) {
-                    case TRAINER -> resolvedStakeholder = effort.getCohort().getPrimaryTrainer();
-                    case MENTOR -> resolvedStakeholder = effort.getCohort().getPrimaryMentor();
-                    case BUDDY_MENTOR -> resolvedStakeholder = effort.getCohort().getBuddyMentor();
-                    case BH_TRAINER -> resolvedStakeholder = effort.getCohort().getBehavioralTrainer();
-                }
+        // 3. Fix existing Effort records (Replace Coach IDs with actual Trainer IDs).
+        // Runs after this transaction commits, in the background and resumable.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                effortRepairJob.runInBackground();
             }
+        });
 
-            // If we found a better trainer/mentor than what's stored, update it.
-            if (resolvedStakeholder != null &&
-                    (currentStakeholder == null || !currentStakeholder.getId().equals(resolvedStakeholder.getId()))) {
-                effort.setTrainerMentor(resolvedStakeholder);
-                effortRepository.save(effort);
-                totalUpdated++;
-            }
-        }
-
-        System.out.println("Synchronized " + totalUpdated + " effort records across all cohorts.");
         System.out.println("--- SYSTEM DATA SYNCHRONIZATION COMPLETE ---");
     }
 }
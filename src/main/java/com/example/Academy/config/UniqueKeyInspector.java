@@ -0,0 +1,55 @@
+package com.example.Academy.config;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads unique indexes from the JDBC metadata so startup migrations can tell
+ * whether a key they depend on really exists; ddl-auto=update only logs a
+ * warning when it cannot create one.
+ */
+final class UniqueKeyInspector {
+
+    private UniqueKeyInspector() {
+    }
+
+    /**
+     * True if the table has a unique index on exactly the given columns, in order.
+     */
+    static boolean exists(JdbcTemplate jdbcTemplate, String table, String... columns) {
+        List<String> wanted = List.of(columns);
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData meta = connection.getMetaData();
+            // Identifier case depends on the database, so try both spellings
+            for (String name : List.of(table, table.toUpperCase())) {
+                Map<String, List<String>> columnsByIndex = new HashMap<>();
+                try (ResultSet rs = meta.getIndexInfo(connection.getCatalog(), connection.getSchema(), name, true,
+                        false)) {
+                    List<Object[]> entries = new ArrayList<>();
+                    while (rs.next()) {
+                        if (rs.getString("COLUMN_NAME") != null) {
+                            entries.add(new Object[] { rs.getString("INDEX_NAME"), rs.getShort("ORDINAL_POSITION"),
+                                    rs.getString("COLUMN_NAME").toLowerCase() });
+                        }
+                    }
+                    entries.sort(Comparator.comparing(e -> (Short) e[1]));
+                    for (Object[] e : entries) {
+                        columnsByIndex.computeIfAbsent((String) e[0], k -> new ArrayList<>()).add((String) e[2]);
+                    }
+                }
+                if (columnsByIndex.containsValue(wanted)) {
+                    return true;
+                }
+            }
+            return false;
+        }));
+    }
+}
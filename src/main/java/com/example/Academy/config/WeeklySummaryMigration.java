@@ -0,0 +1,140 @@
+package com.example.Academy.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Brings weekly_effort_summary in line with the one-row-per-(cohort, Monday)
+ * model that WeeklySummaryUpdater relies on.
+ *
+ * Older code could insert duplicate rows for a cohort/week and keyed rows
+ * written by single effort submissions by the effort date instead of its
+ * Monday. Each affected (cohort, Monday) group is collapsed into one row whose
+ * hours are recomputed from the raw efforts of that week; holidays are merged.
+ * With ddl-auto=update Hibernate cannot add uk_summary_cohort_week while
+ * duplicates exist and only logs a warning, so the constraint is created here
+ * once the data is clean. Startup fails if it is still missing, since the
+ * atomic deltas would otherwise be applied to every duplicate row.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WeeklySummaryMigration implements CommandLineRunner {
+
+    static final String TABLE = "weekly_effort_summary";
+    static final String CONSTRAINT = "uk_summary_cohort_week";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void run(String... args) throws Exception {
+        int merged = mergeWeeks();
+        if (merged > 0) {
+            System.out.println("Weekly summary migration: normalized " + merged + " cohort weeks.");
+        }
+
+        if (!hasUniqueKey()) {
+            System.out.println("Weekly summary migration: adding " + CONSTRAINT);
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + CONSTRAINT
+                    + " UNIQUE (cohort_id, week_start_date)");
+            if (!hasUniqueKey()) {
+                throw new IllegalStateException("Unique key on " + TABLE
+                        + " (cohort_id, week_start_date) is missing; weekly summaries would double count");
+            }
+        }
+    }
+
+    /**
+     * Collapses duplicate and non-Monday rows; returns the number of cohort weeks
+     * rewritten.
+     */
+    public int mergeWeeks() {
+        Map<List<Object>, List<SummaryRow>> groups = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, cohort_id, week_start_date, holidays FROM " + TABLE + " ORDER BY id", rs -> {
+            SummaryRow row = new SummaryRow(rs.getLong("id"), rs.getLong("cohort_id"),
+                    rs.getObject("week_start_date", LocalDate.class), rs.getString("holidays"));
+            groups.computeIfAbsent(List.of(row.cohortId, row.monday()), k -> new ArrayList<>()).add(row);
+        });
+
+        int merged = 0;
+        for (List<SummaryRow> rows : groups.values()) {
+            SummaryRow first = rows.get(0);
+            if (rows.size() == 1 && first.weekStart.equals(first.monday())) {
+                continue;
+            }
+            // Keep the oldest row already keyed by the Monday, otherwise the oldest row
+            SummaryRow keeper = rows.stream()
+                    .filter(r -> r.weekStart.equals(r.monday()))
+                    .findFirst()
+                    .orElse(first);
+            List<Long> obsolete = rows.stream().map(r -> r.id).filter(id -> !id.equals(keeper.id)).toList();
+            if (!obsolete.isEmpty()) {
+                jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE id IN ("
+                        + obsolete.stream().map(String::valueOf).collect(Collectors.joining(",")) + ")");
+            }
+            rewrite(keeper, rows);
+            merged++;
+        }
+        return merged;
+    }
+
+    private void rewrite(SummaryRow keeper, List<SummaryRow> rows) {
+        LocalDate monday = keeper.monday();
+        LocalDate sunday = monday.plusDays(6);
+
+        Map<String, BigDecimal> hours = new HashMap<>();
+        jdbcTemplate.query("SELECT role, SUM(effort_hours) AS hours FROM stakeholder_efforts "
+                + "WHERE cohort_id = ? AND effort_date BETWEEN ? AND ? GROUP BY role",
+                rs -> {
+                    hours.put(rs.getString("role"), rs.getBigDecimal("hours"));
+                }, keeper.cohortId, monday, sunday);
+        BigDecimal tech = hours.getOrDefault("TRAINER", BigDecimal.ZERO);
+        BigDecimal behavioral = hours.getOrDefault("BH_TRAINER", BigDecimal.ZERO);
+        BigDecimal mentor = hours.getOrDefault("MENTOR", BigDecimal.ZERO);
+        BigDecimal buddy = hours.getOrDefault("BUDDY_MENTOR", BigDecimal.ZERO);
+
+        TreeSet<String> holidays = rows.stream()
+                .map(r -> r.holidays)
+                .filter(Objects::nonNull)
+                .flatMap(h -> Arrays.stream(h.split(",")))
+                .map(String::trim)
+                .filter(h -> !h.isEmpty())
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        jdbcTemplate.update("UPDATE " + TABLE + " SET week_start_date = ?, week_end_date = ?, total_hours = ?, "
+                + "technical_trainer_hours = ?, behavioral_trainer_hours = ?, mentor_hours = ?, "
+                + "buddy_mentor_hours = ?, holidays = ?, version = COALESCE(version, 0) + 1 WHERE id = ?",
+                monday, sunday, tech.add(behavioral).add(mentor).add(buddy), tech, behavioral, mentor, buddy,
+                holidays.isEmpty() ? null : String.join(",", holidays), keeper.id);
+    }
+
+    public boolean hasUniqueKey() {
+        return UniqueKeyInspector.exists(jdbcTemplate, TABLE, "cohort_id", "week_start_date");
+    }
+
+    private record SummaryRow(Long id, Long cohortId, LocalDate weekStart, String holidays) {
+        LocalDate monday() {
+            return weekStart.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.Academy.controller;
+
+import com.example.Academy.service.AvatarStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Serves avatars from {@link AvatarStore}. Keys are content hashes, so every
+ * response is immutable and cached by browsers for a year; revalidation with
+ * the strong ETag is answered with 304.
+ */
+@RestController
+@RequestMapping("/api/avatars")
+@CrossOrigin(origins = "*")
+public class AvatarController {
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    // Tomcat request attributes for handing a file to the connector's sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private AvatarStore avatarStore;
+
+    @GetMapping("/{key}/{size}")
+    public void getAvatar(@PathVariable String key, @PathVariable String size, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Path path = avatarStore.resolve(key, size);
+        if (path == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + key + "-" + size + "\"")) {
+            return;
+        }
+
+        long length = Files.size(path);
+        response.setContentType(MediaTypeFactory.getMediaType(path.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(length);
+
+        // Let the connector copy the file straight to the socket when it can
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return;
+        }
+        Files.copy(path, response.getOutputStream());
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.Academy.controller;
 
+import com.example.Academy.dto.candidate.CandidateImportReport;
 import com.example.Academy.entity.Candidate;
 import com.example.Academy.service.CandidateService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -64,6 +65,12 @@ public class CandidateController {
         }
     }
 
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COACH')")
+    public ResponseEntity<CandidateImportReport> importCandidates(@RequestBody List<Candidate> candidates) {
+        return ResponseEntity.ok(candidateService.importCandidates(candidates));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('COACH')")
     public ResponseEntity<Candidate> updateCandidate(@PathVariable Long id, @RequestBody Candidate candidate) {
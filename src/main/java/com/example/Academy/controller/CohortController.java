@@ -1,7 +1,10 @@
 package com.example.Academy.controller;
 
 import com.example.Academy.dto.cohort.CohortResponse;
+import com.example.Academy.dto.cohort.CohortSearchCriteria;
+import com.example.Academy.dto.cohort.CohortSearchPage;
 import com.example.Academy.dto.cohort.CreateCohortRequest;
+import com.example.Academy.dto.cohort.ReconciliationReport;
 import com.example.Academy.entity.Cohort;
 import com.example.Academy.entity.CohortTrainerMapping;
 import com.example.Academy.entity.CohortMentorMapping;
@@ -43,37 +46,33 @@ public class CohortController {
 
     @GetMapping
     public ResponseEntity<List<CohortResponse>> getAllCohorts(@RequestParam(required = false) String email) {
-        List<Cohort> cohorts;
-
-        if (email != null && !email.isEmpty()) {
-            System.out.println("DEBUG: getAllCohorts called with email: " + email);
-            try {
-                cohorts = cohortService.getCohortsForUser(email);
-                System.out.println("DEBUG: getCohortsForUser returned " + cohorts.size() + " cohorts.");
-            } catch (Exception e) {
-                System.err.println("DEBUG: Error fetching cohorts for user: " + e.getMessage());
-                // If user not found, fallback to all or empty? Let's return empty to be safe
-                // OR fallback to all if we assume earlier behavior.
-                // Given the requirement "only assigned data must be shown", erroring or empty
-                // is safer than showing all.
-                // But specifically for robustness, if email is invalid, maybe return empty.
-                return ResponseEntity.badRequest().build();
-            }
-        } else {
-            System.out.println("DEBUG: getAllCohorts called WITHOUT email. Returning empty list for safety.");
+        if (email == null || email.isEmpty()) {
             // previously returned all cohorts, which leaked data. Now default to empty.
-            cohorts = List.of();
+            return ResponseEntity.ok(List.of());
         }
 
-        return ResponseEntity.ok(
-                cohorts.stream()
-                        .map(cohortService::mapToResponse)
-                        .toList());
+        try {
+            return ResponseEntity.ok(cohortService.getCohortResponsesForUser(email));
+        } catch (Exception e) {
+            System.err.println("Error fetching cohorts for user " + email + ": " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CohortSearchPage> searchCohorts(@RequestParam String email,
+            @ModelAttribute CohortSearchCriteria criteria) {
+        try {
+            return ResponseEntity.ok(cohortService.searchCohorts(email, criteria));
+        } catch (Exception e) {
+            System.err.println("Error searching cohorts for user " + email + ": " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Cohort> getCohortById(@PathVariable Long id) {
-        Optional<Cohort> cohort = cohortService.getCohortById(id);
+        Optional<Cohort> cohort = cohortService.getCohortWithStakeholders(id);
         return cohort.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -165,4 +164,10 @@ public class CohortController {
         List<CohortMentorMapping> mentors = cohortService.getAdditionalMentors(cohortId);
         return ResponseEntity.ok(mentors);
     }
+
+    @PostMapping("/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReconciliationReport> reconcileSystemState() {
+        return ResponseEntity.ok(cohortService.reconcileSystemState());
+    }
 }
@@ -2,8 +2,10 @@ package com.example.Academy.controller;
 
 import com.example.Academy.entity.*;
 import com.example.Academy.repository.*;
+import com.example.Academy.service.EmailOutboxDispatcher;
 import com.example.Academy.service.EmailService;
 import com.example.Academy.service.ExecutiveReportService;
+import com.example.Academy.service.ReportCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +22,7 @@ import java.util.Set;
 public class EmailDispatchController {
 
     private final EmailService emailService;
+    private final EmailOutboxDispatcher emailOutboxDispatcher;
     private final FeedbackRequestRepository feedbackRequestRepository;
     private final CandidateRepository candidateRepository;
     private final CohortRepository cohortRepository;
@@ -27,6 +30,7 @@ public class EmailDispatchController {
     private final CohortMentorMappingRepository mentorMappingRepository;
     private final FeedbackRepository feedbackRepository;
     private final ExecutiveReportService executiveReportService;
+    private final ReportCache reportCache;
 
     @PostMapping("/feedback/{requestId}")
     public ResponseEntity<String> sendFeedbackLink(@PathVariable Long requestId) {
@@ -39,11 +43,11 @@ public class EmailDispatchController {
                     Candidate.Status.ACTIVE);
 
             String feedbackUrl = "http://localhost:8081/feedback/" + request.getToken();
-            int successCount = 0;
+            String subject = "Week " + request.getWeekNumber() + " Feedback Request - " + cohort.getCode();
+            java.util.Map<String, String> bodiesByEmail = new java.util.LinkedHashMap<>();
 
             for (Candidate candidate : candidates) {
                 if (candidate.getEmail() != null && !candidate.getEmail().isEmpty()) {
-                    String subject = "Week " + request.getWeekNumber() + " Feedback Request - " + cohort.getCode();
                     String body = String.format(
                             """
                                     <html>
@@ -60,10 +64,12 @@ public class EmailDispatchController {
                                     """,
                             candidate.getName(), request.getWeekNumber(), cohort.getCode(), feedbackUrl, feedbackUrl);
 
-                    emailService.sendHtmlEmail(candidate.getEmail(), subject, body);
-                    successCount++;
+                    bodiesByEmail.put(candidate.getEmail(), body);
                 }
             }
+
+            // Queued in one transaction; the outbox workers deliver them in batches
+            int successCount = emailService.sendHtmlEmails(bodiesByEmail, subject);
             return ResponseEntity.ok("Sent feedback links to " + successCount + " candidates.");
         } catch (Exception e) {
             e.printStackTrace();
@@ -74,7 +80,8 @@ public class EmailDispatchController {
     @PostMapping("/report/{cohortId}")
     public ResponseEntity<String> sendWeeklyReport(
             @PathVariable Long cohortId,
-            @RequestParam Integer weekNumber) {
+            @RequestParam Integer weekNumber,
+            @RequestParam(defaultValue = "false") boolean combined) {
         try {
             Cohort cohort = cohortRepository.findById(cohortId)
                     .orElseThrow(() -> new RuntimeException("Cohort not found"));
@@ -83,15 +90,20 @@ public class EmailDispatchController {
             LocalDate startDate = cohort.getStartDate().plusWeeks(weekNumber - 1);
             LocalDate endDate = startDate.plusDays(6);
 
-            // Generate Comprehensive Feedback Report (6 separate files)
+            // Generate Comprehensive Feedback Report (6 separate files, or one workbook with 6 sheets)
             List<Feedback> feedbackList = feedbackRepository.findByCohortIdAndWeekNumber(cohortId, weekNumber);
-            java.util.Map<String, byte[]> attachments = com.example.Academy.util.ComprehensiveFeedbackReportGenerator
-                    .generate(feedbackList);
+            java.util.Map<String, byte[]> attachments;
+            if (combined) {
+                attachments = new java.util.LinkedHashMap<>();
+                attachments.put("Feedback_Report_" + cohort.getCode() + "_Week" + weekNumber + ".xlsx",
+                        com.example.Academy.util.ComprehensiveFeedbackReportGenerator.generateCombined(feedbackList));
+            } else {
+                attachments = com.example.Academy.util.ComprehensiveFeedbackReportGenerator.generate(feedbackList);
+            }
 
-            // Add Executive Report (Efforts) as 7th file
-            com.example.Academy.dto.report.ExecutiveReportData reportData = executiveReportService
-                    .getReportData(cohortId, startDate, endDate);
-            byte[] effortReportBytes = com.example.Academy.util.ExcelExecutiveReportGenerator.generate(reportData);
+            // Add Executive Report (Efforts) as 7th file, shared with the export endpoint's cache
+            byte[] effortReportBytes = reportCache.get(cohortId, startDate, endDate, "EXCEL",
+                    () -> executiveReportService.generateReport(cohortId, startDate, endDate, "EXCEL")).content();
             attachments.put("Effort_Report_" + cohort.getCode() + "_Week" + weekNumber + ".xlsx", effortReportBytes);
 
             // Get Recipients (Coaches, Trainers, Mentors, Buddy Mentors)
@@ -113,19 +125,14 @@ public class EmailDispatchController {
             if (cohort.getCoach() != null)
                 recipientEmails.add(cohort.getCoach().getEmail());
 
-            int successCount = 0;
             String subject = "Weekly Comprehensive Feedback Report - Week " + weekNumber + " - " + cohort.getCode();
             String body = "Please find attached the Comprehensive Feedback Report (7 files) including the Effort Report for Week "
                     + weekNumber
                     + " (" + startDate + " to "
                     + endDate + ").";
 
-            for (String email : recipientEmails) {
-                if (email != null && !email.isEmpty()) {
-                    emailService.sendEmailWithAttachments(email, subject, body, attachments);
-                    successCount++;
-                }
-            }
+            recipientEmails.removeIf(email -> email == null || email.isEmpty());
+            int successCount = emailService.sendEmailWithAttachments(recipientEmails, subject, body, attachments);
 
             return ResponseEntity
                     .ok("Sent Week " + weekNumber + " comprehensive report to " + successCount + " recipients.");
@@ -134,4 +141,9 @@ public class EmailDispatchController {
             return ResponseEntity.internalServerError().body("Error sending report: " + e.getMessage());
         }
     }
+
+    @GetMapping("/outbox/stats")
+    public ResponseEntity<java.util.Map<String, Object>> getOutboxStats() {
+        return ResponseEntity.ok(emailOutboxDispatcher.getStats());
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.Academy.controller;
 
+import com.example.Academy.dto.feedback.FeedbackAnalyticsResponseDTO;
 import com.example.Academy.dto.feedback.FeedbackRequestCreateDTO;
 import com.example.Academy.dto.feedback.FeedbackSubmissionDTO;
 import com.example.Academy.dto.feedback.FeedbackSessionDTO;
@@ -7,6 +8,9 @@ import com.example.Academy.entity.Feedback;
 import com.example.Academy.entity.FeedbackRequest;
 import com.example.Academy.service.FeedbackService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -48,6 +52,23 @@ public class FeedbackController {
         return ResponseEntity.ok(feedbackService.getCohortAnalytics(cohortId));
     }
 
+    @GetMapping("/cohort/{cohortId}/responses")
+    @PreAuthorize("hasAnyRole('ADMIN', 'COACH', 'LOCATION_LEAD')")
+    public ResponseEntity<PagedModel<FeedbackAnalyticsResponseDTO>> getCohortResponses(
+            @PathVariable Long cohortId,
+            @RequestParam(required = false) Integer week,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        PageRequest pageRequest = PageRequest.of(page, Math.min(Math.max(size, 1), 500), Sort.by("id"));
+        return ResponseEntity.ok(new PagedModel<>(feedbackService.getCohortResponses(cohortId, week, pageRequest)));
+    }
+
+    @GetMapping("/write-behind/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getWriteBehindStats() {
+        return ResponseEntity.ok(feedbackService.getWriteBehindStats());
+    }
+
     // Public Endpoints (Unauthenticated)
     @GetMapping("/public/session/{token}")
     public ResponseEntity<FeedbackSessionDTO> getRequestByToken(@PathVariable String token) {
@@ -55,7 +76,11 @@ public class FeedbackController {
     }
 
     @PostMapping("/public/submit")
-    public ResponseEntity<Feedback> submitFeedback(@RequestBody FeedbackSubmissionDTO dto) {
-        return ResponseEntity.ok(feedbackService.submitFeedback(dto));
+    public ResponseEntity<?> submitFeedback(@RequestBody FeedbackSubmissionDTO dto) {
+        Feedback feedback = feedbackService.acceptFeedback(dto);
+        if (feedback == null) {
+            return ResponseEntity.accepted().body(Map.of("status", "QUEUED"));
+        }
+        return ResponseEntity.ok(feedback);
     }
 }
@@ -1,17 +1,24 @@
 package com.example.Academy.controller;
 
+import com.example.Academy.dto.report.ReportJobStatus;
 import com.example.Academy.dto.report.ReportResponseDTO;
 import com.example.Academy.service.ReportService;
 import com.example.Academy.service.ExecutiveReportService;
-import com.lowagie.text.DocumentException;
+import com.example.Academy.service.ReportCache;
+import com.example.Academy.service.ReportJobService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
 import java.time.LocalDate;
 
 @RestController
@@ -25,6 +32,12 @@ public class ReportController {
     @Autowired
     private ExecutiveReportService executiveReportService;
 
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private ReportJobService reportJobService;
+
     @GetMapping
     public ReportResponseDTO getReportData(@RequestParam(required = false) Long cohortId) {
         return reportService.getReportData(cohortId);
@@ -45,9 +58,10 @@ public class ReportController {
             @RequestParam Long cohortId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam String format) throws IOException, DocumentException {
+            @RequestParam String format) throws Exception {
 
-        byte[] reportContent = executiveReportService.generateReport(cohortId, startDate, endDate, format);
+        ReportCache.CachedReport report = reportCache.get(cohortId, startDate, endDate, format,
+                () -> executiveReportService.generateReport(cohortId, startDate, endDate, format));
 
         String extension = format.equalsIgnoreCase("EXCEL") ? "xlsx" : format.toLowerCase();
         String filename = "Cohort_Report_" + cohortId + "." + extension;
@@ -55,37 +69,95 @@ public class ReportController {
         MediaType mediaType = format.equalsIgnoreCase("PDF") ? MediaType.APPLICATION_PDF
                 : MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
 
+        // Repeat downloads revalidate and get 304 until the report is invalidated
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                 .contentType(mediaType)
-                .body(reportContent);
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(report.etag())
+                .lastModified(report.lastModified())
+                .body(report.content());
     }
 
     @GetMapping("/global-export")
-    public ResponseEntity<byte[]> globalExportReport(
+    public ResponseEntity<StreamingResponseBody> globalExportReport(
             @RequestParam(required = false) Integer month,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate)
-            throws IOException {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        GlobalRange range = globalRange(month, year, startDate, endDate);
+
+        // Rows are written to the response as they are read instead of being buffered
+        StreamingResponseBody body = out -> executiveReportService.streamGlobalReportByRange(range.start(),
+                range.end(), out);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + range.filename() + "\"")
+                .contentType(MediaType.parseMediaType(ReportJobService.XLSX))
+                .body(body);
+    }
+
+    // Asynchronous variants: submit, then poll the status (or subscribe to
+    // /topic/reports/jobs/{jobId}) and download once the job is DONE
 
-        byte[] reportContent;
-        String filename;
+    @PostMapping("/jobs/global")
+    public ResponseEntity<ReportJobStatus> submitGlobalReportJob(
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Authentication authentication) {
+        GlobalRange range = globalRange(month, year, startDate, endDate);
+        return ResponseEntity.accepted().body(reportJobService.submitGlobalReport(authentication.getName(),
+                range.start(), range.end(), range.filename()));
+    }
 
+    @PostMapping("/jobs/cohort")
+    public ResponseEntity<ReportJobStatus> submitCohortReportJob(
+            @RequestParam Long cohortId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam String format,
+            Authentication authentication) {
+        return ResponseEntity.accepted().body(reportJobService.submitCohortReport(authentication.getName(),
+                cohortId, startDate, endDate, format));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ReportJobStatus> getReportJob(@PathVariable String jobId, Authentication authentication) {
+        ReportJobStatus job = reportJobService.getJob(jobId, authentication.getName());
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<Resource> downloadReportJob(@PathVariable String jobId, Authentication authentication) {
+        ReportJobStatus job = reportJobService.getJob(jobId, authentication.getName());
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.getState() != ReportJobStatus.State.DONE) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getFileName() + "\"")
+                .contentType(MediaType.parseMediaType(job.getContentType()))
+                .contentLength(job.getSizeBytes())
+                .body(new FileSystemResource(job.getResultFile()));
+    }
+
+    private record GlobalRange(LocalDate start, LocalDate end, String filename) {
+    }
+
+    private static GlobalRange globalRange(Integer month, Integer year, LocalDate startDate, LocalDate endDate) {
         if (startDate != null && endDate != null) {
-            reportContent = executiveReportService.generateGlobalReportByRange(startDate, endDate);
-            filename = String.format("Global_Effort_Report_%s_to_%s.xlsx", startDate, endDate);
+            return new GlobalRange(startDate, endDate,
+                    String.format("Global_Effort_Report_%s_to_%s.xlsx", startDate, endDate));
         } else if (month != null && year != null) {
-            reportContent = executiveReportService.generateGlobalReport(month, year);
-            filename = String.format("Global_Effort_Report_%d_%02d.xlsx", year, month);
-        } else {
-            throw new IllegalArgumentException("Must provide either (month and year) or (startDate and endDate)");
+            LocalDate rangeStart = LocalDate.of(year, month, 1);
+            return new GlobalRange(rangeStart, rangeStart.withDayOfMonth(rangeStart.lengthOfMonth()),
+                    String.format("Global_Effort_Report_%d_%02d.xlsx", year, month));
         }
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(
-                        MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(reportContent);
+        throw new IllegalArgumentException("Must provide either (month and year) or (startDate and endDate)");
     }
 }
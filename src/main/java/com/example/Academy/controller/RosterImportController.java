@@ -0,0 +1,71 @@
+package com.example.Academy.controller;
+
+import com.example.Academy.dto.roster.RosterImportReport;
+import com.example.Academy.service.RosterImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Multipart XLSX/CSV roster imports. Clients may pass their own importId and
+ * subscribe to /topic/imports/{importId} before uploading to follow progress.
+ */
+@RestController
+@RequestMapping("/api/imports")
+@CrossOrigin(origins = "*")
+public class RosterImportController {
+
+    @Autowired
+    private RosterImportService rosterImportService;
+
+    @PostMapping("/candidates")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COACH')")
+    public ResponseEntity<RosterImportReport> importCandidates(@RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) Long cohortId,
+            @RequestParam(required = false) String importId) throws IOException {
+        File spooled = spool(file);
+        try {
+            return ResponseEntity.ok(rosterImportService.importCandidates(spooled, file.getOriginalFilename(),
+                    cohortId, importId));
+        } finally {
+            Files.deleteIfExists(spooled.toPath());
+        }
+    }
+
+    @PostMapping("/users")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RosterImportReport> importUsers(@RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String importId) throws IOException {
+        File spooled = spool(file);
+        try {
+            return ResponseEntity.ok(rosterImportService.importUsers(spooled, file.getOriginalFilename(), importId));
+        } finally {
+            Files.deleteIfExists(spooled.toPath());
+        }
+    }
+
+    @PostMapping("/cohorts")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RosterImportReport> importCohorts(@RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String importId) throws IOException {
+        File spooled = spool(file);
+        try {
+            return ResponseEntity.ok(rosterImportService.importCohorts(spooled, file.getOriginalFilename(), importId));
+        } finally {
+            Files.deleteIfExists(spooled.toPath());
+        }
+    }
+
+    // POI's event reader needs random access to the zip, so uploads are parsed from a temp file
+    private File spool(MultipartFile file) throws IOException {
+        File spooled = Files.createTempFile("roster-import-", ".tmp").toFile();
+        file.transferTo(spooled);
+        return spooled;
+    }
+}
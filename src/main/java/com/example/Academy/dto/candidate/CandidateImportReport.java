@@ -0,0 +1,52 @@
+package com.example.Academy.dto.candidate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk candidate import, with one entry per submitted row in
+ * submission order.
+ */
+public class CandidateImportReport {
+    private int accepted;
+    private int skipped;
+    private long durationMs;
+    private List<RowResult> rows = new ArrayList<>();
+
+    public void accept(int row, String candidateId) {
+        rows.add(new RowResult(row, candidateId, RowStatus.ACCEPTED, null));
+        accepted++;
+    }
+
+    public void skip(int row, String candidateId, String reason) {
+        rows.add(new RowResult(row, candidateId, RowStatus.SKIPPED, reason));
+        skipped++;
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+
+    public enum RowStatus {
+        ACCEPTED, SKIPPED
+    }
+
+    public record RowResult(int row, String candidateId, RowStatus status, String reason) {
+    }
+}
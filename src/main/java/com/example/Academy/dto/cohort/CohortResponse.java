@@ -26,6 +26,28 @@ public class CohortResponse {
         }
     }
 
+    public CohortResponse() {
+    }
+
+    /**
+     * Used by CohortRepository's listing queries; progress is filled in by the
+     * service.
+     */
+    public CohortResponse(Long id, String code, String bu, String skill, Integer activeGencCount,
+            Integer totalGencCount, String trainingLocation, LocalDate startDate, LocalDate endDate, Long coachId,
+            String coachName) {
+        this.id = id;
+        this.code = code;
+        this.bu = bu;
+        this.skill = skill;
+        this.activeGencCount = activeGencCount;
+        this.totalGencCount = totalGencCount;
+        this.trainingLocation = trainingLocation;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.coach = coachId != null ? new UserSummary(coachId, coachName) : null;
+    }
+
     // Getters & Setters
     public Long getId() {
         return id;
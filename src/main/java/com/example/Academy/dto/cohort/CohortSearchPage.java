@@ -0,0 +1,45 @@
+package com.example.Academy.dto.cohort;
+
+import java.util.List;
+
+/**
+ * One page of cohort search results, newest start date first. Pass nextCursor
+ * back as the cursor parameter to fetch the following page; it is null on the
+ * last page. total counts every match, not just this page.
+ */
+public class CohortSearchPage {
+
+    private List<CohortResponse> items;
+    private long total;
+    private String nextCursor;
+
+    public CohortSearchPage(List<CohortResponse> items, long total, String nextCursor) {
+        this.items = items;
+        this.total = total;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<CohortResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<CohortResponse> items) {
+        this.items = items;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
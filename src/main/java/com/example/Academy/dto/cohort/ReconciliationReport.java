@@ -0,0 +1,67 @@
+package com.example.Academy.dto.cohort;
+
+public class ReconciliationReport {
+    private int cohortsScanned;
+    private int cohortsCorrected;
+    private int usersScanned;
+    private int usersCorrected;
+    private long durationMs;
+
+    public ReconciliationReport() {
+    }
+
+    public ReconciliationReport(int cohortsScanned, int cohortsCorrected, int usersScanned, int usersCorrected,
+            long durationMs) {
+        this.cohortsScanned = cohortsScanned;
+        this.cohortsCorrected = cohortsCorrected;
+        this.usersScanned = usersScanned;
+        this.usersCorrected = usersCorrected;
+        this.durationMs = durationMs;
+    }
+
+    public int getCohortsScanned() {
+        return cohortsScanned;
+    }
+
+    public void setCohortsScanned(int cohortsScanned) {
+        this.cohortsScanned = cohortsScanned;
+    }
+
+    public int getCohortsCorrected() {
+        return cohortsCorrected;
+    }
+
+    public void setCohortsCorrected(int cohortsCorrected) {
+        this.cohortsCorrected = cohortsCorrected;
+    }
+
+    public int getUsersScanned() {
+        return usersScanned;
+    }
+
+    public void setUsersScanned(int usersScanned) {
+        this.usersScanned = usersScanned;
+    }
+
+    public int getUsersCorrected() {
+        return usersCorrected;
+    }
+
+    public void setUsersCorrected(int usersCorrected) {
+        this.usersCorrected = usersCorrected;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("corrected %d of %d cohorts and %d of %d coaches/admins in %d ms",
+                cohortsCorrected, cohortsScanned, usersCorrected, usersScanned, durationMs);
+    }
+}
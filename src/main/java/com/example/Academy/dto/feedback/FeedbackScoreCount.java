@@ -0,0 +1,14 @@
+package com.example.Academy.dto.feedback;
+
+/**
+ * Projection of how many responses gave each overall satisfaction score in a
+ * week.
+ */
+public interface FeedbackScoreCount {
+
+    Integer getWeekNumber();
+
+    Integer getScore();
+
+    Long getResponseCount();
+}
@@ -0,0 +1,32 @@
+package com.example.Academy.dto.feedback;
+
+/**
+ * Projection of per-week feedback sums and counts for one cohort. Sums and
+ * counts (rather than averages) are returned so cohort-wide averages can be
+ * derived from the same rows.
+ */
+public interface FeedbackWeekTotals {
+
+    Integer getWeekNumber();
+
+    Long getResponseCount();
+
+    // Sum of all six technical ratings over the counted responses
+    Number getTrainerSum();
+
+    Long getTrainerCount();
+
+    Number getMentorSum();
+
+    Long getMentorCount();
+
+    Number getCoachSum();
+
+    Long getCoachCount();
+
+    Number getBuddySum();
+
+    Long getBuddyCount();
+
+    Number getOverallSum();
+}
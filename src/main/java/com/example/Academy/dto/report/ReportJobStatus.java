@@ -0,0 +1,138 @@
+package com.example.Academy.dto.report;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * State of an asynchronous report job, returned by the status endpoint and
+ * pushed to /topic/reports/jobs/{jobId}. Updated by the worker thread while
+ * clients read it, hence the volatile fields.
+ */
+public class ReportJobStatus {
+
+    public enum State {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    private final String jobId;
+    private final String type;
+    private final String fileName;
+    private final String contentType;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    @JsonIgnore
+    private final String owner;
+
+    private volatile State state = State.QUEUED;
+    private volatile long rowsProcessed;
+    private volatile long totalRows;
+    private volatile long sizeBytes;
+    private volatile String error;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    @JsonIgnore
+    private volatile Path resultFile;
+
+    public ReportJobStatus(String jobId, String type, String owner, String fileName, String contentType) {
+        this.jobId = jobId;
+        this.type = type;
+        this.owner = owner;
+        this.fileName = fileName;
+        this.contentType = contentType;
+    }
+
+    public boolean isActive() {
+        return state == State.QUEUED || state == State.RUNNING;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed;
+    }
+
+    public void setRowsProcessed(long rowsProcessed) {
+        this.rowsProcessed = rowsProcessed;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Path getResultFile() {
+        return resultFile;
+    }
+
+    public void setResultFile(Path resultFile) {
+        this.resultFile = resultFile;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.Academy.dto.report;
+
+import com.example.Academy.entity.StakeholderEffort;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of summed effort hours and entry count per stakeholder role.
+ */
+public interface RoleHoursTotal {
+
+    StakeholderEffort.Role getRole();
+
+    BigDecimal getTotalHours();
+
+    Long getEntryCount();
+}
@@ -0,0 +1,18 @@
+package com.example.Academy.dto.report;
+
+import com.example.Academy.entity.StakeholderEffort;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of summed effort hours per stakeholder name and role. The name is
+ * null for efforts logged without a trainer/mentor.
+ */
+public interface StakeholderHoursTotal {
+
+    String getStakeholderName();
+
+    StakeholderEffort.Role getRole();
+
+    BigDecimal getTotalHours();
+}
@@ -0,0 +1,18 @@
+package com.example.Academy.dto.report;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of per-role hours summed across weekly summaries. Each value is
+ * null when no summaries match.
+ */
+public interface WeeklyRoleHoursTotal {
+
+    BigDecimal getTechnicalHours();
+
+    BigDecimal getMentorHours();
+
+    BigDecimal getBuddyMentorHours();
+
+    BigDecimal getBehavioralHours();
+}
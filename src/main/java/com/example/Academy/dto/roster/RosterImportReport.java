@@ -0,0 +1,101 @@
+package com.example.Academy.dto.roster;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Running totals of a streamed roster import. Only skipped rows are listed,
+ * capped at MAX_LISTED_ROWS, so the report stays small for large files.
+ */
+public class RosterImportReport {
+
+    private static final int MAX_LISTED_ROWS = 500;
+
+    private final String importId;
+    private final String type;
+    private int processed;
+    private int accepted;
+    private int skipped;
+    private int batches;
+    private boolean done;
+    private String error;
+    private long durationMs;
+    private final List<SkippedRow> skippedRows = new ArrayList<>();
+
+    public RosterImportReport(String importId, String type) {
+        this.importId = importId;
+        this.type = type;
+    }
+
+    public void accept() {
+        processed++;
+        accepted++;
+    }
+
+    public void skip(int row, String key, String reason) {
+        processed++;
+        skipped++;
+        if (skippedRows.size() < MAX_LISTED_ROWS) {
+            skippedRows.add(new SkippedRow(row, key, reason));
+        }
+    }
+
+    public void batchCommitted() {
+        batches++;
+    }
+
+    public String getImportId() {
+        return importId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public void setDone(boolean done) {
+        this.done = done;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public List<SkippedRow> getSkippedRows() {
+        return skippedRows;
+    }
+
+    public record SkippedRow(int row, String key, String reason) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.Academy.dto.user;
+
+/**
+ * Projection of the user fields shown next to submitted content: id, display
+ * name and avatar. Never loads the password hash or other profile columns.
+ */
+public interface UserIdentity {
+
+    Long getId();
+
+    String getName();
+
+    String getAvatar();
+}
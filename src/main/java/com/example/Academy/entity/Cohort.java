@@ -1,13 +1,24 @@
 package com.example.Academy.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+// Stakeholders are LAZY; screens that show them load the cohort through
+// CohortRepository's findWithStakeholders* entity graphs
 @Entity
-@Table(name = "cohorts")
+@Table(name = "cohorts", indexes = {
+        // Cohort search: default order, then one index per filter group
+        @Index(name = "idx_cohort_start_id", columnList = "start_date, id"),
+        @Index(name = "idx_cohort_skill_start", columnList = "skill, start_date"),
+        @Index(name = "idx_cohort_bu_sl_sbu", columnList = "bu, sl, sbu, start_date"),
+        @Index(name = "idx_cohort_location_start", columnList = "training_location, start_date"),
+        @Index(name = "idx_cohort_coach_start", columnList = "coach_id, start_date")
+})
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Cohort {
 
     @Id
@@ -29,28 +40,30 @@ public class Cohort {
     @Column(name = "sbu")
     private String sbu;
 
-    @Column(name = "active_genc_count", nullable = false)
+    // Counters are maintained by CohortRepository.adjustGencCounts only, so a
+    // stale entity save can never overwrite a concurrent increment
+    @Column(name = "active_genc_count", nullable = false, updatable = false)
     private Integer activeGencCount;
 
-    @Column(name = "total_genc_count", nullable = false)
+    @Column(name = "total_genc_count", nullable = false, updatable = false)
     private Integer totalGencCount = 0;
 
     @Column(name = "training_location", nullable = false)
     private String trainingLocation;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "primary_trainer_id")
     private User primaryTrainer;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "primary_mentor_id")
     private User primaryMentor;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "buddy_mentor_id")
     private User buddyMentor;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "behavioral_trainer_id")
     private User behavioralTrainer;
 
@@ -68,7 +81,7 @@ public class Cohort {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "coach_id")
     private User coach;
 
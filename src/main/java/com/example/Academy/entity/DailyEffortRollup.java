@@ -0,0 +1,101 @@
+package com.example.Academy.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated effort hours per cohort, role and day. Maintained on every
+ * effort write so report reads do not have to sum raw stakeholder_efforts rows.
+ */
+@Entity
+@Table(name = "daily_effort_rollup", uniqueConstraints = @UniqueConstraint(name = "uk_rollup_cohort_role_date", columnNames = {
+        "cohort_id", "role", "effort_date" }))
+public class DailyEffortRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cohort_id", nullable = false)
+    private Cohort cohort;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StakeholderEffort.Role role;
+
+    @Column(name = "effort_date", nullable = false)
+    private LocalDate effortDate;
+
+    @Column(name = "total_hours", nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalHours;
+
+    @Column(name = "entry_count", nullable = false)
+    private Integer entryCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public DailyEffortRollup() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Cohort getCohort() {
+        return cohort;
+    }
+
+    public void setCohort(Cohort cohort) {
+        this.cohort = cohort;
+    }
+
+    public StakeholderEffort.Role getRole() {
+        return role;
+    }
+
+    public void setRole(StakeholderEffort.Role role) {
+        this.role = role;
+    }
+
+    public LocalDate getEffortDate() {
+        return effortDate;
+    }
+
+    public void setEffortDate(LocalDate effortDate) {
+        this.effortDate = effortDate;
+    }
+
+    public BigDecimal getTotalHours() {
+        return totalHours;
+    }
+
+    public void setTotalHours(BigDecimal totalHours) {
+        this.totalHours = totalHours;
+    }
+
+    public Integer getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(Integer entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.Academy.entity;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "email_outbox_attachments")
+public class EmailOutboxAttachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "email_id", nullable = false)
+    private EmailOutbox email;
+
+    @Column(nullable = false)
+    private String filename;
+
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
+    @JoinColumn(name = "blob_id", nullable = false)
+    private EmailOutboxBlob blob;
+
+    // Constructors
+    public EmailOutboxAttachment() {
+    }
+
+    public EmailOutboxAttachment(EmailOutbox email, String filename, EmailOutboxBlob blob) {
+        this.email = email;
+        this.filename = filename;
+        this.blob = blob;
+    }
+
+    public byte[] getContent() {
+        return blob.getData();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public EmailOutbox getEmail() {
+        return email;
+    }
+
+    public void setEmail(EmailOutbox email) {
+        this.email = email;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public EmailOutboxBlob getBlob() {
+        return blob;
+    }
+
+    public void setBlob(EmailOutboxBlob blob) {
+        this.blob = blob;
+    }
+}
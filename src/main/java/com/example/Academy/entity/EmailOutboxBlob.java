@@ -0,0 +1,59 @@
+package com.example.Academy.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Attachment content stored once per send and referenced by every recipient's
+ * {@link EmailOutboxAttachment}, so a report mailed to many people is not
+ * copied into the outbox per recipient. Removed once no attachment refers to it.
+ */
+@Entity
+@Table(name = "email_outbox_blobs")
+public class EmailOutboxBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] data;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public EmailOutboxBlob() {
+    }
+
+    public EmailOutboxBlob(byte[] data) {
+        this.data = data;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
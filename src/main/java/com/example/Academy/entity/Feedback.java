@@ -7,12 +7,16 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "feedback")
+@Table(name = "feedback", uniqueConstraints = @UniqueConstraint(name = Feedback.UNIQUE_KEY, columnNames = {
+        "request_id", "employee_id" }))
 @Getter
 @Setter
 @NoArgsConstructor
 public class Feedback {
 
+    // One submission per Employee ID and request; ensured at startup by FeedbackMigration
+    public static final String UNIQUE_KEY = "uk_feedback_request_employee";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -3,12 +3,13 @@ package com.example.Academy.entity;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Locale;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_name_key", columnList = "name_key"))
 public class User {
 
     @Id
@@ -21,6 +22,11 @@ public class User {
     @Column(nullable = false)
     private String name;
 
+    // Trimmed, lower-cased name for indexed lookups by display name
+    @Column(name = "name_key")
+    @JsonIgnore
+    private String nameKey;
+
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -90,6 +96,16 @@ public class User {
         this.status = Status.ACTIVE;
     }
 
+    @PrePersist
+    @PreUpdate
+    void syncNameKey() {
+        this.nameKey = normalizeName(name);
+    }
+
+    public static String normalizeName(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -6,7 +6,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "weekly_effort_summary")
+@Table(name = "weekly_effort_summary", uniqueConstraints = @UniqueConstraint(name = "uk_summary_cohort_week", columnNames = {
+        "cohort_id", "week_start_date" }))
 public class WeeklySummary {
 
     @Id
@@ -53,9 +54,18 @@ public class WeeklySummary {
     @Column(name = "submitted_by")
     private String submittedBy;
 
+    // Legacy copy of the submitter's avatar; newer rows reference the submitter
+    // by id and the avatar is resolved when summaries are read
     @Column(name = "submitted_by_avatar", columnDefinition = "LONGTEXT")
     private String submittedByAvatar;
 
+    @Column(name = "submitted_by_user_id")
+    private Long submittedByUserId;
+
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0")
+    private Long version = 0L;
+
     // Constructors
     public WeeklySummary() {
     }
@@ -180,6 +190,22 @@ public class WeeklySummary {
         this.submittedByAvatar = submittedByAvatar;
     }
 
+    public Long getSubmittedByUserId() {
+        return submittedByUserId;
+    }
+
+    public void setSubmittedByUserId(Long submittedByUserId) {
+        this.submittedByUserId = submittedByUserId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getHolidays() {
         return holidays;
     }
@@ -0,0 +1,12 @@
+package com.example.Academy.exception;
+
+/**
+ * Thrown when a report job cannot be queued because the job queue or the
+ * caller's concurrent job allowance is full. Mapped to 429.
+ */
+public class ReportJobRejectedException extends RuntimeException {
+
+    public ReportJobRejectedException(String message) {
+        super(message);
+    }
+}
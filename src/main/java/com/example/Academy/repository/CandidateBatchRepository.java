@@ -0,0 +1,39 @@
+package com.example.Academy.repository;
+
+import com.example.Academy.entity.Candidate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC batch inserts for bulk candidate imports.
+ */
+@Repository
+public class CandidateBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO candidates (candidate_id, name, email, cohort_id, status, "
+            + "join_date, end_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<Candidate> candidates) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(candidates.size());
+        for (Candidate c : candidates) {
+            rows.add(new Object[] {
+                    c.getCandidateId(), c.getName(), c.getEmail(), c.getCohort().getId(), c.getStatus().name(),
+                    c.getJoinDate() != null ? Date.valueOf(c.getJoinDate()) : null,
+                    c.getEndDate() != null ? Date.valueOf(c.getEndDate()) : null,
+                    Timestamp.valueOf(c.getCreatedAt()), Timestamp.valueOf(c.getUpdatedAt()) });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+}
@@ -2,8 +2,10 @@ package com.example.Academy.repository;
 
 import com.example.Academy.entity.Candidate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,6 +18,14 @@ public interface CandidateRepository extends JpaRepository<Candidate, Long> {
 
     boolean existsByEmail(String email);
 
+    @org.springframework.data.jpa.repository.Query("SELECT c.candidateId FROM Candidate c WHERE c.candidateId IN :candidateIds")
+    List<String> findExistingCandidateIds(@Param("candidateIds") Collection<String> candidateIds);
+
+    @org.springframework.data.jpa.repository.Query("SELECT c.email FROM Candidate c WHERE c.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    List<Candidate> findByCandidateIdIn(Collection<String> candidateIds);
+
     long countByCohortIdAndStatus(Long cohortId, Candidate.Status status);
 
     long countByCohortIdAndStatusIn(Long cohortId, List<Candidate.Status> statuses);
@@ -25,4 +35,9 @@ public interface CandidateRepository extends JpaRepository<Candidate, Long> {
 
     @org.springframework.data.jpa.repository.Query("SELECT c FROM Candidate c WHERE c.status = 'ACTIVE'")
     List<Candidate> findAllActive();
-}
\ No newline at end of file
+
+    // Rows: cohortId, ACTIVE count, ACTIVE + COMPLETED count
+    @org.springframework.data.jpa.repository.Query("SELECT c.cohort.id, SUM(CASE WHEN c.status = 'ACTIVE' THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN c.status IN ('ACTIVE', 'COMPLETED') THEN 1 ELSE 0 END) FROM Candidate c GROUP BY c.cohort.id")
+    List<Object[]> countGencsGroupedByCohort();
+}
@@ -2,8 +2,11 @@ package com.example.Academy.repository;
 
 import com.example.Academy.entity.CohortMentorMapping;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,6 +14,9 @@ public interface CohortMentorMappingRepository extends JpaRepository<CohortMento
 
     List<CohortMentorMapping> findByCohortId(Long cohortId);
 
+    @Query("SELECT m FROM CohortMentorMapping m JOIN FETCH m.mentor WHERE m.cohort.id IN :cohortIds ORDER BY m.id")
+    List<CohortMentorMapping> findWithMentorByCohortIdIn(@Param("cohortIds") Collection<Long> cohortIds);
+
     boolean existsByCohortIdAndMentorId(Long cohortId, Long mentorId);
 
     void deleteByCohortIdAndMentorId(Long cohortId, Long mentorId);
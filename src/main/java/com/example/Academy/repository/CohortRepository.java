@@ -1,10 +1,18 @@
 package com.example.Academy.repository;
 
+import com.example.Academy.dto.cohort.CohortResponse;
 import com.example.Academy.entity.Cohort;
 import com.example.Academy.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 import java.util.Optional;
@@ -14,9 +22,80 @@ public interface CohortRepository extends JpaRepository<Cohort, Long> {
 
     Optional<Cohort> findByCode(String code);
 
+    @EntityGraph(attributePaths = { "primaryTrainer", "primaryMentor", "buddyMentor", "behavioralTrainer", "coach" })
+    Optional<Cohort> findWithStakeholdersById(Long id);
+
+    @EntityGraph(attributePaths = { "primaryTrainer", "primaryMentor", "buddyMentor", "behavioralTrainer", "coach" })
+    Optional<Cohort> findWithStakeholdersByCode(String code);
+
+    // Cohort list rows with the coach summary, filled from one SELECT
+    @Query("SELECT new com.example.Academy.dto.cohort.CohortResponse(c.id, c.code, c.bu, c.skill, c.activeGencCount, "
+            + "c.totalGencCount, c.trainingLocation, c.startDate, c.endDate, co.id, co.name) "
+            + "FROM Cohort c LEFT JOIN c.coach co ORDER BY c.id")
+    List<CohortResponse> findAllResponses();
+
+    @Query("SELECT new com.example.Academy.dto.cohort.CohortResponse(c.id, c.code, c.bu, c.skill, c.activeGencCount, "
+            + "c.totalGencCount, c.trainingLocation, c.startDate, c.endDate, co.id, co.name) "
+            + "FROM Cohort c JOIN c.coach co WHERE co.id = :coachId ORDER BY c.id")
+    List<CohortResponse> findResponsesByCoachId(@Param("coachId") Long coachId);
+
+    String SEARCH_FILTER = "(:skill IS NULL OR c.skill = :skill) AND (:bu IS NULL OR c.bu = :bu) "
+            + "AND (:sl IS NULL OR c.sl = :sl) AND (:sbu IS NULL OR c.sbu = :sbu) "
+            + "AND (:location IS NULL OR c.trainingLocation = :location) AND (:coachId IS NULL OR co.id = :coachId) "
+            + "AND (:fromDate IS NULL OR c.endDate >= :fromDate) AND (:toDate IS NULL OR c.startDate <= :toDate)";
+
+    // Keyset page ordered by (startDate, id) descending; pass the last row's
+    // values as afterStart/afterId, or nulls for the first page
+    @Query("SELECT new com.example.Academy.dto.cohort.CohortResponse(c.id, c.code, c.bu, c.skill, c.activeGencCount, "
+            + "c.totalGencCount, c.trainingLocation, c.startDate, c.endDate, co.id, co.name) "
+            + "FROM Cohort c LEFT JOIN c.coach co WHERE " + SEARCH_FILTER
+            + " AND (:afterStart IS NULL OR c.startDate < :afterStart "
+            + "OR (c.startDate = :afterStart AND c.id < :afterId)) "
+            + "ORDER BY c.startDate DESC, c.id DESC")
+    List<CohortResponse> searchResponses(@Param("skill") String skill, @Param("bu") String bu,
+            @Param("sl") String sl, @Param("sbu") String sbu, @Param("location") String location,
+            @Param("coachId") Long coachId, @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate,
+            @Param("afterStart") LocalDate afterStart, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM Cohort c LEFT JOIN c.coach co WHERE " + SEARCH_FILTER)
+    long countSearch(@Param("skill") String skill, @Param("bu") String bu, @Param("sl") String sl,
+            @Param("sbu") String sbu, @Param("location") String location, @Param("coachId") Long coachId,
+            @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
     boolean existsByCode(String code);
 
+    List<Cohort> findByCodeIn(Collection<String> codes);
+
     List<Cohort> findByCoach(User coach);
 
     int countByCoach(User coach);
+
+    // Rows: cohortId, code, activeGencCount, totalGencCount
+    @Query("SELECT c.id, c.code, c.activeGencCount, c.totalGencCount FROM Cohort c")
+    List<Object[]> findGencCounts();
+
+    // Rows: coachId, number of cohorts coached
+    @Query("SELECT c.coach.id, COUNT(c) FROM Cohort c WHERE c.coach IS NOT NULL GROUP BY c.coach.id")
+    List<Object[]> countCohortsGroupedByCoach();
+
+    // Rows: cohortId, primary trainer, primary mentor, buddy mentor, behavioral trainer emp IDs
+    @Query("SELECT c.id, pt.empId, pm.empId, bm.empId, bt.empId FROM Cohort c LEFT JOIN c.primaryTrainer pt "
+            + "LEFT JOIN c.primaryMentor pm LEFT JOIN c.buddyMentor bm LEFT JOIN c.behavioralTrainer bt")
+    List<Object[]> findPrimaryStakeholderEmpIds();
+
+    @Modifying
+    @Query("UPDATE Cohort c SET c.primaryTrainer = :trainer WHERE c.primaryTrainer IS NULL")
+    int assignPrimaryTrainerWhereMissing(@Param("trainer") User trainer);
+
+    @Query("SELECT c.id FROM Cohort c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Relative update so concurrent candidate changes cannot lose increments; the
+    // counters are not updatable through the entity, so this is their only writer
+    // besides the reconciliation batch
+    @Modifying
+    @Query(value = "UPDATE cohorts SET active_genc_count = GREATEST(active_genc_count + :activeDelta, 0), "
+            + "total_genc_count = GREATEST(total_genc_count + :totalDelta, 0) WHERE id = :id", nativeQuery = true)
+    int adjustGencCounts(@Param("id") Long id, @Param("activeDelta") int activeDelta,
+            @Param("totalDelta") int totalDelta);
 }
@@ -2,8 +2,11 @@ package com.example.Academy.repository;
 
 import com.example.Academy.entity.CohortTrainerMapping;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,6 +14,9 @@ public interface CohortTrainerMappingRepository extends JpaRepository<CohortTrai
 
     List<CohortTrainerMapping> findByCohortId(Long cohortId);
 
+    @Query("SELECT m FROM CohortTrainerMapping m JOIN FETCH m.trainer WHERE m.cohort.id IN :cohortIds ORDER BY m.id")
+    List<CohortTrainerMapping> findWithTrainerByCohortIdIn(@Param("cohortIds") Collection<Long> cohortIds);
+
     boolean existsByCohortIdAndTrainerId(Long cohortId, Long trainerId);
 
     void deleteByCohortIdAndTrainerId(Long cohortId, Long trainerId);
@@ -0,0 +1,78 @@
+package com.example.Academy.repository;
+
+import com.example.Academy.dto.report.RoleHoursTotal;
+import com.example.Academy.entity.DailyEffortRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyEffortRollupRepository extends JpaRepository<DailyEffortRollup, Long> {
+
+    List<DailyEffortRollup> findByCohortIdAndEffortDateBetween(Long cohortId, LocalDate startDate,
+            LocalDate endDate);
+
+    @Query("SELECT r.role AS role, SUM(r.totalHours) AS totalHours, SUM(r.entryCount) AS entryCount "
+            + "FROM DailyEffortRollup r GROUP BY r.role")
+    List<RoleHoursTotal> sumHoursByRole();
+
+    @Query("SELECT r.role AS role, SUM(r.totalHours) AS totalHours, SUM(r.entryCount) AS entryCount "
+            + "FROM DailyEffortRollup r WHERE r.cohort.id = :cohortId GROUP BY r.role")
+    List<RoleHoursTotal> sumHoursByRoleForCohort(@Param("cohortId") Long cohortId);
+
+    @Query("SELECT r.role AS role, SUM(r.totalHours) AS totalHours, SUM(r.entryCount) AS entryCount "
+            + "FROM DailyEffortRollup r WHERE r.cohort.id = :cohortId "
+            + "AND r.effortDate BETWEEN :startDate AND :endDate GROUP BY r.role")
+    List<RoleHoursTotal> sumHoursByRoleForCohortAndDateRange(@Param("cohortId") Long cohortId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Atomic add of signed hours/entries to a single (cohort, role, date) bucket
+    @Modifying
+    @Query(value = "INSERT INTO daily_effort_rollup (cohort_id, role, effort_date, total_hours, entry_count, updated_at) "
+            + "VALUES (:cohortId, :role, :effortDate, :hours, :entries, CURRENT_TIMESTAMP) "
+            + "ON DUPLICATE KEY UPDATE total_hours = total_hours + VALUES(total_hours), "
+            + "entry_count = entry_count + VALUES(entry_count), updated_at = CURRENT_TIMESTAMP", nativeQuery = true)
+    int applyDelta(@Param("cohortId") Long cohortId,
+            @Param("role") String role,
+            @Param("effortDate") LocalDate effortDate,
+            @Param("hours") BigDecimal hours,
+            @Param("entries") int entries);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_effort_rollup WHERE cohort_id = :cohortId AND role = :role "
+            + "AND effort_date = :effortDate AND entry_count <= 0", nativeQuery = true)
+    int deleteEmptyBucket(@Param("cohortId") Long cohortId,
+            @Param("role") String role,
+            @Param("effortDate") LocalDate effortDate);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_effort_rollup WHERE cohort_id = :cohortId "
+            + "AND effort_date BETWEEN :startDate AND :endDate", nativeQuery = true)
+    int deleteRange(@Param("cohortId") Long cohortId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Re-aggregates raw efforts for a cohort/date range; pending effort writes are flushed first
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO daily_effort_rollup (cohort_id, role, effort_date, total_hours, entry_count, updated_at) "
+            + "SELECT se.cohort_id, se.role, se.effort_date, SUM(se.effort_hours), COUNT(*), CURRENT_TIMESTAMP "
+            + "FROM stakeholder_efforts se WHERE se.cohort_id = :cohortId "
+            + "AND se.effort_date BETWEEN :startDate AND :endDate "
+            + "GROUP BY se.cohort_id, se.role, se.effort_date", nativeQuery = true)
+    int rebuildRange(@Param("cohortId") Long cohortId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_effort_rollup (cohort_id, role, effort_date, total_hours, entry_count, updated_at) "
+            + "SELECT se.cohort_id, se.role, se.effort_date, SUM(se.effort_hours), COUNT(*), CURRENT_TIMESTAMP "
+            + "FROM stakeholder_efforts se GROUP BY se.cohort_id, se.role, se.effort_date", nativeQuery = true)
+    int rebuildAll();
+}
@@ -0,0 +1,67 @@
+package com.example.Academy.repository;
+
+import com.example.Academy.entity.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    long countByStatus(EmailOutbox.Status status);
+
+    @Query("SELECT o.id FROM EmailOutbox o WHERE o.status = :status AND o.nextAttemptAt <= :now ORDER BY o.nextAttemptAt, o.id")
+    List<Long> findDueIds(@Param("status") EmailOutbox.Status status, @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    @EntityGraph(attributePaths = { "attachments", "attachments.blob" })
+    List<EmailOutbox> findWithAttachmentsByIdIn(Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox o SET o.status = :to WHERE o.id IN :ids AND o.status = :from")
+    int transition(@Param("ids") Collection<Long> ids, @Param("from") EmailOutbox.Status from,
+            @Param("to") EmailOutbox.Status to);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox o SET o.status = :to WHERE o.status = :from")
+    int transitionAll(@Param("from") EmailOutbox.Status from, @Param("to") EmailOutbox.Status to);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox o SET o.status = com.example.Academy.entity.EmailOutbox.Status.SENT, o.attempts = o.attempts + 1, o.sentAt = :now, o.lastError = NULL WHERE o.id = :id")
+    int markSent(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox o SET o.status = :status, o.attempts = :attempts, o.nextAttemptAt = :nextAttemptAt, o.lastError = :error WHERE o.id = :id")
+    int markAttemptFailed(@Param("id") Long id, @Param("status") EmailOutbox.Status status,
+            @Param("attempts") Integer attempts, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("error") String error);
+
+    // Retention purge: attachments of old SENT messages, the messages, then unreferenced blobs
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutboxAttachment a WHERE a.email.id IN (SELECT o.id FROM EmailOutbox o WHERE o.status = com.example.Academy.entity.EmailOutbox.Status.SENT AND o.sentAt < :cutoff)")
+    int deleteSentAttachmentsBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutbox o WHERE o.status = com.example.Academy.entity.EmailOutbox.Status.SENT AND o.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutboxBlob b WHERE NOT EXISTS (SELECT a.id FROM EmailOutboxAttachment a WHERE a.blob = b)")
+    int deleteUnreferencedBlobs();
+}
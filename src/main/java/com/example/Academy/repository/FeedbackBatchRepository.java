@@ -0,0 +1,104 @@
+package com.example.Academy.repository;
+
+import com.example.Academy.entity.Feedback;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC batch inserts for feedback accepted by the write-behind buffer.
+ */
+@Repository
+public class FeedbackBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO feedback (cohort_id, request_id, week_number, "
+            + "is_technical_session_held, course_content_rating, tech_knowledge_rating, trainer_engagement_rating, "
+            + "concepts_schedule_rating, udemy_recap_rating, additional_scenario_rating, tech_low_score_expl, "
+            + "is_mentor_session_held, mentor_guidance_rating, mentor_low_score_expl, coach_effectiveness_rating, "
+            + "coach_low_score_expl, did_buddy_mentor_connect, were_doubts_clarified, buddy_mentor_guidance_rating, "
+            + "buddy_mentor_suggestions, is_behavioral_session_held, behavioral_delivery_rating, "
+            + "behavioral_low_score_expl, overall_satisfaction, created_at, candidate_name, employee_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Returns the "requestId|employeeId" keys of the given feedback that are
+     * already stored.
+     */
+    public Set<String> findExistingKeys(List<Feedback> feedback) {
+        Set<Long> requestIds = new HashSet<>();
+        Set<String> employeeIds = new HashSet<>();
+        for (Feedback f : feedback) {
+            if (f.getEmployeeId() != null) {
+                requestIds.add(f.getFeedbackRequest().getId());
+                employeeIds.add(f.getEmployeeId());
+            }
+        }
+        Set<String> keys = new HashSet<>();
+        if (requestIds.isEmpty()) {
+            return keys;
+        }
+        namedJdbcTemplate.query("SELECT request_id, employee_id FROM feedback WHERE request_id IN (:requestIds) "
+                + "AND employee_id IN (:employeeIds)",
+                Map.of("requestIds", requestIds, "employeeIds", employeeIds),
+                rs -> {
+                    keys.add(key(rs.getLong("request_id"), rs.getString("employee_id")));
+                });
+        return keys;
+    }
+
+    public static String key(Long requestId, String employeeId) {
+        return requestId + "|" + employeeId;
+    }
+
+    /**
+     * True if the violation is a repeated Employee ID for a request, as opposed to
+     * a NOT NULL, length or foreign key violation.
+     */
+    public static boolean isDuplicateSubmission(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(Feedback.UNIQUE_KEY);
+    }
+
+    /**
+     * Inserts the given feedback in one batch. The batch is atomic: any rejected
+     * row, including a duplicate, fails it and leaves none of the others inserted.
+     */
+    @Transactional
+    public void insertAll(List<Feedback> feedback) {
+        if (feedback.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(feedback.size());
+        for (Feedback f : feedback) {
+            rows.add(new Object[] {
+                    f.getCohort().getId(), f.getFeedbackRequest().getId(), f.getWeekNumber(),
+                    f.getIsTechnicalSessionHeld(), f.getCourseContentRating(), f.getTechnicalKnowledgeRating(),
+                    f.getTrainerEngagementRating(), f.getConceptsScheduleRating(), f.getUdemyRecapRating(),
+                    f.getAdditionalScenarioRating(), f.getTechnicalLowScoreExplanation(),
+                    f.getIsMentorSessionHeld(), f.getMentorGuidanceRating(), f.getMentorLowScoreExplanation(),
+                    f.getCoachEffectivenessRating(), f.getCoachLowScoreExplanation(),
+                    f.getDidBuddyMentorConnect(), f.getWereDoubtsClarified(), f.getBuddyMentorGuidanceRating(),
+                    f.getBuddyMentorSuggestions(), f.getIsBehavioralSessionHeld(), f.getBehavioralDeliveryRating(),
+                    f.getBehavioralLowScoreExplanation(), f.getOverallSatisfaction(),
+                    Timestamp.valueOf(f.getCreatedAt()), f.getCandidateName(), f.getEmployeeId() });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+}
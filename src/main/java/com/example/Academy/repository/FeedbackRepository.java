@@ -1,7 +1,15 @@
 package com.example.Academy.repository;
 
+import com.example.Academy.dto.feedback.FeedbackScoreCount;
+import com.example.Academy.dto.feedback.FeedbackWeekTotals;
 import com.example.Academy.entity.Feedback;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
@@ -10,4 +18,31 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     List<Feedback> findByCohortIdAndWeekNumber(Long cohortId, Integer weekNumber);
 
     boolean existsByFeedbackRequestIdAndEmployeeId(Long requestId, String employeeId);
+
+    // Paginated raw responses; the request is fetched for the token column
+    @EntityGraph(attributePaths = { "feedbackRequest" })
+    Page<Feedback> findWithRequestByCohortId(Long cohortId, Pageable pageable);
+
+    @EntityGraph(attributePaths = { "feedbackRequest" })
+    Page<Feedback> findWithRequestByCohortIdAndWeekNumber(Long cohortId, Integer weekNumber, Pageable pageable);
+
+    // Analytics: trainerSum adds all six technical ratings; divide by 6 per counted response
+    @Query("SELECT f.weekNumber AS weekNumber, COUNT(f) AS responseCount, "
+            + "SUM(f.courseContentRating + f.technicalKnowledgeRating + f.trainerEngagementRating "
+            + "+ f.conceptsScheduleRating + f.udemyRecapRating + f.additionalScenarioRating) AS trainerSum, "
+            + "SUM(CASE WHEN f.courseContentRating IS NOT NULL AND f.technicalKnowledgeRating IS NOT NULL "
+            + "AND f.trainerEngagementRating IS NOT NULL AND f.conceptsScheduleRating IS NOT NULL "
+            + "AND f.udemyRecapRating IS NOT NULL AND f.additionalScenarioRating IS NOT NULL THEN 1 ELSE 0 END) AS trainerCount, "
+            + "SUM(f.mentorGuidanceRating) AS mentorSum, COUNT(f.mentorGuidanceRating) AS mentorCount, "
+            + "SUM(f.coachEffectivenessRating) AS coachSum, COUNT(f.coachEffectivenessRating) AS coachCount, "
+            + "SUM(CASE WHEN f.buddyMentorGuidanceRating > 0 THEN f.buddyMentorGuidanceRating ELSE 0 END) AS buddySum, "
+            + "SUM(CASE WHEN f.buddyMentorGuidanceRating > 0 THEN 1 ELSE 0 END) AS buddyCount, "
+            + "SUM(COALESCE(f.overallSatisfaction, 0)) AS overallSum "
+            + "FROM Feedback f WHERE f.cohort.id = :cohortId GROUP BY f.weekNumber ORDER BY f.weekNumber")
+    List<FeedbackWeekTotals> sumScoresByWeek(@Param("cohortId") Long cohortId);
+
+    @Query("SELECT f.weekNumber AS weekNumber, f.overallSatisfaction AS score, COUNT(f) AS responseCount "
+            + "FROM Feedback f WHERE f.cohort.id = :cohortId AND f.overallSatisfaction IS NOT NULL "
+            + "GROUP BY f.weekNumber, f.overallSatisfaction")
+    List<FeedbackScoreCount> countOverallScoresByWeek(@Param("cohortId") Long cohortId);
 }
@@ -16,4 +16,22 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByRecipientIdOrRole(
             @org.springframework.data.repository.query.Param("recipientId") Long recipientId,
             @org.springframework.data.repository.query.Param("role") String role);
+
+    /**
+     * Fans a notification out to every ACTIVE user with the role in a single
+     * INSERT ... SELECT, so no user rows are loaded and no per-user statements
+     * are issued.
+     */
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO notifications (recipient_id, role, type, title, message, link, is_read, created_at) "
+            + "SELECT u.id, :role, :type, :title, :message, :link, false, :createdAt FROM users u "
+            + "WHERE u.role = :role AND u.status = 'ACTIVE' AND (:excludeUserId IS NULL OR u.id <> :excludeUserId)", nativeQuery = true)
+    int insertForRole(@org.springframework.data.repository.query.Param("role") String role,
+            @org.springframework.data.repository.query.Param("type") String type,
+            @org.springframework.data.repository.query.Param("title") String title,
+            @org.springframework.data.repository.query.Param("message") String message,
+            @org.springframework.data.repository.query.Param("link") String link,
+            @org.springframework.data.repository.query.Param("createdAt") java.time.LocalDateTime createdAt,
+            @org.springframework.data.repository.query.Param("excludeUserId") Long excludeUserId);
 }
@@ -0,0 +1,48 @@
+package com.example.Academy.repository;
+
+import com.example.Academy.entity.StakeholderEffort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC write path for stakeholder efforts. Hibernate cannot batch inserts into
+ * an IDENTITY table, so bulk submissions go through a single JDBC batch instead
+ * (rewritten into a multi-row INSERT by the MySQL driver).
+ */
+@Repository
+public class StakeholderEffortBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO stakeholder_efforts "
+            + "(cohort_id, trainer_mentor_id, role, mode, reason_virtual, area_of_work, effort_hours, "
+            + "effort_date, effort_month, updated_by, updated_date, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<StakeholderEffort> efforts) {
+        if (efforts.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, efforts, efforts.size(), (ps, e) -> {
+            ps.setLong(1, e.getCohort().getId());
+            ps.setString(2, e.getTrainerMentor() != null ? e.getTrainerMentor().getEmpId() : null);
+            ps.setString(3, e.getRole().name());
+            ps.setString(4, e.getMode().name());
+            ps.setString(5, e.getReasonVirtual());
+            ps.setString(6, e.getAreaOfWork());
+            ps.setBigDecimal(7, e.getEffortHours());
+            ps.setDate(8, Date.valueOf(e.getEffortDate()));
+            ps.setString(9, e.getEffortMonth());
+            ps.setLong(10, e.getUpdatedBy().getId());
+            ps.setTimestamp(11, e.getUpdatedDate() != null ? Timestamp.valueOf(e.getUpdatedDate()) : null);
+            ps.setTimestamp(12, e.getCreatedAt() != null ? Timestamp.valueOf(e.getCreatedAt()) : null);
+        });
+    }
+}
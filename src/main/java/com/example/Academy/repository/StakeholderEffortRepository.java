@@ -1,12 +1,17 @@
 package com.example.Academy.repository;
 
+import com.example.Academy.dto.report.StakeholderHoursTotal;
 import com.example.Academy.entity.StakeholderEffort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,8 +24,53 @@ public interface StakeholderEffortRepository extends JpaRepository<StakeholderEf
 
         List<StakeholderEffort> findByEffortDateBetween(LocalDate startDate, LocalDate endDate);
 
+        @EntityGraph(attributePaths = { "trainerMentor", "updatedBy" })
+        List<StakeholderEffort> findWithDetailsByCohortIdAndEffortDateBetween(Long cohortId, LocalDate startDate,
+                        LocalDate endDate);
+
         List<StakeholderEffort> findByTrainerMentorId(Long trainerMentorId);
 
+        @Modifying
+        @Query("DELETE FROM StakeholderEffort se WHERE se.cohort.id = :cohortId "
+                        + "AND se.effortDate BETWEEN :startDate AND :endDate")
+        int deleteByCohortIdAndDateRange(@Param("cohortId") Long cohortId,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        // Number of rows findExportChunk/findExportChunkAfter will return for the range
+        @Query("SELECT COUNT(e) FROM StakeholderEffort e JOIN e.trainerMentor "
+                        + "WHERE e.effortDate BETWEEN :startDate AND :endDate")
+        long countExportRows(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+        // Cohorts with export rows in the range, in the order the export writes them
+        @Query("SELECT DISTINCT c.id, c.code FROM StakeholderEffort e JOIN e.cohort c JOIN e.trainerMentor "
+                        + "WHERE e.effortDate BETWEEN :startDate AND :endDate "
+                        + "ORDER BY c.code, c.id")
+        List<Object[]> findExportCohorts(@Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        // Keyset-paginated export reads of one cohort ordered by (effort date, id)
+        @Query("SELECT e FROM StakeholderEffort e JOIN FETCH e.cohort c JOIN FETCH e.trainerMentor "
+                        + "LEFT JOIN FETCH e.updatedBy "
+                        + "WHERE c.id = :cohortId AND e.effortDate BETWEEN :startDate AND :endDate "
+                        + "ORDER BY e.effortDate, e.id")
+        List<StakeholderEffort> findExportChunk(@Param("cohortId") Long cohortId,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate,
+                        Pageable pageable);
+
+        @Query("SELECT e FROM StakeholderEffort e JOIN FETCH e.cohort c JOIN FETCH e.trainerMentor "
+                        + "LEFT JOIN FETCH e.updatedBy "
+                        + "WHERE c.id = :cohortId AND e.effortDate BETWEEN :startDate AND :endDate "
+                        + "AND (e.effortDate > :date OR (e.effortDate = :date AND e.id > :id)) "
+                        + "ORDER BY e.effortDate, e.id")
+        List<StakeholderEffort> findExportChunkAfter(@Param("cohortId") Long cohortId,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate,
+                        @Param("date") LocalDate date,
+                        @Param("id") Long id,
+                        Pageable pageable);
+
         @Query("SELECT SUM(se.effortHours) FROM StakeholderEffort se WHERE se.cohort.id = :cohortId AND se.effortDate BETWEEN :startDate AND :endDate")
         Double sumEffortHoursByCohortAndDateRange(@Param("cohortId") Long cohortId,
                         @Param("startDate") LocalDate startDate,
@@ -33,4 +83,23 @@ public interface StakeholderEffortRepository extends JpaRepository<StakeholderEf
                         @Param("endDate") LocalDate endDate);
 
         List<StakeholderEffort> findTop4ByTrainerMentorIdOrderByEffortDateDesc(Long coachId);
-}
\ No newline at end of file
+
+        // Dashboard aggregates
+        @Query("SELECT tm.name AS stakeholderName, se.role AS role, SUM(se.effortHours) AS totalHours "
+                        + "FROM StakeholderEffort se LEFT JOIN se.trainerMentor tm GROUP BY tm.name, se.role")
+        List<StakeholderHoursTotal> sumHoursByStakeholder();
+
+        @Query("SELECT tm.name AS stakeholderName, se.role AS role, SUM(se.effortHours) AS totalHours "
+                        + "FROM StakeholderEffort se LEFT JOIN se.trainerMentor tm WHERE se.cohort.id = :cohortId "
+                        + "GROUP BY tm.name, se.role")
+        List<StakeholderHoursTotal> sumHoursByStakeholderForCohort(@Param("cohortId") Long cohortId);
+
+        // Keyset-paginated repair scan. Rows: effortId, cohortId, role, stakeholder empId, stakeholder role
+        @Query("SELECT e.id, e.cohort.id, e.role, tm.empId, tm.role FROM StakeholderEffort e "
+                        + "LEFT JOIN e.trainerMentor tm WHERE e.id > :afterId ORDER BY e.id")
+        List<Object[]> findRepairChunk(@Param("afterId") Long afterId, Pageable pageable);
+
+        @Modifying
+        @Query(value = "UPDATE stakeholder_efforts SET trainer_mentor_id = :empId WHERE id IN (:ids)", nativeQuery = true)
+        int reassignStakeholder(@Param("empId") String empId, @Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,38 @@
+package com.example.Academy.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * JDBC batch corrections for denormalized counters (cohort GenC counts and
+ * users' assigned cohort counts), applied by the startup reconciliation.
+ */
+@Repository
+public class SystemStateBatchRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Each row is {activeGencCount, totalGencCount, cohortId}.
+     */
+    public void updateGencCounts(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE cohorts SET active_genc_count = ?, total_genc_count = ? WHERE id = ?", rows);
+    }
+
+    /**
+     * Each row is {assignedCohorts, userId}.
+     */
+    public void updateAssignedCohorts(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE users SET assigned_cohorts = ? WHERE id = ?", rows);
+    }
+}
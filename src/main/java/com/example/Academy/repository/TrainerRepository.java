@@ -2,8 +2,12 @@ package com.example.Academy.repository;
 
 import com.example.Academy.entity.Trainer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,6 +15,9 @@ public interface TrainerRepository extends JpaRepository<Trainer, Long> {
 
     Optional<Trainer> findByEmpId(String empId);
 
+    @Query("SELECT x.empId, x.trainerType FROM Trainer x WHERE x.empId IN :empIds")
+    List<Object[]> findTypesByEmpIdIn(@Param("empIds") Collection<String> empIds);
+
     Optional<Trainer> findByEmail(String email);
 
     boolean existsByEmpId(String empId);
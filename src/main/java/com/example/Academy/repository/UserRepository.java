@@ -1,9 +1,11 @@
 package com.example.Academy.repository;
 
+import com.example.Academy.dto.user.UserIdentity;
 import com.example.Academy.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +14,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmpId(String empId);
 
+    List<User> findByEmpIdIn(Collection<String> empIds);
+
+    @org.springframework.data.jpa.repository.Query("SELECT u.empId FROM User u WHERE u.empId IN :empIds")
+    List<String> findExistingEmpIds(@org.springframework.data.repository.query.Param("empIds") Collection<String> empIds);
+
+    @org.springframework.data.jpa.repository.Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@org.springframework.data.repository.query.Param("emails") Collection<String> emails);
+
     Optional<User> findByEmail(String email);
 
     Optional<User> findByName(String name);
@@ -22,4 +32,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByRoleAndStatus(User.Role role, User.Status status);
 
+
+    List<UserIdentity> findIdentitiesByIdIn(Collection<Long> ids);
+
+    List<UserIdentity> findIdentitiesByNameKeyIn(Collection<String> nameKeys);
+
+    // Fills name_key for rows written before the column existed
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE users SET name_key = LOWER(TRIM(name)) WHERE name_key IS NULL", nativeQuery = true)
+    int backfillNameKeys();
+
+    // Rows: userId, name, assignedCohorts
+    @org.springframework.data.jpa.repository.Query("SELECT u.id, u.name, u.assignedCohorts FROM User u WHERE u.role IN :roles")
+    List<Object[]> findAssignedCohortCountsByRoleIn(
+            @org.springframework.data.repository.query.Param("roles") Collection<User.Role> roles);
 }
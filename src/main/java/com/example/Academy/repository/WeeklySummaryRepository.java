@@ -1,9 +1,15 @@
 package com.example.Academy.repository;
 
+import com.example.Academy.dto.report.WeeklyRoleHoursTotal;
 import com.example.Academy.entity.WeeklySummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -15,9 +21,83 @@ public interface WeeklySummaryRepository extends JpaRepository<WeeklySummary, Lo
 
     List<WeeklySummary> findByCohortId(Long cohortId);
 
+    // Offset lookup of the n-th week, served by the (cohort_id, week_start_date) unique index
+    List<WeeklySummary> findByCohortIdOrderByWeekStartDateAsc(Long cohortId, Pageable pageable);
+
     boolean existsByCohortIdAndWeekStartDate(Long cohortId, LocalDate weekStartDate);
 
     List<WeeklySummary> findTop4ByCohortCoachIdOrderByWeekStartDateDesc(Long coachId);
 
     long countByWeekStartDate(LocalDate weekStartDate);
-}
\ No newline at end of file
+
+    long countByCohortId(Long cohortId);
+
+    Optional<WeeklySummary> findTopByOrderByWeekStartDateDesc();
+
+    Optional<WeeklySummary> findTopByCohortIdOrderByWeekStartDateDesc(Long cohortId);
+
+    @Query("SELECT SUM(ws.technicalTrainerHours) AS technicalHours, SUM(ws.mentorHours) AS mentorHours, "
+            + "SUM(ws.buddyMentorHours) AS buddyMentorHours, SUM(ws.behavioralTrainerHours) AS behavioralHours "
+            + "FROM WeeklySummary ws")
+    WeeklyRoleHoursTotal sumRoleHours();
+
+    @Query("SELECT SUM(ws.technicalTrainerHours) AS technicalHours, SUM(ws.mentorHours) AS mentorHours, "
+            + "SUM(ws.buddyMentorHours) AS buddyMentorHours, SUM(ws.behavioralTrainerHours) AS behavioralHours "
+            + "FROM WeeklySummary ws WHERE ws.cohort.id = :cohortId")
+    WeeklyRoleHoursTotal sumRoleHoursForCohort(@Param("cohortId") Long cohortId);
+
+    // Creates the zeroed summary row for a cohort/week unless it already exists
+    @Modifying
+    @Query(value = "INSERT INTO weekly_effort_summary (cohort_id, week_start_date, week_end_date, total_hours, "
+            + "technical_trainer_hours, behavioral_trainer_hours, mentor_hours, buddy_mentor_hours, "
+            + "created_at, summary_date, version) "
+            + "SELECT :cohortId, :weekStart, :weekEnd, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0 FROM DUAL "
+            + "WHERE NOT EXISTS (SELECT 1 FROM weekly_effort_summary ws "
+            + "WHERE ws.cohort_id = :cohortId AND ws.week_start_date = :weekStart)", nativeQuery = true)
+    int insertIfAbsent(@Param("cohortId") Long cohortId,
+            @Param("weekStart") LocalDate weekStart,
+            @Param("weekEnd") LocalDate weekEnd);
+
+    // Atomically adds signed per-role deltas and bumps the optimistic version
+    @Modifying
+    @Query(value = "UPDATE weekly_effort_summary SET "
+            + "total_hours = total_hours + :total, "
+            + "technical_trainer_hours = COALESCE(technical_trainer_hours, 0) + :tech, "
+            + "behavioral_trainer_hours = COALESCE(behavioral_trainer_hours, 0) + :behavioral, "
+            + "mentor_hours = COALESCE(mentor_hours, 0) + :mentor, "
+            + "buddy_mentor_hours = COALESCE(buddy_mentor_hours, 0) + :buddy, "
+            + "submitted_by = :submittedBy, submitted_by_user_id = :submittedByUserId, submitted_by_avatar = NULL, "
+            + "submitted_at = CURRENT_TIMESTAMP, summary_date = CURRENT_TIMESTAMP, "
+            + "version = COALESCE(version, 0) + 1 "
+            + "WHERE cohort_id = :cohortId AND week_start_date = :weekStart", nativeQuery = true)
+    int incrementHours(@Param("cohortId") Long cohortId,
+            @Param("weekStart") LocalDate weekStart,
+            @Param("total") BigDecimal total,
+            @Param("tech") BigDecimal tech,
+            @Param("behavioral") BigDecimal behavioral,
+            @Param("mentor") BigDecimal mentor,
+            @Param("buddy") BigDecimal buddy,
+            @Param("submittedBy") String submittedBy,
+            @Param("submittedByUserId") Long submittedByUserId);
+
+    // Atomically overwrites the week's totals; holidays are kept when null is passed
+    @Modifying
+    @Query(value = "UPDATE weekly_effort_summary SET "
+            + "total_hours = :total, technical_trainer_hours = :tech, behavioral_trainer_hours = :behavioral, "
+            + "mentor_hours = :mentor, buddy_mentor_hours = :buddy, "
+            + "holidays = COALESCE(:holidays, holidays), "
+            + "submitted_by = :submittedBy, submitted_by_user_id = :submittedByUserId, submitted_by_avatar = NULL, "
+            + "submitted_at = CURRENT_TIMESTAMP, summary_date = CURRENT_TIMESTAMP, "
+            + "version = COALESCE(version, 0) + 1 "
+            + "WHERE cohort_id = :cohortId AND week_start_date = :weekStart", nativeQuery = true)
+    int replaceHours(@Param("cohortId") Long cohortId,
+            @Param("weekStart") LocalDate weekStart,
+            @Param("total") BigDecimal total,
+            @Param("tech") BigDecimal tech,
+            @Param("behavioral") BigDecimal behavioral,
+            @Param("mentor") BigDecimal mentor,
+            @Param("buddy") BigDecimal buddy,
+            @Param("holidays") String holidays,
+            @Param("submittedBy") String submittedBy,
+            @Param("submittedByUserId") Long submittedByUserId);
+}
@@ -0,0 +1,68 @@
+package com.example.Academy.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of UserDetails keyed by username (email), so the
+ * JWT filter does not query the users table on every request. Entries are
+ * evicted by UserService whenever credentials, role or email change; the TTL
+ * bounds staleness for any other writer.
+ */
+@Component
+public class UserDetailsCache {
+
+    @Value("${security.user-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${security.user-cache.max-size:1000}")
+    private int maxSize;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /**
+     * Returns the cached details or loads and caches them. A copy is handed out
+     * each time because authentication erases credentials on the instance it is
+     * given.
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        long now = System.currentTimeMillis();
+        UserDetails cached = null;
+        synchronized (entries) {
+            Entry entry = entries.get(username);
+            if (entry != null && entry.expiresAt > now) {
+                cached = entry.details;
+            }
+        }
+        if (cached == null) {
+            cached = loader.apply(username);
+            synchronized (entries) {
+                entries.put(username, new Entry(cached, now + ttlMs));
+            }
+        }
+        return User.withUserDetails(cached).build();
+    }
+
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.remove(username);
+        }
+    }
+
+    private record Entry(UserDetails details, long expiresAt) {
+    }
+}
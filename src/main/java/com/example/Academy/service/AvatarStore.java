@@ -0,0 +1,184 @@
+package com.example.Academy.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed avatar storage.
+ *
+ * Uploads are keyed by the SHA-256 of their bytes, so the same picture is
+ * stored once however often it is uploaded, and a key's files never change.
+ * Next to the original, small and medium PNG thumbnails are rendered at upload
+ * time so lists never download a full-size photo. Files live under
+ * avatar.store-dir as {@code <key[0..2]>/<key>/<size>.<ext>}.
+ */
+@Service
+public class AvatarStore {
+
+    public static final String URL_PREFIX = "/api/avatars/";
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{32}");
+
+    // Longest edge in pixels of each pre-rendered thumbnail
+    private static final Map<String, Integer> THUMBNAILS = Map.of("sm", 64, "md", 256);
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "png", "png", "jpeg", "jpg", "gif", "gif", "bmp", "bmp", "wbmp", "wbmp");
+
+    @Value("${avatar.store-dir:profiles/avatars}")
+    private String storeDir;
+
+    @Value("${avatar.max-bytes:5242880}")
+    private long maxBytes;
+
+    @Value("${avatar.max-pixels:40000000}")
+    private long maxPixels;
+
+    /**
+     * Stores the upload and its thumbnails if not already present and returns
+     * the URL of the medium thumbnail, which is what User.avatar holds.
+     */
+    public String store(MultipartFile file) {
+        if (file.getSize() > maxBytes) {
+            throw new RuntimeException("Avatar must be at most " + (maxBytes / (1024 * 1024)) + " MB");
+        }
+        try {
+            byte[] bytes = file.getBytes();
+            String key = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes), 0, 16);
+            Path dir = keyDir(key);
+            if (!Files.exists(dir.resolve("md.png"))) {
+                writeVariants(dir, bytes);
+            }
+            return url(key, "md");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store avatar file", e);
+        }
+    }
+
+    /**
+     * Returns the file for the given key and size ("sm", "md" or "orig"), or null
+     * if there is no such avatar.
+     */
+    public Path resolve(String key, String size) throws IOException {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            return null;
+        }
+        Path dir = keyDir(key);
+        if (THUMBNAILS.containsKey(size)) {
+            Path path = dir.resolve(size + ".png");
+            return Files.isRegularFile(path) ? path : null;
+        }
+        if ("orig".equals(size) && Files.isDirectory(dir)) {
+            try (var files = Files.list(dir)) {
+                return files.filter(p -> p.getFileName().toString().startsWith("orig.")).findFirst().orElse(null);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps a stored avatar URL to its small thumbnail, for dense lists. Other
+     * values (legacy /profiles paths, external URLs) are returned unchanged.
+     */
+    public static String smallThumbnail(String avatarUrl) {
+        if (avatarUrl != null && avatarUrl.startsWith(URL_PREFIX) && avatarUrl.endsWith("/md")) {
+            return avatarUrl.substring(0, avatarUrl.length() - 2) + "sm";
+        }
+        return avatarUrl;
+    }
+
+    private static String url(String key, String size) {
+        return URL_PREFIX + key + "/" + size;
+    }
+
+    private Path keyDir(String key) {
+        return Paths.get(storeDir, key.substring(0, 2), key);
+    }
+
+    private void writeVariants(Path dir, byte[] bytes) throws IOException {
+        BufferedImage image;
+        String format;
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new RuntimeException("Avatar must be a PNG, JPEG, GIF or BMP image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                // Check the header before decoding so a tiny file cannot expand to gigabytes
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    throw new RuntimeException("Avatar image dimensions are too large");
+                }
+                format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                image = reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        Files.createDirectories(dir);
+        writeAtomically(dir, "orig." + EXTENSIONS.getOrDefault(format, "img"), bytes);
+        for (Map.Entry<String, Integer> thumbnail : THUMBNAILS.entrySet()) {
+            Path tmp = Files.createTempFile(dir, thumbnail.getKey(), ".tmp");
+            try {
+                ImageIO.write(scale(image, thumbnail.getValue()), "png", tmp.toFile());
+                Files.move(tmp, dir.resolve(thumbnail.getKey() + ".png"), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+    }
+
+    private static void writeAtomically(Path dir, String name, byte[] bytes) throws IOException {
+        Path tmp = Files.createTempFile(dir, "orig", ".tmp");
+        try {
+            Files.write(tmp, bytes);
+            Files.move(tmp, dir.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Fits the image within edge x edge, keeping its aspect ratio; never upscales
+    private static BufferedImage scale(BufferedImage source, int edge) {
+        double factor = Math.min(1.0, (double) edge / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * factor));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+}
@@ -1,13 +1,22 @@
 package com.example.Academy.service;
 
+import com.example.Academy.dto.candidate.CandidateImportReport;
 import com.example.Academy.entity.Candidate;
+import com.example.Academy.repository.CandidateBatchRepository;
 import com.example.Academy.repository.CandidateRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class CandidateService {
@@ -21,6 +30,9 @@ public class CandidateService {
     @Autowired
     private com.example.Academy.repository.UserRepository userRepository;
 
+    @Autowired
+    private CandidateBatchRepository candidateBatchRepository;
+
     public List<Candidate> getAllCandidates() {
         return candidateRepository.findAll();
     }
@@ -48,6 +60,7 @@ public class CandidateService {
         return candidateRepository.findById(id);
     }
 
+    @Transactional
     public Candidate createCandidate(Candidate candidate) {
         if (candidateRepository.existsByCandidateId(candidate.getCandidateId())) {
             throw new RuntimeException("Candidate ID already exists");
@@ -61,104 +74,142 @@ public class CandidateService {
         Candidate savedCandidate = candidateRepository.save(candidate);
 
         if (savedCandidate.getCohort() != null) {
-            com.example.Academy.entity.Cohort cohort = savedCandidate.getCohort();
-            boolean changed = false;
-
-            if (savedCandidate.getStatus() == Candidate.Status.ACTIVE) {
-                cohort.setActiveGencCount(cohort.getActiveGencCount() + 1);
-                changed = true;
-            }
-            if (savedCandidate.getStatus() == Candidate.Status.ACTIVE
-                    || savedCandidate.getStatus() == Candidate.Status.COMPLETED) {
-                cohort.setTotalGencCount(cohort.getTotalGencCount() + 1);
-                changed = true;
-            }
-
-            if (changed) {
-                cohortRepository.save(cohort);
-            }
+            adjustCohortCounts(savedCandidate.getCohort().getId(), null, savedCandidate.getStatus());
         }
 
         return savedCandidate;
     }
 
+    /**
+     * Imports a roster through {@link #importCandidates} and returns the accepted
+     * candidates as stored.
+     */
+    @Transactional
     public List<Candidate> createCandidates(List<Candidate> candidates) {
-        List<Candidate> newCandidates = new java.util.ArrayList<>();
-
-        for (Candidate candidate : candidates) {
-            boolean exists = false;
+        CandidateImportReport report = importCandidates(candidates);
+        List<String> acceptedIds = report.getRows().stream()
+                .filter(r -> r.status() == CandidateImportReport.RowStatus.ACCEPTED)
+                .map(CandidateImportReport.RowResult::candidateId)
+                .toList();
+        return acceptedIds.isEmpty() ? List.of() : candidateRepository.findByCandidateIdIn(acceptedIds);
+    }
 
-            if (candidateRepository.existsByCandidateId(candidate.getCandidateId())) {
-                System.out.println("Skipping duplicate candidate ID: " + candidate.getCandidateId());
-                exists = true;
+    /**
+     * Set-based bulk import. Duplicates are checked with one IN query per key
+     * (candidate ID, email, cohort), accepted rows are inserted in a single JDBC
+     * batch and each affected cohort's GenC counters are adjusted with one
+     * relative UPDATE. Rows that are invalid or duplicate, against the database
+     * or earlier rows of the same upload, are skipped and reported.
+     */
+    @Transactional
+    public CandidateImportReport importCandidates(List<Candidate> candidates) {
+        long start = System.currentTimeMillis();
+        CandidateImportReport report = new CandidateImportReport();
+
+        Set<String> candidateIds = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<Long> cohortIds = new HashSet<>();
+        for (Candidate c : candidates) {
+            if (c.getCandidateId() != null) {
+                candidateIds.add(c.getCandidateId());
             }
-            if (!exists && candidate.getEmail() != null && candidateRepository.existsByEmail(candidate.getEmail())) {
-                System.out.println("Skipping duplicate candidate Email: " + candidate.getEmail());
-                exists = true;
+            if (c.getEmail() != null) {
+                emails.add(c.getEmail());
             }
-
-            if (!exists) {
-                candidate.setCreatedAt(LocalDateTime.now());
-                candidate.setUpdatedAt(LocalDateTime.now());
-                newCandidates.add(candidate);
+            if (c.getCohort() != null && c.getCohort().getId() != null) {
+                cohortIds.add(c.getCohort().getId());
             }
         }
 
-        if (newCandidates.isEmpty()) {
-            return newCandidates;
+        // Keys are compared trimmed and lower-cased, matching the case-insensitive unique indexes
+        Set<String> takenIds = new HashSet<>();
+        if (!candidateIds.isEmpty()) {
+            candidateRepository.findExistingCandidateIds(candidateIds).forEach(id -> takenIds.add(uniqueKey(id)));
+        }
+        Set<String> takenEmails = new HashSet<>();
+        if (!emails.isEmpty()) {
+            candidateRepository.findExistingEmails(emails).forEach(email -> takenEmails.add(uniqueKey(email)));
         }
+        Set<Long> knownCohorts = cohortIds.isEmpty() ? Set.of()
+                : new HashSet<>(cohortRepository.findExistingIds(cohortIds));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Candidate> accepted = new ArrayList<>();
+        // cohortId -> {activeDelta, totalDelta}
+        Map<Long, int[]> deltas = new HashMap<>();
+
+        int rowNum = 0;
+        for (Candidate c : candidates) {
+            rowNum++;
+            String candidateId = c.getCandidateId();
+            String reason = null;
+
+            if (candidateId == null || candidateId.isBlank()) {
+                reason = "Missing candidate ID";
+            } else if (c.getName() == null || c.getName().isBlank()) {
+                reason = "Missing name";
+            } else if (c.getStatus() == null) {
+                reason = "Missing status";
+            } else if (c.getCohort() == null || !knownCohorts.contains(c.getCohort().getId())) {
+                reason = "Unknown cohort";
+            } else if (takenIds.contains(uniqueKey(candidateId))) {
+                reason = "Duplicate candidate ID";
+            } else if (c.getEmail() != null && takenEmails.contains(uniqueKey(c.getEmail()))) {
+                reason = "Duplicate email";
+            }
+
+            if (reason != null) {
+                System.out.println("Skipping candidate row " + rowNum + " (" + candidateId + "): " + reason);
+                report.skip(rowNum, candidateId, reason);
+                continue;
+            }
+
+            // Later rows of the same upload count as duplicates of this one
+            takenIds.add(uniqueKey(candidateId));
+            if (c.getEmail() != null) {
+                takenEmails.add(uniqueKey(c.getEmail()));
+            }
 
-        List<Candidate> savedCandidates = candidateRepository.saveAll(newCandidates);
+            c.setCreatedAt(now);
+            c.setUpdatedAt(now);
+            accepted.add(c);
+            report.accept(rowNum, candidateId);
 
-        // Group by cohort and update counts
-        for (Candidate c : savedCandidates) {
-            if (c.getCohort() != null) {
-                com.example.Academy.entity.Cohort cohort = cohortRepository.findById(c.getCohort().getId())
-                        .orElse(null);
-                if (cohort != null) {
-                    boolean changed = false;
-                    if (c.getStatus() == Candidate.Status.ACTIVE) {
-                        cohort.setActiveGencCount(cohort.getActiveGencCount() + 1);
-                        changed = true;
-                    }
-                    if (c.getStatus() == Candidate.Status.ACTIVE || c.getStatus() == Candidate.Status.COMPLETED) {
-                        cohort.setTotalGencCount(cohort.getTotalGencCount() + 1);
-                        changed = true;
-                    }
-                    if (changed) {
-                        cohortRepository.save(cohort);
-                    }
-                }
+            int[] delta = deltas.computeIfAbsent(c.getCohort().getId(), k -> new int[2]);
+            if (c.getStatus() == Candidate.Status.ACTIVE) {
+                delta[0]++;
+            }
+            if (countsTowardsTotal(c.getStatus())) {
+                delta[1]++;
             }
         }
 
-        return savedCandidates;
+        candidateBatchRepository.insertAll(accepted);
+        deltas.forEach((cohortId, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                cohortRepository.adjustGencCounts(cohortId, delta[0], delta[1]);
+            }
+        });
+
+        report.setDurationMs(System.currentTimeMillis() - start);
+        return report;
     }
 
+    @Transactional
     public Candidate updateCandidate(Long id, Candidate candidateDetails) {
         Optional<Candidate> optionalCandidate = candidateRepository.findById(id);
         if (optionalCandidate.isPresent()) {
             Candidate candidate = optionalCandidate.get();
             Candidate.Status oldStatus = candidate.getStatus();
+            Long oldCohortId = candidate.getCohort() != null ? candidate.getCohort().getId() : null;
 
             candidate.setName(candidateDetails.getName());
             candidate.setEmail(candidateDetails.getEmail());
 
             // Only update cohort if provided, otherwise keep existing
-            if (candidateDetails.getCohort() != null) {
-                // Handle cohort change logic if needed (decrement old, increment new) - Out of
-                // scope for simple edit
-                // For now, assuming direct edit doesn't change cohort often, but if it does:
-                if (!candidate.getCohort().getId().equals(candidateDetails.getCohort().getId())) {
-                    // Decrement old
-                    if (oldStatus == Candidate.Status.ACTIVE) {
-                        com.example.Academy.entity.Cohort oldCohort = candidate.getCohort();
-                        oldCohort.setActiveGencCount(Math.max(0, oldCohort.getActiveGencCount() - 1));
-                        cohortRepository.save(oldCohort);
-                    }
-                    // Increment new (handled below by check)
-                    candidate.setCohort(candidateDetails.getCohort());
-                }
+            if (candidateDetails.getCohort() != null && candidateDetails.getCohort().getId() != null
+                    && !candidateDetails.getCohort().getId().equals(oldCohortId)) {
+                candidate.setCohort(cohortRepository.getReferenceById(candidateDetails.getCohort().getId()));
             }
 
             candidate.setStatus(candidateDetails.getStatus());
@@ -168,39 +219,13 @@ public class CandidateService {
 
             Candidate savedCandidate = candidateRepository.save(candidate);
 
-            // Update cohort counts if status changed
-            if (oldStatus != candidateDetails.getStatus()) {
-                com.example.Academy.entity.Cohort cohort = savedCandidate.getCohort();
-                if (cohort != null) {
-                    boolean changed = false;
-                    // Active Count
-                    if (candidateDetails.getStatus() == Candidate.Status.ACTIVE) {
-                        cohort.setActiveGencCount(cohort.getActiveGencCount() + 1);
-                        changed = true;
-                    } else if (oldStatus == Candidate.Status.ACTIVE) {
-                        cohort.setActiveGencCount(Math.max(0, cohort.getActiveGencCount() - 1));
-                        changed = true;
-                    }
-
-                    // Total Count (Active/Completed)
-                    boolean oldWasCounted = (oldStatus == Candidate.Status.ACTIVE
-                            || oldStatus == Candidate.Status.COMPLETED);
-                    boolean newIsCounted = (candidateDetails.getStatus() == Candidate.Status.ACTIVE
-                            || candidateDetails.getStatus() == Candidate.Status.COMPLETED);
-
-                    if (oldWasCounted != newIsCounted) {
-                        if (newIsCounted) {
-                            cohort.setTotalGencCount(cohort.getTotalGencCount() + 1);
-                        } else {
-                            cohort.setTotalGencCount(Math.max(0, cohort.getTotalGencCount() - 1));
-                        }
-                        changed = true;
-                    }
-
-                    if (changed) {
-                        cohortRepository.save(cohort);
-                    }
-                }
+            Long newCohortId = savedCandidate.getCohort() != null ? savedCandidate.getCohort().getId() : null;
+            if (java.util.Objects.equals(oldCohortId, newCohortId)) {
+                adjustCohortCounts(newCohortId, oldStatus, savedCandidate.getStatus());
+            } else {
+                // Moving cohorts: the old cohort loses the candidate, the new one gains it
+                adjustCohortCounts(oldCohortId, oldStatus, null);
+                adjustCohortCounts(newCohortId, null, savedCandidate.getStatus());
             }
 
             return savedCandidate;
@@ -208,28 +233,44 @@ public class CandidateService {
         return null;
     }
 
+    @Transactional
     public void deleteCandidate(Long id) {
         Optional<Candidate> candidate = candidateRepository.findById(id);
         if (candidate.isPresent()) {
             Candidate c = candidate.get();
-            if (c.getCohort() != null) {
-                com.example.Academy.entity.Cohort cohort = c.getCohort();
-                boolean changed = false;
-                if (c.getStatus() == Candidate.Status.ACTIVE) {
-                    cohort.setActiveGencCount(Math.max(0, cohort.getActiveGencCount() - 1));
-                    changed = true;
-                }
-                if (c.getStatus() == Candidate.Status.ACTIVE || c.getStatus() == Candidate.Status.COMPLETED) {
-                    cohort.setTotalGencCount(Math.max(0, cohort.getTotalGencCount() - 1));
-                    changed = true;
-                }
-                if (changed)
-                    cohortRepository.save(cohort);
-            }
+            Candidate.Status oldStatus = c.getStatus();
             // Soft delete: set status to INACTIVE instead of deleting
             c.setStatus(Candidate.Status.INACTIVE);
             c.setUpdatedAt(LocalDateTime.now());
             candidateRepository.save(c);
+
+            if (c.getCohort() != null) {
+                adjustCohortCounts(c.getCohort().getId(), oldStatus, Candidate.Status.INACTIVE);
+            }
         }
     }
-}
\ No newline at end of file
+
+    private static String uniqueKey(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Applies the GenC counter change of a candidate moving from oldStatus to
+     * newStatus (null meaning not in the cohort) as one relative UPDATE, without
+     * loading the cohort.
+     */
+    private void adjustCohortCounts(Long cohortId, Candidate.Status oldStatus, Candidate.Status newStatus) {
+        if (cohortId == null) {
+            return;
+        }
+        int activeDelta = (newStatus == Candidate.Status.ACTIVE ? 1 : 0) - (oldStatus == Candidate.Status.ACTIVE ? 1 : 0);
+        int totalDelta = (countsTowardsTotal(newStatus) ? 1 : 0) - (countsTowardsTotal(oldStatus) ? 1 : 0);
+        if (activeDelta != 0 || totalDelta != 0) {
+            cohortRepository.adjustGencCounts(cohortId, activeDelta, totalDelta);
+        }
+    }
+
+    private static boolean countsTowardsTotal(Candidate.Status status) {
+        return status == Candidate.Status.ACTIVE || status == Candidate.Status.COMPLETED;
+    }
+}
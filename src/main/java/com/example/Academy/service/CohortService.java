@@ -4,18 +4,27 @@ import com.example.Academy.dto.cohort.CreateCohortRequest;
 import com.example.Academy.entity.*;
 import com.example.Academy.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.example.Academy.dto.cohort.CohortResponse;
+import com.example.Academy.dto.cohort.CohortSearchCriteria;
+import com.example.Academy.dto.cohort.CohortSearchPage;
+import com.example.Academy.dto.cohort.ReconciliationReport;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 @Transactional
 public class CohortService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 200;
+
     @Autowired
     private CohortRepository cohortRepository;
 
@@ -40,6 +49,12 @@ public class CohortService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private FeedbackSessionCache feedbackSessionCache;
+
+    @Autowired
+    private ReportCache reportCache;
+
     public Cohort createCohort(CreateCohortRequest request) {
 
         Cohort cohort = new Cohort();
@@ -196,18 +211,99 @@ public class CohortService {
         }
     }
 
+    /**
+     * Cohort list rows for the given user: every cohort for admins, assigned
+     * cohorts otherwise. One query, no stakeholder entities loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<CohortResponse> getCohortResponsesForUser(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        List<CohortResponse> responses = user.getRole() == User.Role.ADMIN
+                ? cohortRepository.findAllResponses()
+                : cohortRepository.findResponsesByCoachId(user.getId());
+        responses.forEach(r -> r.setProgress(calculateProgress(r.getStartDate(), r.getEndDate())));
+        return responses;
+    }
+
+    /**
+     * Filtered, keyset-paginated cohort list. Admins search every cohort; other
+     * users only their assigned cohorts, whatever coachId they pass.
+     */
+    @Transactional(readOnly = true)
+    public CohortSearchPage searchCohorts(String email, CohortSearchCriteria criteria) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        Long coachId = user.getRole() == User.Role.ADMIN ? criteria.getCoachId() : user.getId();
+
+        LocalDate afterStart = null;
+        Long afterId = null;
+        if (criteria.getCursor() != null && !criteria.getCursor().isBlank()) {
+            String[] parts = criteria.getCursor().split("_");
+            try {
+                afterStart = LocalDate.parse(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+
+        String skill = blankToNull(criteria.getSkill());
+        String bu = blankToNull(criteria.getBu());
+        String sl = blankToNull(criteria.getSl());
+        String sbu = blankToNull(criteria.getSbu());
+        String location = blankToNull(criteria.getLocation());
+        int size = Math.min(Math.max(criteria.getSize(), 1), MAX_SEARCH_PAGE_SIZE);
+
+        // One extra row tells whether there is a next page
+        List<CohortResponse> rows = cohortRepository.searchResponses(skill, bu, sl, sbu, location, coachId,
+                criteria.getFrom(), criteria.getTo(), afterStart, afterId, PageRequest.of(0, size + 1));
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            CohortResponse last = rows.get(size - 1);
+            nextCursor = last.getStartDate() + "_" + last.getId();
+        }
+        rows.forEach(r -> r.setProgress(calculateProgress(r.getStartDate(), r.getEndDate())));
+
+        long total = cohortRepository.countSearch(skill, bu, sl, sbu, location, coachId, criteria.getFrom(),
+                criteria.getTo());
+        return new CohortSearchPage(new ArrayList<>(rows), total, nextCursor);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
     public Optional<Cohort> getCohortById(Long id) {
         return cohortRepository.findById(id);
     }
 
+    /**
+     * Loads the cohort with all five stakeholders in one query, for screens that
+     * display them.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Cohort> getCohortWithStakeholders(Long id) {
+        return cohortRepository.findWithStakeholdersById(id);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Cohort> getCohortByCode(String code) {
-        return cohortRepository.findByCode(code);
+        return cohortRepository.findWithStakeholdersByCode(code);
     }
 
     public Cohort updateCohort(Long id, CreateCohortRequest request) {
         Cohort cohort = cohortRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Cohort not found"));
 
+        // GenC counters follow candidate changes only (see CohortRepository.adjustGencCounts)
+        if (request.getActiveGencCount() != null
+                && !request.getActiveGencCount().equals(cohort.getActiveGencCount())) {
+            throw new RuntimeException("Active GenC count is maintained from candidates and cannot be edited");
+        }
+
         User oldCoach = cohort.getCoach();
 
         cohort.setCode(request.getCode());
@@ -215,7 +311,6 @@ public class CohortService {
         cohort.setSl(request.getSl());
         cohort.setSbu(request.getSbu());
         cohort.setSkill(request.getSkill());
-        cohort.setActiveGencCount(request.getActiveGencCount() != null ? request.getActiveGencCount() : 0);
         cohort.setTrainingLocation(request.getTrainingLocation());
 
         if (request.getStartDate() != null && !request.getStartDate().isEmpty()) {
@@ -238,6 +333,8 @@ public class CohortService {
         }
 
         Cohort updated = cohortRepository.save(cohort);
+        feedbackSessionCache.evictCohort(id);
+        reportCache.invalidateCohort(id);
 
         // SYNC COUNTS
         if (oldCoach != null)
@@ -254,6 +351,8 @@ public class CohortService {
         User coach = (cohort != null) ? cohort.getCoach() : null;
 
         cohortRepository.deleteById(id);
+        feedbackSessionCache.evictCohort(id);
+        reportCache.invalidateCohort(id);
 
         if (coach != null) {
             updateCoachCohortCount(coach);
@@ -341,10 +440,14 @@ public class CohortService {
 
         CohortTrainerMapping mapping = new CohortTrainerMapping(cohort, trainer, role);
         cohortTrainerMappingRepository.save(mapping);
+        feedbackSessionCache.evictCohort(cohortId);
+        reportCache.invalidateCohort(cohortId);
     }
 
     public void removeAdditionalTrainer(Long cohortId, Long trainerId) {
         cohortTrainerMappingRepository.deleteByCohortIdAndTrainerId(cohortId, trainerId);
+        feedbackSessionCache.evictCohort(cohortId);
+        reportCache.invalidateCohort(cohortId);
     }
 
     public List<CohortTrainerMapping> getAdditionalTrainers(Long cohortId) {
@@ -384,10 +487,14 @@ public class CohortService {
 
         CohortMentorMapping mapping = new CohortMentorMapping(cohort, mentor, role);
         cohortMentorMappingRepository.save(mapping);
+        feedbackSessionCache.evictCohort(cohortId);
+        reportCache.invalidateCohort(cohortId);
     }
 
     public void removeAdditionalMentor(Long cohortId, Long mentorId) {
         cohortMentorMappingRepository.deleteByCohortIdAndMentorId(cohortId, mentorId);
+        feedbackSessionCache.evictCohort(cohortId);
+        reportCache.invalidateCohort(cohortId);
     }
 
     public List<CohortMentorMapping> getAdditionalMentors(Long cohortId) {
@@ -397,49 +504,77 @@ public class CohortService {
     @Autowired
     private CandidateRepository candidateRepository;
 
-    // Fix for data synchronization
+    @Autowired
+    private SystemStateBatchRepository systemStateBatchRepository;
+
+    @org.springframework.beans.factory.annotation.Value("${cohort.reconcile-on-startup:false}")
+    private boolean reconcileOnStartup;
+
+    // GenC counters are kept exact by atomic updates; the startup pass is only
+    // needed once to repair counts written before that, so it is opt-in
+    @org.springframework.scheduling.annotation.Async
     @org.springframework.context.event.EventListener(org.springframework.boot.context.event.ApplicationReadyEvent.class)
     public void recalculateSystemState() {
+        if (!reconcileOnStartup) {
+            return;
+        }
         System.out.println("DEBUG: Synchronizing system counts and state...");
+        ReconciliationReport report = reconcileSystemState();
+        System.out.println("System state reconciliation " + report);
+    }
+
+    /**
+     * Recomputes cohort GenC counts and coach/admin assigned cohort counts with
+     * GROUP BY queries and writes only the rows that drifted, in JDBC batches.
+     */
+    public ReconciliationReport reconcileSystemState() {
+        long startedAt = System.currentTimeMillis();
 
         // 1. Recalculate Candidate Counts for Cohorts
-        List<Cohort> cohorts = cohortRepository.findAll();
-        for (Cohort cohort : cohorts) {
-            long activeCount = candidateRepository.countByCohortIdAndStatus(cohort.getId(), Candidate.Status.ACTIVE);
-            long totalCount = candidateRepository.countByCohortIdAndStatusIn(cohort.getId(),
-                    java.util.Arrays.asList(Candidate.Status.ACTIVE, Candidate.Status.COMPLETED));
-
-            boolean changed = false;
-            if (cohort.getActiveGencCount() != activeCount) {
-                System.out.println("Correcting active count for " + cohort.getCode() + ": "
-                        + cohort.getActiveGencCount() + " -> " + activeCount);
-                cohort.setActiveGencCount((int) activeCount);
-                changed = true;
-            }
-            if (cohort.getTotalGencCount() == null || cohort.getTotalGencCount() != totalCount) {
-                System.out.println("Correcting total count for " + cohort.getCode() + ": " + cohort.getTotalGencCount()
-                        + " -> " + totalCount);
-                cohort.setTotalGencCount((int) totalCount);
-                changed = true;
-            }
+        Map<Long, long[]> gencCounts = new HashMap<>();
+        for (Object[] row : candidateRepository.countGencsGroupedByCohort()) {
+            gencCounts.put((Long) row[0], new long[] { ((Number) row[1]).longValue(), ((Number) row[2]).longValue() });
+        }
 
-            if (changed) {
-                cohortRepository.save(cohort);
+        List<Object[]> cohorts = cohortRepository.findGencCounts();
+        List<Object[]> cohortCorrections = new ArrayList<>();
+        for (Object[] row : cohorts) {
+            Long cohortId = (Long) row[0];
+            Integer currentActive = (Integer) row[2];
+            Integer currentTotal = (Integer) row[3];
+            long[] counts = gencCounts.getOrDefault(cohortId, new long[2]);
+
+            if (currentActive == null || currentActive != counts[0] || currentTotal == null
+                    || currentTotal != counts[1]) {
+                System.out.println("Correcting counts for " + row[1] + ": active " + currentActive + " -> "
+                        + counts[0] + ", total " + currentTotal + " -> " + counts[1]);
+                cohortCorrections.add(new Object[] { (int) counts[0], (int) counts[1], cohortId });
             }
         }
+        systemStateBatchRepository.updateGencCounts(cohortCorrections);
 
         // 2. Recalculate Assigned Cohorts for Personnel (Coaches/Admins)
-        List<User> users = userRepository.findAll();
-        for (User user : users) {
-            if (user.getRole() == User.Role.COACH || user.getRole() == User.Role.ADMIN) {
-                int assignedCount = cohortRepository.countByCoach(user);
-                if (user.getAssignedCohorts() == null || user.getAssignedCohorts() != assignedCount) {
-                    System.out.println("Syncing assigned cohorts for " + user.getName() + ": "
-                            + user.getAssignedCohorts() + " -> " + assignedCount);
-                    user.setAssignedCohorts(assignedCount);
-                    userRepository.save(user);
-                }
+        Map<Long, Long> coachedCounts = new HashMap<>();
+        for (Object[] row : cohortRepository.countCohortsGroupedByCoach()) {
+            coachedCounts.put((Long) row[0], (Long) row[1]);
+        }
+
+        List<Object[]> users = userRepository
+                .findAssignedCohortCountsByRoleIn(List.of(User.Role.COACH, User.Role.ADMIN));
+        List<Object[]> userCorrections = new ArrayList<>();
+        for (Object[] row : users) {
+            Long userId = (Long) row[0];
+            Integer current = (Integer) row[2];
+            int assignedCount = coachedCounts.getOrDefault(userId, 0L).intValue();
+
+            if (current == null || current != assignedCount) {
+                System.out.println("Syncing assigned cohorts for " + row[1] + ": " + current + " -> " + assignedCount);
+                userCorrections.add(new Object[] { assignedCount, userId });
             }
         }
+        systemStateBatchRepository.updateAssignedCohorts(userCorrections);
+
+        return new ReconciliationReport(cohorts.size(), cohortCorrections.size(), users.size(),
+                userCorrections.size(), System.currentTimeMillis() - startedAt);
     }
 }
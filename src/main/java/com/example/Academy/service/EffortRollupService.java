@@ -0,0 +1,55 @@
+package com.example.Academy.service;
+
+import com.example.Academy.entity.StakeholderEffort;
+import com.example.Academy.repository.DailyEffortRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps the cohort x role x day rollup in step with stakeholder_efforts.
+ * Called from the effort write paths so the rollup changes in the same
+ * transaction as the efforts themselves.
+ */
+@Service
+@Transactional
+public class EffortRollupService {
+
+    @Autowired
+    private DailyEffortRollupRepository rollupRepository;
+
+    public void recordEffort(StakeholderEffort effort) {
+        rollupRepository.applyDelta(effort.getCohort().getId(), effort.getRole().name(), effort.getEffortDate(),
+                effort.getEffortHours(), 1);
+    }
+
+    public void removeEffort(StakeholderEffort effort) {
+        Long cohortId = effort.getCohort().getId();
+        String role = effort.getRole().name();
+
+        rollupRepository.applyDelta(cohortId, role, effort.getEffortDate(), effort.getEffortHours().negate(), -1);
+        rollupRepository.deleteEmptyBucket(cohortId, role, effort.getEffortDate());
+    }
+
+    /**
+     * Recomputes the rollup for a cohort/date range from raw efforts. Used after
+     * bulk rewrites such as a weekly submission, where only a week of rows is
+     * re-aggregated.
+     */
+    public void refreshRange(Long cohortId, LocalDate startDate, LocalDate endDate) {
+        rollupRepository.deleteRange(cohortId, startDate, endDate);
+        rollupRepository.rebuildRange(cohortId, startDate, endDate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() == 0) {
+            int rows = rollupRepository.rebuildAll();
+            System.out.println("Backfilled daily effort rollup with " + rows + " rows.");
+        }
+    }
+}
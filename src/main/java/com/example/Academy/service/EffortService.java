@@ -9,12 +9,14 @@ import com.example.Academy.entity.CohortMentorMapping;
 import com.example.Academy.repository.CohortTrainerMappingRepository;
 import com.example.Academy.repository.CohortMentorMappingRepository;
 import com.example.Academy.repository.CohortRepository;
+import com.example.Academy.repository.StakeholderEffortBatchRepository;
 import com.example.Academy.repository.StakeholderEffortRepository;
 import com.example.Academy.repository.UserRepository;
 import com.example.Academy.repository.WeeklySummaryRepository;
 import com.example.Academy.dto.effort.WeeklyEffortSubmissionDTO;
 import com.example.Academy.dto.effort.DayLogDTO;
 import com.example.Academy.dto.effort.EffortDetailDTO;
+import com.example.Academy.dto.user.UserIdentity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,7 +26,10 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -35,6 +40,9 @@ public class EffortService {
     @Autowired
     private StakeholderEffortRepository effortRepository;
 
+    @Autowired
+    private StakeholderEffortBatchRepository effortBatchRepository;
+
     @Autowired
     private CohortRepository cohortRepository;
 
@@ -56,6 +64,15 @@ public class EffortService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private EffortRollupService effortRollupService;
+
+    @Autowired
+    private WeeklySummaryUpdater weeklySummaryUpdater;
+
+    @Autowired
+    private UserIdentityService userIdentityService;
+
     public StakeholderEffort submitEffort(StakeholderEffort effort, Long userId) {
         // Validate submission window
         validateSubmissionWindow(effort.getEffortDate());
@@ -80,9 +97,13 @@ public class EffortService {
         effort.setEffortMonth(effort.getEffortDate().getMonth().toString());
 
         StakeholderEffort savedEffort = effortRepository.save(effort);
+        effortRollupService.recordEffort(savedEffort);
 
-        // Update weekly summary
-        updateWeeklySummary(cohort, effort.getEffortDate(), updatedBy.getName(), updatedBy.getAvatar());
+        // Add the effort's hours to its week's summary
+        LocalDate weekStart = effort.getEffortDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        weeklySummaryUpdater.applyDelta(cohort.getId(), weekStart, savedEffort.getRole(),
+                savedEffort.getEffortHours(), updatedBy.getName(), updatedBy.getId());
+        notifyWeeklySummaryOnFriday(cohort.getId(), weekStart);
 
         // Send email notification (to Admins only)
         emailService.sendDailyEffortNotification(savedEffort);
@@ -124,22 +145,20 @@ public class EffortService {
                 .orElseThrow(() -> new RuntimeException("Effort not found"));
 
         effortRepository.deleteById(id);
+        effortRollupService.removeEffort(effort);
 
-        // Update weekly summary after deletion
-        updateWeeklySummary(effort.getCohort(),
-                effort.getEffortDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
-                "System (After Deletion)", null);
+        // Subtract the deleted hours from the weekly summary
+        LocalDate weekStart = effort.getEffortDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        weeklySummaryUpdater.applyDelta(effort.getCohort().getId(), weekStart, effort.getRole(),
+                effort.getEffortHours().negate(), "System (After Deletion)", null);
+        notifyWeeklySummaryOnFriday(effort.getCohort().getId(), weekStart);
     }
 
     public void updateWeeklySummary(Cohort cohort, LocalDate weekStart, String submittedByName,
-            String submittedByAvatar) {
+            Long submittedByUserId) {
+        // Full recompute from raw efforts; regular writes go through applyDelta/replaceWeek
         LocalDate weekEnd = weekStart.plusDays(6);
 
-        // Calculate total hours
-        Double totalHoursDouble = effortRepository.sumEffortHoursByCohortAndDateRange(
-                cohort.getId(), weekStart, weekEnd);
-        BigDecimal totalHours = totalHoursDouble != null ? BigDecimal.valueOf(totalHoursDouble) : BigDecimal.ZERO;
-
         // Calculate individual role hours
         Double techHours = effortRepository.sumEffortHoursByCohortRoleAndDateRange(cohort.getId(),
                 StakeholderEffort.Role.TRAINER, weekStart, weekEnd);
@@ -150,62 +169,25 @@ public class EffortService {
         Double buddyHours = effortRepository.sumEffortHoursByCohortRoleAndDateRange(cohort.getId(),
                 StakeholderEffort.Role.BUDDY_MENTOR, weekStart, weekEnd);
 
-        updateWeeklySummaryWithTotals(cohort, weekStart, submittedByName, submittedByAvatar, totalHours,
+        weeklySummaryUpdater.replaceWeek(cohort.getId(), weekStart,
                 BigDecimal.valueOf(techHours != null ? techHours : 0),
                 BigDecimal.valueOf(bhHours != null ? bhHours : 0),
                 BigDecimal.valueOf(mentorHours != null ? mentorHours : 0),
                 BigDecimal.valueOf(buddyHours != null ? buddyHours : 0),
-                null); // Default null if called from individual updates
+                null, submittedByName, submittedByUserId);
+        notifyWeeklySummaryOnFriday(cohort.getId(), weekStart);
     }
 
-    private void updateWeeklySummaryWithTotals(Cohort cohort, LocalDate weekStart, String submittedByName,
-            String submittedByAvatar,
-            BigDecimal totalHours, BigDecimal techHours, BigDecimal bhHours, BigDecimal mentorHours,
-            BigDecimal buddyHours, List<LocalDate> holidays) {
-        LocalDate weekEnd = weekStart.plusDays(6);
-
-        // Find or create weekly summary
-        Optional<WeeklySummary> existingSummary = weeklySummaryRepository
-                .findByCohortIdAndWeekStartDate(cohort.getId(), weekStart);
-
-        WeeklySummary summary;
-        if (existingSummary.isPresent()) {
-            summary = existingSummary.get();
-            summary.setTotalHours(totalHours);
-            summary.setSummaryDate(LocalDateTime.now());
-        } else {
-            summary = new WeeklySummary(cohort, weekStart, weekEnd, totalHours);
-            summary.setCreatedAt(LocalDateTime.now());
-            summary.setSummaryDate(LocalDateTime.now());
-        }
-
-        // Set individual hours
-        summary.setTechnicalTrainerHours(techHours);
-        summary.setBehavioralTrainerHours(bhHours);
-        summary.setMentorHours(mentorHours);
-        summary.setBuddyMentorHours(buddyHours);
-
-        // Set holidays if provided
-        if (holidays != null) {
-            String holidaysStr = holidays.stream()
-                    .map(LocalDate::toString)
-                    .collect(Collectors.joining(","));
-            summary.setHolidays(holidaysStr);
-        }
-
-        // Set submission metadata
-        summary.setSubmittedBy(submittedByName);
-        summary.setSubmittedByAvatar(submittedByAvatar);
-        summary.setSubmittedAt(LocalDateTime.now());
-
-        WeeklySummary savedSummary = weeklySummaryRepository.save(summary);
-
+    private void notifyWeeklySummaryOnFriday(Long cohortId, LocalDate weekStart) {
         // Email Notification on Fridays
         if (LocalDate.now().getDayOfWeek().name().equals("FRIDAY")) {
-            emailService.sendWeeklySummaryNotification(savedSummary);
+            weeklySummaryUpdater.loadCurrent(cohortId, weekStart)
+                    .ifPresent(emailService::sendWeeklySummaryNotification);
         }
     }
 
+    // Read-only so the resolved avatars are never flushed back to the summaries
+    @Transactional(readOnly = true)
     public List<WeeklySummary> getWeeklySummariesByCohort(Long cohortId) {
         List<WeeklySummary> summaries = weeklySummaryRepository.findByCohortId(cohortId);
 
@@ -213,41 +195,66 @@ public class EffortService {
             return summaries;
         }
 
-        // Optimization: Fetch all users once if we need to enrich many summaries
-        List<User> allUsers = userRepository.findAll();
+        resolveSubmitterAvatars(summaries);
+        return summaries;
+    }
 
-        // Enrich with current avatars if missing
-        for (WeeklySummary summary : summaries) {
-            if (summary.getSubmittedByAvatar() == null && summary.getSubmittedBy() != null) {
-                String submittedName = summary.getSubmittedBy().trim();
+    @Transactional(readOnly = true)
+    public Optional<WeeklySummary> getWeeklySummary(Long cohortId, LocalDate weekStartDate) {
+        Optional<WeeklySummary> summary = weeklySummaryRepository.findByCohortIdAndWeekStartDate(cohortId,
+                weekStartDate);
+        summary.ifPresent(s -> resolveSubmitterAvatars(List.of(s)));
+        return summary;
+    }
 
-                allUsers.stream()
-                        .filter(u -> u.getName() != null && u.getName().trim().equalsIgnoreCase(submittedName))
-                        .findFirst()
-                        .ifPresent(u -> summary.setSubmittedByAvatar(u.getAvatar()));
+    /**
+     * Fills submittedByAvatar with the submitter's current avatar (the small
+     * thumbnail for stored avatars): by user id, or by name for rows written
+     * before the id was recorded. One projection query each, no full user rows.
+     * Callers must not flush the summaries afterwards.
+     */
+    private void resolveSubmitterAvatars(List<WeeklySummary> summaries) {
+        List<Long> userIds = new ArrayList<>();
+        List<String> legacyNames = new ArrayList<>();
+        for (WeeklySummary summary : summaries) {
+            if (summary.getSubmittedByUserId() != null) {
+                userIds.add(summary.getSubmittedByUserId());
+            } else if (summary.getSubmittedByAvatar() == null && summary.getSubmittedBy() != null) {
+                legacyNames.add(summary.getSubmittedBy());
             }
         }
-        return summaries;
-    }
+        Map<Long, UserIdentity> byId = userIdentityService.findByIds(userIds);
+        Map<String, UserIdentity> byName = userIdentityService.findByNames(legacyNames);
 
-    public Optional<WeeklySummary> getWeeklySummary(Long cohortId, LocalDate weekStartDate) {
-        return weeklySummaryRepository.findByCohortIdAndWeekStartDate(cohortId, weekStartDate);
+        for (WeeklySummary summary : summaries) {
+            UserIdentity submitter = summary.getSubmittedByUserId() != null
+                    ? byId.get(summary.getSubmittedByUserId())
+                    : summary.getSubmittedByAvatar() == null
+                            ? byName.get(User.normalizeName(summary.getSubmittedBy()))
+                            : null;
+            if (submitter != null) {
+                summary.setSubmittedByAvatar(AvatarStore.smallThumbnail(submitter.getAvatar()));
+            }
+        }
     }
 
     public void submitWeeklyEffort(WeeklyEffortSubmissionDTO dto, Long userId) {
         // Validate submission window
         validateSubmissionWindow(dto.getWeekStartDate());
 
-        Cohort cohort = cohortRepository.findById(dto.getCohortId())
+        Cohort cohort = cohortRepository.findWithStakeholdersById(dto.getCohortId())
                 .orElseThrow(() -> new RuntimeException("Cohort not found"));
 
         User submittedBy = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // Clear existing efforts for this week to allow clean overwrite
-        List<StakeholderEffort> existing = effortRepository.findByCohortIdAndEffortDateBetween(
-                cohort.getId(), dto.getWeekStartDate(), dto.getWeekEndDate());
-        effortRepository.deleteAll(existing);
+        // Clear existing efforts for this week with a single range DELETE
+        effortRepository.deleteByCohortIdAndDateRange(cohort.getId(), dto.getWeekStartDate(),
+                dto.getWeekEndDate());
+
+        // Resolve each role's stakeholder once per submission
+        Map<StakeholderEffort.Role, User> stakeholders = resolveUsersForRoles(cohort);
+        List<StakeholderEffort> newEfforts = new ArrayList<>();
 
         if (dto.getDayLogs() != null) {
             for (DayLogDTO dayLog : dto.getDayLogs()) {
@@ -274,37 +281,42 @@ public class EffortService {
                 // Trainer Log
                 if (dayLog.getTechnicalTrainer() != null && dayLog.getTechnicalTrainer().getHours() != null
                         && dayLog.getTechnicalTrainer().getHours().compareTo(BigDecimal.ZERO) > 0) {
-                    saveDayEffort(cohort, resolveUserForRole(cohort, StakeholderEffort.Role.TRAINER),
+                    newEfforts.add(buildDayEffort(cohort, stakeholders.get(StakeholderEffort.Role.TRAINER),
                             StakeholderEffort.Role.TRAINER,
-                            dayLog.getDate(), dayLog.getTechnicalTrainer(), submittedBy);
+                            dayLog.getDate(), dayLog.getTechnicalTrainer(), submittedBy));
                 }
 
                 // Mentor Log
                 if (dayLog.getMentor() != null && dayLog.getMentor().getHours() != null
                         && dayLog.getMentor().getHours().compareTo(BigDecimal.ZERO) > 0) {
-                    saveDayEffort(cohort, resolveUserForRole(cohort, StakeholderEffort.Role.MENTOR),
+                    newEfforts.add(buildDayEffort(cohort, stakeholders.get(StakeholderEffort.Role.MENTOR),
                             StakeholderEffort.Role.MENTOR,
-                            dayLog.getDate(), dayLog.getMentor(), submittedBy);
+                            dayLog.getDate(), dayLog.getMentor(), submittedBy));
                 }
 
                 // Buddy Mentor Log
                 if (dayLog.getBuddyMentor() != null && dayLog.getBuddyMentor().getHours() != null
                         && dayLog.getBuddyMentor().getHours().compareTo(BigDecimal.ZERO) > 0) {
-                    saveDayEffort(cohort, resolveUserForRole(cohort, StakeholderEffort.Role.BUDDY_MENTOR),
+                    newEfforts.add(buildDayEffort(cohort, stakeholders.get(StakeholderEffort.Role.BUDDY_MENTOR),
                             StakeholderEffort.Role.BUDDY_MENTOR,
-                            dayLog.getDate(), dayLog.getBuddyMentor(), submittedBy);
+                            dayLog.getDate(), dayLog.getBuddyMentor(), submittedBy));
                 }
 
                 // Behavioral Trainer Log
                 if (dayLog.getBehavioralTrainer() != null && dayLog.getBehavioralTrainer().getHours() != null
                         && dayLog.getBehavioralTrainer().getHours().compareTo(BigDecimal.ZERO) > 0) {
-                    saveDayEffort(cohort, resolveUserForRole(cohort, StakeholderEffort.Role.BH_TRAINER),
+                    newEfforts.add(buildDayEffort(cohort, stakeholders.get(StakeholderEffort.Role.BH_TRAINER),
                             StakeholderEffort.Role.BH_TRAINER,
-                            dayLog.getDate(), dayLog.getBehavioralTrainer(), submittedBy);
+                            dayLog.getDate(), dayLog.getBehavioralTrainer(), submittedBy));
                 }
             }
         }
 
+        // One JDBC batch for the whole week instead of an IDENTITY insert per day and role
+        effortBatchRepository.insertAll(newEfforts);
+
+        effortRollupService.refreshRange(cohort.getId(), dto.getWeekStartDate(), dto.getWeekEndDate());
+
         // Calculate totals from DTO for immediate update
         BigDecimal totalH = BigDecimal.ZERO;
         BigDecimal techH = BigDecimal.ZERO;
@@ -328,9 +340,9 @@ public class EffortService {
         }
         totalH = techH.add(bhH).add(mentorH).add(buddyH);
 
-        updateWeeklySummaryWithTotals(cohort, dto.getWeekStartDate(), submittedBy.getName(),
-                submittedBy.getAvatar(), totalH, techH, bhH,
-                mentorH, buddyH, dto.getHolidays());
+        weeklySummaryUpdater.replaceWeek(cohort.getId(), dto.getWeekStartDate(), techH, bhH, mentorH, buddyH,
+                dto.getHolidays(), submittedBy.getName(), submittedBy.getId());
+        notifyWeeklySummaryOnFriday(cohort.getId(), dto.getWeekStartDate());
 
         // Send In-App notification to Admins for weekly summary
         notificationService.notifyRole(
@@ -344,7 +356,7 @@ public class EffortService {
                 userId);
     }
 
-    private void saveDayEffort(Cohort cohort, User stakeholder, StakeholderEffort.Role role,
+    private StakeholderEffort buildDayEffort(Cohort cohort, User stakeholder, StakeholderEffort.Role role,
             LocalDate date, EffortDetailDTO detail, User submittedBy) {
         // Work Policy: Max 9 hours (10 hours total including 1 hour break)
         if (detail.getHours() != null && detail.getHours().compareTo(BigDecimal.valueOf(9)) > 0) {
@@ -392,47 +404,38 @@ public class EffortService {
         effort.setUpdatedDate(LocalDateTime.now());
         effort.setCreatedAt(LocalDateTime.now());
 
-        effortRepository.save(effort);
+        return effort;
     }
 
-    private User resolveUserForRole(Cohort cohort, StakeholderEffort.Role role) {
+    private Map<StakeholderEffort.Role, User> resolveUsersForRoles(Cohort cohort) {
+        // Cohort defaults apply when a role has no mapping or the mapped person has no User record
+        Map<StakeholderEffort.Role, User> resolved = new EnumMap<>(StakeholderEffort.Role.class);
+        resolved.put(StakeholderEffort.Role.TRAINER, cohort.getPrimaryTrainer());
+        resolved.put(StakeholderEffort.Role.BH_TRAINER, cohort.getBehavioralTrainer());
+        resolved.put(StakeholderEffort.Role.MENTOR, cohort.getPrimaryMentor());
+        resolved.put(StakeholderEffort.Role.BUDDY_MENTOR, cohort.getBuddyMentor());
+
         // Try mapping tables first (Synchronous with what the UI shows)
-        if (role == StakeholderEffort.Role.TRAINER || role == StakeholderEffort.Role.BH_TRAINER) {
-            List<CohortTrainerMapping> mappings = trainerMappingRepository.findByCohortId(cohort.getId());
-            CohortTrainerMapping.Role targetRole = (role == StakeholderEffort.Role.TRAINER)
-                    ? CohortTrainerMapping.Role.TRAINER
-                    : CohortTrainerMapping.Role.BH_TRAINER;
-
-            return mappings.stream()
-                    .filter(m -> m.getRole() == targetRole)
-                    .findFirst()
-                    .map(m -> userRepository.findByEmpId(m.getTrainer().getEmpId()).orElseGet(() -> {
-                        // Fallback to cohort defaults if no User record exists for mapping
-                        return (role == StakeholderEffort.Role.TRAINER) ? cohort.getPrimaryTrainer()
-                                : cohort.getBehavioralTrainer();
-                    }))
-                    .orElse((role == StakeholderEffort.Role.TRAINER) ? cohort.getPrimaryTrainer()
-                            : cohort.getBehavioralTrainer());
+        Map<StakeholderEffort.Role, String> mappedEmpIds = new EnumMap<>(StakeholderEffort.Role.class);
+        for (CohortTrainerMapping m : trainerMappingRepository.findWithTrainerByCohortIdIn(List.of(cohort.getId()))) {
+            mappedEmpIds.putIfAbsent(StakeholderEffort.Role.valueOf(m.getRole().name()), m.getTrainer().getEmpId());
+        }
+        for (CohortMentorMapping m : mentorMappingRepository.findWithMentorByCohortIdIn(List.of(cohort.getId()))) {
+            mappedEmpIds.putIfAbsent(StakeholderEffort.Role.valueOf(m.getRole().name()), m.getMentor().getEmpId());
         }
 
-        if (role == StakeholderEffort.Role.MENTOR || role == StakeholderEffort.Role.BUDDY_MENTOR) {
-            List<CohortMentorMapping> mappings = mentorMappingRepository.findByCohortId(cohort.getId());
-            CohortMentorMapping.Role targetRole = (role == StakeholderEffort.Role.MENTOR)
-                    ? CohortMentorMapping.Role.MENTOR
-                    : CohortMentorMapping.Role.BUDDY_MENTOR;
-
-            return mappings.stream()
-                    .filter(m -> m.getRole() == targetRole)
-                    .findFirst()
-                    .map(m -> userRepository.findByEmpId(m.getMentor().getEmpId()).orElseGet(() -> {
-                        return (role == StakeholderEffort.Role.MENTOR) ? cohort.getPrimaryMentor()
-                                : cohort.getBuddyMentor();
-                    }))
-                    .orElse((role == StakeholderEffort.Role.MENTOR) ? cohort.getPrimaryMentor()
-                            : cohort.getBuddyMentor());
+        if (!mappedEmpIds.isEmpty()) {
+            Map<String, User> usersByEmpId = userRepository.findByEmpIdIn(mappedEmpIds.values()).stream()
+                    .collect(Collectors.toMap(User::getEmpId, u -> u, (a, b) -> a));
+            mappedEmpIds.forEach((role, empId) -> {
+                User user = usersByEmpId.get(empId);
+                if (user != null) {
+                    resolved.put(role, user);
+                }
+            });
         }
 
-        return null;
+        return resolved;
     }
 
     private void validateSubmissionWindow(LocalDate activityDate) {
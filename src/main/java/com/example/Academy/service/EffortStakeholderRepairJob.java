@@ -0,0 +1,141 @@
+package com.example.Academy.service;
+
+import com.example.Academy.entity.JobCheckpoint;
+import com.example.Academy.entity.StakeholderEffort;
+import com.example.Academy.entity.User;
+import com.example.Academy.repository.CohortRepository;
+import com.example.Academy.repository.JobCheckpointRepository;
+import com.example.Academy.repository.StakeholderEffortRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background repair that points efforts logged against a coach (or against no
+ * one) at the cohort's primary stakeholder for the effort's role.
+ *
+ * Efforts are scanned by id in fixed-size chunks using only scalar columns, and
+ * stakeholders are resolved from a cohort map loaded once per run. Each chunk's
+ * fixes are applied with one UPDATE per target stakeholder and committed
+ * together with the job checkpoint, so a restart resumes after the last
+ * committed chunk.
+ */
+@Service
+public class EffortStakeholderRepairJob {
+
+    static final String JOB_NAME = "effort-stakeholder-repair";
+    private static final int CHUNK_SIZE = 1000;
+
+    @Autowired
+    private StakeholderEffortRepository effortRepository;
+
+    @Autowired
+    private CohortRepository cohortRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Async
+    public void runInBackground() {
+        try {
+            run();
+        } catch (Exception e) {
+            System.err.println("Effort stakeholder repair stopped: " + e.getMessage());
+        }
+    }
+
+    public void run() {
+        long startedAt = System.currentTimeMillis();
+        Map<Long, Map<StakeholderEffort.Role, String>> primaries = loadPrimaryStakeholders();
+
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElseGet(() -> new JobCheckpoint(JOB_NAME));
+        long resumedFrom = checkpoint.getLastProcessedId();
+        long lastId = resumedFrom;
+        int scanned = 0;
+        int updated = 0;
+
+        while (true) {
+            List<Object[]> chunk = effortRepository.findRepairChunk(lastId, PageRequest.of(0, CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            // Group effort ids by the stakeholder they should point at
+            Map<String, List<Long>> fixes = new HashMap<>();
+            for (Object[] row : chunk) {
+                Long effortId = (Long) row[0];
+                Long cohortId = (Long) row[1];
+                StakeholderEffort.Role role = (StakeholderEffort.Role) row[2];
+                String currentEmpId = (String) row[3];
+                User.Role currentRole = (User.Role) row[4];
+
+                // If the record currently points to a COACH (likely the submitter)
+                // or is NULL, we force it to the actual trainer/mentor from the cohort.
+                if (currentEmpId != null && currentRole != User.Role.COACH) {
+                    continue;
+                }
+                String resolved = primaries.getOrDefault(cohortId, Map.of()).get(role);
+                if (resolved != null && !resolved.equals(currentEmpId)) {
+                    fixes.computeIfAbsent(resolved, k -> new ArrayList<>()).add(effortId);
+                }
+            }
+
+            long chunkLastId = (Long) chunk.get(chunk.size() - 1)[0];
+            Integer chunkUpdated = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (Map.Entry<String, List<Long>> fix : fixes.entrySet()) {
+                    count += effortRepository.reassignStakeholder(fix.getKey(), fix.getValue());
+                }
+                checkpoint.setLastProcessedId(chunkLastId);
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                checkpointRepository.save(checkpoint);
+                return count;
+            });
+
+            lastId = chunkLastId;
+            scanned += chunk.size();
+            updated += chunkUpdated != null ? chunkUpdated : 0;
+        }
+
+        if (updated > 0) {
+            // Stakeholder names in generated reports may have changed anywhere
+            reportCache.invalidateAll();
+        }
+        System.out.println("Synchronized " + updated + " effort records across all cohorts (scanned " + scanned
+                + " efforts after id " + resumedFrom + " in " + (System.currentTimeMillis() - startedAt) + " ms).");
+    }
+
+    private Map<Long, Map<StakeholderEffort.Role, String>> loadPrimaryStakeholders() {
+        Map<Long, Map<StakeholderEffort.Role, String>> primaries = new HashMap<>();
+        for (Object[] row : cohortRepository.findPrimaryStakeholderEmpIds()) {
+            Map<StakeholderEffort.Role, String> byRole = new EnumMap<>(StakeholderEffort.Role.class);
+            putIfPresent(byRole, StakeholderEffort.Role.TRAINER, (String) row[1]);
+            putIfPresent(byRole, StakeholderEffort.Role.MENTOR, (String) row[2]);
+            putIfPresent(byRole, StakeholderEffort.Role.BUDDY_MENTOR, (String) row[3]);
+            putIfPresent(byRole, StakeholderEffort.Role.BH_TRAINER, (String) row[4]);
+            primaries.put((Long) row[0], byRole);
+        }
+        return primaries;
+    }
+
+    private void putIfPresent(Map<StakeholderEffort.Role, String> byRole, StakeholderEffort.Role role, String empId) {
+        if (empId != null) {
+            byRole.put(role, empId);
+        }
+    }
+}
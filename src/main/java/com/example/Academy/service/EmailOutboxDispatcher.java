@@ -0,0 +1,341 @@
+package com.example.Academy.service;
+
+import com.example.Academy.entity.EmailOutbox;
+import com.example.Academy.entity.EmailOutboxAttachment;
+import com.example.Academy.repository.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox with a fixed pool of worker threads.
+ *
+ * Each worker claims a batch of due rows, keeps a single SMTP Transport open
+ * while it sends them and closes it once it has been idle for a while. Failed
+ * sends are rescheduled with exponential backoff until MAX_ATTEMPTS, after
+ * which the row is left as FAILED for inspection. Rows left in SENDING by a
+ * crash are returned to PENDING on startup. SENT rows older than
+ * email.outbox.retention-days are purged, with their attachments, by whichever
+ * worker is idle once an hour.
+ */
+@Service
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ATTEMPTS = 6;
+    private static final long BASE_BACKOFF_SECONDS = 30;
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+    private static final long POLL_INTERVAL_MS = 5000;
+    private static final long TRANSPORT_IDLE_MS = 60000;
+    private static final long RATE_WINDOW_MS = 60000;
+    private static final long PURGE_INTERVAL_MS = 3600000;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Value("${email.outbox.workers:4}")
+    private int workerCount;
+
+    @Value("${email.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${email.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private final Object signal = new Object();
+    private final Object claimLock = new Object();
+    private volatile boolean running;
+    private ExecutorService workers;
+
+    private final AtomicLong sentTotal = new AtomicLong();
+    private final AtomicLong retriedTotal = new AtomicLong();
+    private final AtomicLong failedTotal = new AtomicLong();
+    private final ConcurrentLinkedDeque<Long> recentSends = new ConcurrentLinkedDeque<>();
+    private final AtomicLong lastPurgeAt = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int recovered = outboxRepository.transitionAll(EmailOutbox.Status.SENDING, EmailOutbox.Status.PENDING);
+        if (recovered > 0) {
+            System.out.println("Email outbox: returned " + recovered + " interrupted messages to the queue.");
+        }
+
+        running = true;
+        AtomicInteger threadIndex = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread t = new Thread(r, "email-outbox-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(new Worker());
+        }
+        System.out.println("Email outbox: started " + workerCount + " dispatch workers.");
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        wake();
+        if (workers != null) {
+            workers.shutdown();
+            try {
+                workers.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Nudges idle workers to poll immediately instead of waiting for the next
+     * poll interval.
+     */
+    public void wake() {
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        trimRateWindow();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", outboxRepository.countByStatus(EmailOutbox.Status.PENDING));
+        stats.put("inFlight", outboxRepository.countByStatus(EmailOutbox.Status.SENDING));
+        stats.put("failed", outboxRepository.countByStatus(EmailOutbox.Status.FAILED));
+        stats.put("sentTotal", sentTotal.get());
+        stats.put("retriedTotal", retriedTotal.get());
+        stats.put("failedTotal", failedTotal.get());
+        stats.put("sentLastMinute", recentSends.size());
+        stats.put("workers", workerCount);
+        return stats;
+    }
+
+    /**
+     * Deletes SENT messages older than the retention period together with their
+     * attachments and any blobs no longer referenced. Returns the number of
+     * messages removed.
+     */
+    public int purgeSent() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        outboxRepository.deleteSentAttachmentsBefore(cutoff);
+        int purged = outboxRepository.deleteSentBefore(cutoff);
+        int blobs = outboxRepository.deleteUnreferencedBlobs();
+        if (purged > 0 || blobs > 0) {
+            System.out.println("Email outbox: purged " + purged + " sent messages and " + blobs
+                    + " attachment blobs older than " + retentionDays + " days.");
+        }
+        return purged;
+    }
+
+    private void purgeIfDue() {
+        long last = lastPurgeAt.get();
+        long now = System.currentTimeMillis();
+        // Only one idle worker runs the purge per interval
+        if (now - last >= PURGE_INTERVAL_MS && lastPurgeAt.compareAndSet(last, now)) {
+            try {
+                purgeSent();
+            } catch (Exception e) {
+                System.err.println("Email outbox: purge failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        // Claims are serialized so two workers never pick up the same rows
+        synchronized (claimLock) {
+            List<Long> ids = outboxRepository.findDueIds(EmailOutbox.Status.PENDING, LocalDateTime.now(),
+                    PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            outboxRepository.transition(ids, EmailOutbox.Status.PENDING, EmailOutbox.Status.SENDING);
+            List<EmailOutbox> batch = outboxRepository.findWithAttachmentsByIdIn(ids);
+            batch.sort(Comparator.comparing(EmailOutbox::getId));
+            return batch;
+        }
+    }
+
+    private void recordFailure(EmailOutbox email, Exception e) {
+        int attempts = email.getAttempts() + 1;
+        String error = e.getMessage() != null && e.getMessage().length() > 1000
+                ? e.getMessage().substring(0, 1000)
+                : e.getMessage();
+
+        if (attempts >= MAX_ATTEMPTS) {
+            outboxRepository.markAttemptFailed(email.getId(), EmailOutbox.Status.FAILED, attempts,
+                    email.getNextAttemptAt(), error);
+            failedTotal.incrementAndGet();
+            System.err.println("Email outbox: giving up on message " + email.getId() + " to " + email.getRecipient()
+                    + " after " + attempts + " attempts: " + error);
+            return;
+        }
+
+        long backoff = Math.min(MAX_BACKOFF_SECONDS, BASE_BACKOFF_SECONDS << (attempts - 1));
+        outboxRepository.markAttemptFailed(email.getId(), EmailOutbox.Status.PENDING, attempts,
+                LocalDateTime.now().plusSeconds(backoff), error);
+        retriedTotal.incrementAndGet();
+        System.err.println("Email outbox: failed to send message " + email.getId() + " to " + email.getRecipient()
+                + " (attempt " + attempts + "), retrying in " + backoff + "s: " + error);
+    }
+
+    private void recordSent(EmailOutbox email) {
+        outboxRepository.markSent(email.getId(), LocalDateTime.now());
+        sentTotal.incrementAndGet();
+        recentSends.addLast(System.currentTimeMillis());
+        trimRateWindow();
+    }
+
+    private void trimRateWindow() {
+        long cutoff = System.currentTimeMillis() - RATE_WINDOW_MS;
+        Long oldest;
+        while ((oldest = recentSends.peekFirst()) != null && oldest < cutoff) {
+            recentSends.pollFirst();
+        }
+    }
+
+    private MimeMessage buildMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody() != null ? email.getBody() : "", email.isHtml());
+
+        for (EmailOutboxAttachment attachment : email.getAttachments()) {
+            helper.addAttachment(attachment.getFilename(), new ByteArrayResource(attachment.getContent()));
+        }
+
+        message.saveChanges();
+        return message;
+    }
+
+    private class Worker implements Runnable {
+
+        private Transport transport;
+        private long lastUsedAt;
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    List<EmailOutbox> batch = claimBatch();
+                    if (batch.isEmpty()) {
+                        closeIfIdle();
+                        purgeIfDue();
+                        awaitWork();
+                        continue;
+                    }
+                    MessagingException connectFailure = null;
+                    for (EmailOutbox email : batch) {
+                        if (connectFailure != null) {
+                            // Server unreachable: reschedule the rest of the batch instead of retrying each
+                            recordFailure(email, connectFailure);
+                            continue;
+                        }
+                        connectFailure = send(email);
+                    }
+                } catch (Exception e) {
+                    System.err.println("Email outbox worker error: " + e.getMessage());
+                    awaitWork();
+                }
+            }
+            closeTransport();
+        }
+
+        /**
+         * Sends one message, returning the connection error if the SMTP server
+         * could not be reached.
+         */
+        private MessagingException send(EmailOutbox email) {
+            try {
+                MimeMessage message = buildMessage(email);
+                if (mailSender instanceof JavaMailSenderImpl) {
+                    Transport connected;
+                    try {
+                        connected = connectedTransport();
+                    } catch (MessagingException e) {
+                        closeTransport();
+                        recordFailure(email, e);
+                        return e;
+                    }
+                    connected.sendMessage(message, message.getAllRecipients());
+                    lastUsedAt = System.currentTimeMillis();
+                } else {
+                    mailSender.send(message);
+                }
+                recordSent(email);
+            } catch (Exception e) {
+                // The connection may be broken; reconnect on the next message
+                closeTransport();
+                recordFailure(email, e);
+            }
+            return null;
+        }
+
+        private Transport connectedTransport() throws MessagingException {
+            if (transport != null && transport.isConnected()) {
+                return transport;
+            }
+            JavaMailSenderImpl impl = (JavaMailSenderImpl) mailSender;
+            String protocol = impl.getProtocol() != null ? impl.getProtocol()
+                    : impl.getSession().getProperty("mail.transport.protocol");
+            transport = impl.getSession().getTransport(protocol != null ? protocol : "smtp");
+            transport.connect(impl.getHost(), impl.getPort(), impl.getUsername(), impl.getPassword());
+            return transport;
+        }
+
+        private void closeIfIdle() {
+            if (transport != null && System.currentTimeMillis() - lastUsedAt > TRANSPORT_IDLE_MS) {
+                closeTransport();
+            }
+        }
+
+        private void closeTransport() {
+            if (transport != null) {
+                try {
+                    transport.close();
+                } catch (MessagingException e) {
+                    System.err.println("Failed to close SMTP transport: " + e.getMessage());
+                }
+                transport = null;
+            }
+        }
+
+        private void awaitWork() {
+            synchronized (signal) {
+                try {
+                    signal.wait(POLL_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+            }
+        }
+    }
+}
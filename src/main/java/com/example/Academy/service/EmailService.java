@@ -1,15 +1,19 @@
 package com.example.Academy.service;
 
+import com.example.Academy.entity.EmailOutbox;
+import com.example.Academy.entity.EmailOutboxBlob;
 import com.example.Academy.entity.StakeholderEffort;
 import com.example.Academy.entity.User;
 import com.example.Academy.entity.WeeklySummary;
-import com.example.Academy.service.UserService;
+import com.example.Academy.repository.EmailOutboxRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -57,7 +61,13 @@ public class EmailService {
     @Autowired
     private UserService userService;
 
-    @Async
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private EmailOutboxDispatcher outboxDispatcher;
+
+    @Transactional
     public void sendDailyEffortNotification(StakeholderEffort effort) {
         List<User> recipients = new java.util.ArrayList<>(userService.getUsersByRole(User.Role.ADMIN));
 
@@ -67,7 +77,7 @@ public class EmailService {
         sendEmail(recipients, subject, body);
     }
 
-    @Async
+    @Transactional
     public void sendWeeklySummaryNotification(WeeklySummary summary) {
         List<User> recipients = new java.util.ArrayList<>(userService.getUsersByRole(User.Role.ADMIN));
 
@@ -78,16 +88,35 @@ public class EmailService {
     }
 
     private void sendEmail(List<User> recipients, String subject, String body) {
-        try {
-            for (User recipient : recipients) {
-                SimpleMailMessage message = new SimpleMailMessage();
-                message.setTo(recipient.getEmail());
-                message.setSubject(subject);
-                message.setText(body);
-                mailSender.send(message);
+        List<EmailOutbox> emails = new java.util.ArrayList<>();
+        for (User recipient : recipients) {
+            if (recipient.getEmail() != null && !recipient.getEmail().isEmpty()) {
+                emails.add(new EmailOutbox(recipient.getEmail(), subject, body, false));
             }
-        } catch (org.springframework.mail.MailException e) {
-            System.err.println("Failed to send email notification: " + e.getMessage());
+        }
+        enqueue(emails);
+    }
+
+    /**
+     * Queues messages in the outbox. When called inside a transaction the
+     * dispatcher is only woken after commit, so a rolled-back change never
+     * sends mail.
+     */
+    private void enqueue(List<EmailOutbox> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        outboxRepository.saveAll(emails);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outboxDispatcher.wake();
+                }
+            });
+        } else {
+            outboxDispatcher.wake();
         }
     }
 
@@ -149,62 +178,50 @@ public class EmailService {
         // OR better: keep logic here.
     }
 
-    @Async
+    @Transactional
     public void sendHtmlEmail(String to, String subject, String htmlBody) {
-        try {
-            jakarta.mail.internet.MimeMessage message = mailSender.createMimeMessage();
-            org.springframework.mail.javamail.MimeMessageHelper helper = new org.springframework.mail.javamail.MimeMessageHelper(
-                    message, true, "UTF-8");
-
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlBody, true);
-
-            mailSender.send(message);
-        } catch (Exception e) {
-            System.err.println("Failed to send HTML email to " + to + ": " + e.getMessage());
-        }
+        enqueue(List.of(new EmailOutbox(to, subject, htmlBody, true)));
     }
 
-    @Async
+    /**
+     * Queues one personalised HTML message per recipient in a single transaction.
+     */
+    @Transactional
+    public int sendHtmlEmails(java.util.Map<String, String> bodiesByRecipient, String subject) {
+        List<EmailOutbox> emails = new java.util.ArrayList<>();
+        bodiesByRecipient.forEach((to, body) -> emails.add(new EmailOutbox(to, subject, body, true)));
+        enqueue(emails);
+        return emails.size();
+    }
+
+    @Transactional
     public void sendEmailWithAttachments(String to, String subject, String body,
             java.util.Map<String, byte[]> attachments) {
-        try {
-            jakarta.mail.internet.MimeMessage message = mailSender.createMimeMessage();
-            org.springframework.mail.javamail.MimeMessageHelper helper = new org.springframework.mail.javamail.MimeMessageHelper(
-                    message, true);
-
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(body);
-
-            for (java.util.Map.Entry<String, byte[]> entry : attachments.entrySet()) {
-                helper.addAttachment(entry.getKey(),
-                        new org.springframework.core.io.ByteArrayResource(entry.getValue()));
-            }
+        sendEmailWithAttachments(List.of(to), subject, body, attachments);
+    }
 
-            mailSender.send(message);
-        } catch (Exception e) {
-            System.err.println("Failed to send email with multiple attachments to " + to + ": " + e.getMessage());
+    @Transactional
+    public int sendEmailWithAttachments(java.util.Collection<String> recipients, String subject, String body,
+            java.util.Map<String, byte[]> attachments) {
+        // Each attachment is stored once and shared by every recipient's message
+        java.util.Map<String, EmailOutboxBlob> blobs = new java.util.LinkedHashMap<>();
+        attachments.forEach((filename, data) -> blobs.put(filename, new EmailOutboxBlob(data)));
+
+        List<EmailOutbox> emails = new java.util.ArrayList<>();
+        for (String to : recipients) {
+            EmailOutbox email = new EmailOutbox(to, subject, body, false);
+            blobs.forEach(email::addAttachment);
+            emails.add(email);
         }
+        enqueue(emails);
+        return emails.size();
     }
 
-    @Async
+    @Transactional
     public void sendEmailWithAttachment(String to, String subject, String body, String filename,
             byte[] attachmentData) {
-        try {
-            jakarta.mail.internet.MimeMessage message = mailSender.createMimeMessage();
-            org.springframework.mail.javamail.MimeMessageHelper helper = new org.springframework.mail.javamail.MimeMessageHelper(
-                    message, true);
-
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(body);
-            helper.addAttachment(filename, new org.springframework.core.io.ByteArrayResource(attachmentData));
-
-            mailSender.send(message);
-        } catch (Exception e) {
-            System.err.println("Failed to send email attachment to " + to + ": " + e.getMessage());
-        }
+        EmailOutbox email = new EmailOutbox(to, subject, body, false);
+        email.addAttachment(filename, attachmentData);
+        enqueue(List.of(email));
     }
-}
\ No newline at end of file
+}
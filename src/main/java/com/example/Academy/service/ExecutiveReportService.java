@@ -8,31 +8,58 @@ import com.example.Academy.entity.Mentor;
 import com.example.Academy.entity.StakeholderEffort;
 import com.example.Academy.entity.WeeklySummary;
 import com.example.Academy.repository.CohortRepository;
+import com.example.Academy.repository.DailyEffortRollupRepository;
 import com.example.Academy.repository.MentorRepository;
 import com.example.Academy.repository.StakeholderEffortRepository;
 import com.example.Academy.repository.TrainerRepository;
 import com.example.Academy.repository.WeeklySummaryRepository;
 import com.example.Academy.repository.CohortTrainerMappingRepository;
 import com.example.Academy.repository.CohortMentorMappingRepository;
-import com.example.Academy.entity.CohortTrainerMapping;
-import com.example.Academy.entity.CohortMentorMapping;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.example.Academy.util.ExcelExecutiveReportGenerator;
 import com.example.Academy.util.PdfExecutiveReportGenerator;
 import com.lowagie.text.DocumentException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 
 @Service
 public class ExecutiveReportService {
 
+        // Efforts read per keyset page by the streaming global export
+        private static final int EXPORT_CHUNK_SIZE = 1000;
+
+        // Chunks a cohort worker may build ahead of the sheet writer before it waits
+        private static final int EXPORT_LOOKAHEAD_CHUNKS = 2;
+
+        @Value("${report.export.threads:4}")
+        private int exportThreads;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
         @Autowired
         private CohortRepository cohortRepository;
 
@@ -42,6 +69,9 @@ public class ExecutiveReportService {
         @Autowired
         private WeeklySummaryRepository summaryRepository;
 
+        @Autowired
+        private DailyEffortRollupRepository rollupRepository;
+
         @Autowired
         private TrainerRepository trainerRepository;
 
@@ -54,6 +84,24 @@ public class ExecutiveReportService {
         @Autowired
         private CohortMentorMappingRepository mentorMappingRepository;
 
+        private ThreadPoolExecutor exportPool;
+
+        @PostConstruct
+        void init() {
+                AtomicInteger index = new AtomicInteger();
+                exportPool = new ThreadPoolExecutor(exportThreads, exportThreads, 0L, TimeUnit.MILLISECONDS,
+                                new LinkedBlockingQueue<>(), r -> {
+                                        Thread t = new Thread(r, "report-export-" + index.incrementAndGet());
+                                        t.setDaemon(true);
+                                        return t;
+                                });
+        }
+
+        @PreDestroy
+        void shutdown() {
+                exportPool.shutdownNow();
+        }
+
         @Transactional(readOnly = true)
         public byte[] generateReport(Long cohortId, LocalDate startDate, LocalDate endDate, String format)
                         throws IOException, DocumentException {
@@ -68,38 +116,26 @@ public class ExecutiveReportService {
                 }
         }
 
+        @Transactional(readOnly = true)
         public ExecutiveReportData getReportData(Long cohortId, LocalDate startDate, LocalDate endDate) {
                 Cohort cohort = cohortRepository.findById(cohortId)
                                 .orElseThrow(() -> new RuntimeException("Cohort not found"));
 
-                List<StakeholderEffort> efforts = effortRepository.findByCohortIdAndEffortDateBetween(cohortId,
-                                startDate,
-                                endDate);
-
-                // Calculate Totals
-                BigDecimal totalHours = efforts.stream()
-                                .map(StakeholderEffort::getEffortHours)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal techHours = efforts.stream()
-                                .filter(e -> e.getRole() == StakeholderEffort.Role.TRAINER)
-                                .map(StakeholderEffort::getEffortHours)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal behavioralHours = efforts.stream()
-                                .filter(e -> e.getRole() == StakeholderEffort.Role.BH_TRAINER)
-                                .map(StakeholderEffort::getEffortHours)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                List<StakeholderEffort> efforts = effortRepository.findWithDetailsByCohortIdAndEffortDateBetween(
+                                cohortId, startDate, endDate);
 
-                BigDecimal mentorHours = efforts.stream()
-                                .filter(e -> e.getRole() == StakeholderEffort.Role.MENTOR)
-                                .map(StakeholderEffort::getEffortHours)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                // Role totals come from the pre-aggregated daily rollup
+                Map<StakeholderEffort.Role, BigDecimal> roleTotals = new EnumMap<>(StakeholderEffort.Role.class);
+                rollupRepository.sumHoursByRoleForCohortAndDateRange(cohortId, startDate, endDate)
+                                .forEach(t -> roleTotals.put(t.getRole(), t.getTotalHours()));
 
-                BigDecimal buddyMentorHours = efforts.stream()
-                                .filter(e -> e.getRole() == StakeholderEffort.Role.BUDDY_MENTOR)
-                                .map(StakeholderEffort::getEffortHours)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                BigDecimal techHours = roleTotals.getOrDefault(StakeholderEffort.Role.TRAINER, BigDecimal.ZERO);
+                BigDecimal behavioralHours = roleTotals.getOrDefault(StakeholderEffort.Role.BH_TRAINER,
+                                BigDecimal.ZERO);
+                BigDecimal mentorHours = roleTotals.getOrDefault(StakeholderEffort.Role.MENTOR, BigDecimal.ZERO);
+                BigDecimal buddyMentorHours = roleTotals.getOrDefault(StakeholderEffort.Role.BUDDY_MENTOR,
+                                BigDecimal.ZERO);
+                BigDecimal totalHours = techHours.add(behavioralHours).add(mentorHours).add(buddyMentorHours);
 
                 // Prep Daily Logs
                 Map<LocalDate, ExecutiveReportData.DailyReportLog.DailyReportLogBuilder> logMap = new HashMap<>();
@@ -116,17 +152,25 @@ public class ExecutiveReportService {
                                         .notes(""));
                 });
 
-                // Group efforts by date
+                // Daily hours per role from the rollup
+                rollupRepository.findByCohortIdAndEffortDateBetween(cohortId, startDate, endDate).forEach(r -> {
+                        ExecutiveReportData.DailyReportLog.DailyReportLogBuilder builder = logMap
+                                        .get(r.getEffortDate());
+                        if (builder != null) {
+                                switch (r.getRole()) {
+                                        case TRAINER -> builder.techHours(r.getTotalHours());
+                                        case BH_TRAINER -> builder.behavioralHours(r.getTotalHours());
+                                        case MENTOR -> builder.mentorHours(r.getTotalHours());
+                                        case BUDDY_MENTOR -> builder.buddyMentorHours(r.getTotalHours());
+                                }
+                        }
+                });
+
+                // Notes still come from the raw efforts
                 efforts.forEach(e -> {
                         ExecutiveReportData.DailyReportLog.DailyReportLogBuilder builder = logMap
                                         .get(e.getEffortDate());
                         if (builder != null) {
-                                switch (e.getRole()) {
-                                        case TRAINER -> builder.techHours(e.getEffortHours());
-                                        case BH_TRAINER -> builder.behavioralHours(e.getEffortHours());
-                                        case MENTOR -> builder.mentorHours(e.getEffortHours());
-                                        case BUDDY_MENTOR -> builder.buddyMentorHours(e.getEffortHours());
-                                }
                                 if (e.getAreaOfWork() != null && !e.getAreaOfWork().isEmpty()) {
                                         // Simple concatenation of notes if multiple roles log on same day
                                         // For reports, we might just want to show principal activity
@@ -155,31 +199,11 @@ public class ExecutiveReportService {
                                 .sorted(Comparator.comparing(ExecutiveReportData.DailyReportLog::getDate))
                                 .collect(Collectors.toList());
 
+                ReportResolverContext resolver = newResolverContext();
+                resolver.prepare(efforts);
+
                 List<ExecutiveReportData.DetailedEffortLog> detailedLogs = efforts.stream()
-                                .map(e -> ExecutiveReportData.DetailedEffortLog.builder()
-                                                .cohortCode(cohort.getCode())
-                                                .bu(cohort.getBu())
-                                                .skill(cohort.getSkill())
-                                                .activeGencCount(cohort.getActiveGencCount())
-                                                .trainingLocation(cohort.getTrainingLocation())
-                                                .mapped(resolveMappedType(e, cohort))
-                                                .mentorId(resolveStakeholderId(e, cohort))
-                                                .mentorName(resolveStakeholderName(e, cohort))
-                                                .role(resolveRoleName(e))
-                                                .mode(e.getMode() == StakeholderEffort.Mode.VIRTUAL ? "Virtual"
-                                                                : "In-Person")
-                                                .reasonVirtual(e.getMode() == StakeholderEffort.Mode.VIRTUAL
-                                                                ? (e.getReasonVirtual() != null ? e.getReasonVirtual()
-                                                                                : "N/A")
-                                                                : "")
-                                                .areaOfVisit(e.getAreaOfWork())
-                                                .effortHours(e.getEffortHours())
-                                                .date(e.getEffortDate())
-                                                .month(e.getEffortMonth())
-                                                .updatedBy(e.getUpdatedBy() != null ? e.getUpdatedBy().getName()
-                                                                : "N/A")
-                                                .updatedDate(e.getUpdatedDate())
-                                                .build())
+                                .map(e -> mapToDetailedLog(cohort, e, resolver))
                                 .sorted(Comparator.comparing(ExecutiveReportData.DetailedEffortLog::getDate))
                                 .collect(Collectors.toList());
 
@@ -204,47 +228,172 @@ public class ExecutiveReportService {
                                 .build();
         }
 
-        @Transactional(readOnly = true)
-        public byte[] generateGlobalReport(int month, int year) throws IOException {
-                LocalDate startDate = LocalDate.of(year, month, 1);
-                LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-                return generateGlobalReportByRange(startDate, endDate);
+        /**
+         * Global effort export, partitioned by cohort. Each cohort's efforts are read
+         * in keyset-paginated chunks on the report.export.threads pool, one short
+         * read-only transaction per chunk and one resolver context per cohort, while
+         * the calling thread appends the cohorts to a single windowed SXSSF sheet in
+         * cohort code order. A worker builds at most EXPORT_LOOKAHEAD_CHUNKS chunks
+         * ahead of the writer, so heap use stays flat regardless of the size of the
+         * range.
+         */
+        public void streamGlobalReportByRange(LocalDate startDate, LocalDate endDate, OutputStream out)
+                        throws IOException {
+                streamGlobalReportByRange(startDate, endDate, out, rows -> {
+                });
         }
 
-        @Transactional(readOnly = true)
-        public byte[] generateGlobalReportByRange(LocalDate startDate, LocalDate endDate) throws IOException {
-                List<StakeholderEffort> allEfforts = effortRepository.findByEffortDateBetween(startDate, endDate);
-                List<ExecutiveReportData.DetailedEffortLog> detailedLogs = new ArrayList<>();
+        /**
+         * As {@link #streamGlobalReportByRange(LocalDate, LocalDate, OutputStream)},
+         * reporting the number of rows written so far after each chunk.
+         */
+        public void streamGlobalReportByRange(LocalDate startDate, LocalDate endDate, OutputStream out,
+                        LongConsumer progress) throws IOException {
+                long startedAt = System.currentTimeMillis();
+                AtomicInteger lookupQueries = new AtomicInteger();
+                List<CohortExport> cohorts = new ArrayList<>();
+
+                try (ExcelExecutiveReportGenerator.StreamingSheetWriter writer = ExcelExecutiveReportGenerator
+                                .openStreamingWriter()) {
+                        // Submitted in write order; the pool starts tasks in order, so the cohort
+                        // being written always has a running worker
+                        for (Object[] row : effortRepository.findExportCohorts(startDate, endDate)) {
+                                Long cohortId = (Long) row[0];
+                                CohortExport cohort = new CohortExport();
+                                cohort.future = exportPool.submit(() -> {
+                                        exportCohort(cohortId, startDate, endDate, cohort.chunks, lookupQueries);
+                                        return null;
+                                });
+                                cohorts.add(cohort);
+                        }
 
-                List<StakeholderEffort> validEfforts = allEfforts.stream()
-                                .filter(e -> e.getTrainerMentor() != null)
-                                .collect(Collectors.toList());
+                        for (CohortExport cohort : cohorts) {
+                                List<ExecutiveReportData.DetailedEffortLog> rows = cohort.take();
+                                while (!rows.isEmpty()) {
+                                        for (ExecutiveReportData.DetailedEffortLog log : rows) {
+                                                writer.writeRow(log);
+                                        }
+                                        progress.accept(writer.getRowCount());
+                                        rows = cohort.take();
+                                }
+                                cohort.await();
+                        }
 
-                for (StakeholderEffort effort : validEfforts) {
-                        detailedLogs.add(mapToDetailedLog(effort.getCohort(), effort));
+                        writer.writeTo(out);
+                        System.out.println("Streamed " + writer.getRowCount() + " global export rows across "
+                                        + cohorts.size() + " cohorts on " + exportThreads + " threads with "
+                                        + lookupQueries.get() + " lookup queries in "
+                                        + (System.currentTimeMillis() - startedAt) + " ms");
+                } finally {
+                        // Stops the remaining workers if the export failed or the client went away
+                        cohorts.forEach(cohort -> cohort.future.cancel(true));
                 }
+        }
 
-                detailedLogs.sort(Comparator.comparing(ExecutiveReportData.DetailedEffortLog::getCohortCode)
-                                .thenComparing(ExecutiveReportData.DetailedEffortLog::getDate));
+        /**
+         * Builds one cohort's export rows chunk by chunk into the given queue and
+         * always ends with an empty chunk, also on failure, so the writer never waits
+         * for rows that will not come.
+         */
+        private void exportCohort(Long cohortId, LocalDate startDate, LocalDate endDate,
+                        BlockingQueue<List<ExecutiveReportData.DetailedEffortLog>> chunks, AtomicInteger lookupQueries)
+                        throws InterruptedException {
+                TransactionTemplate tx = new TransactionTemplate(transactionManager);
+                tx.setReadOnly(true);
+                ReportResolverContext resolver = newResolverContext();
+                PageRequest page = PageRequest.of(0, EXPORT_CHUNK_SIZE);
+
+                try {
+                        StakeholderEffort last = null;
+                        while (true) {
+                                StakeholderEffort after = last;
+                                List<ExecutiveReportData.DetailedEffortLog> rows = new ArrayList<>(EXPORT_CHUNK_SIZE);
+                                last = tx.execute(status -> {
+                                        List<StakeholderEffort> chunk = after == null
+                                                        ? effortRepository.findExportChunk(cohortId, startDate, endDate,
+                                                                        page)
+                                                        : effortRepository.findExportChunkAfter(cohortId, startDate,
+                                                                        endDate, after.getEffortDate(), after.getId(), page);
+                                        resolver.prepare(chunk);
+                                        for (StakeholderEffort effort : chunk) {
+                                                rows.add(mapToDetailedLog(effort.getCohort(), effort, resolver));
+                                        }
+                                        return chunk.isEmpty() ? null : chunk.get(chunk.size() - 1);
+                                });
+
+                                if (!rows.isEmpty()) {
+                                        chunks.put(rows);
+                                }
+                                if (rows.size() < EXPORT_CHUNK_SIZE) {
+                                        break;
+                                }
+                        }
+                } finally {
+                        lookupQueries.addAndGet(resolver.getQueryCount());
+                        chunks.put(List.of());
+                }
+        }
 
-                ExecutiveReportData data = ExecutiveReportData.builder()
-                                .detailedLogs(detailedLogs)
-                                .build();
+        /**
+         * One cohort's share of a global export: the chunks its worker has built and
+         * not yet written, and the worker itself.
+         */
+        private static class CohortExport {
+                private final BlockingQueue<List<ExecutiveReportData.DetailedEffortLog>> chunks =
+                                new ArrayBlockingQueue<>(EXPORT_LOOKAHEAD_CHUNKS);
+                private Future<?> future;
+
+                List<ExecutiveReportData.DetailedEffortLog> take() {
+                        try {
+                                return chunks.take();
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new RuntimeException("Global export interrupted", e);
+                        }
+                }
 
-                return ExcelExecutiveReportGenerator.generate(data);
+                // Rethrows the worker's failure, if any, once its rows are drained
+                void await() {
+                        try {
+                                future.get();
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new RuntimeException("Global export interrupted", e);
+                        } catch (ExecutionException e) {
+                                if (e.getCause() instanceof RuntimeException runtime) {
+                                        throw runtime;
+                                }
+                                if (e.getCause() instanceof Error error) {
+                                        throw error;
+                                }
+                                throw new RuntimeException("Global export failed: " + e.getCause().getMessage(),
+                                                e.getCause());
+                        }
+                }
+        }
+
+        @Transactional(readOnly = true)
+        public long countGlobalReportRows(LocalDate startDate, LocalDate endDate) {
+                return effortRepository.countExportRows(startDate, endDate);
         }
 
-        private ExecutiveReportData.DetailedEffortLog mapToDetailedLog(Cohort cohort, StakeholderEffort e) {
+        private ReportResolverContext newResolverContext() {
+                return new ReportResolverContext(trainerMappingRepository, mentorMappingRepository, trainerRepository,
+                                mentorRepository);
+        }
+
+        private ExecutiveReportData.DetailedEffortLog mapToDetailedLog(Cohort cohort, StakeholderEffort e,
+                        ReportResolverContext resolver) {
                 return ExecutiveReportData.DetailedEffortLog.builder()
                                 .cohortCode(cohort.getCode())
                                 .bu(cohort.getBu())
                                 .skill(cohort.getSkill())
                                 .activeGencCount(cohort.getActiveGencCount())
                                 .trainingLocation(cohort.getTrainingLocation())
-                                .mapped(resolveMappedType(e, cohort))
-                                .mentorId(resolveStakeholderId(e, cohort))
-                                .mentorName(resolveStakeholderName(e, cohort))
-                                .role(resolveRoleName(e))
+                                .mapped(resolver.resolveMappedType(e))
+                                .mentorId(resolver.resolveStakeholderId(e))
+                                .mentorName(resolver.resolveStakeholderName(e))
+                                .role(resolver.resolveRoleName(e))
                                 .mode(e.getMode() == StakeholderEffort.Mode.VIRTUAL ? "Virtual" : "In-Person")
                                 .reasonVirtual(e.getMode() == StakeholderEffort.Mode.VIRTUAL
                                                 ? (e.getReasonVirtual() != null ? e.getReasonVirtual() : "N/A")
@@ -328,140 +477,4 @@ public class ExecutiveReportService {
                                 .updatedBy("System")
                                 .build();
         }
-
-        private String resolveRoleName(StakeholderEffort e) {
-                if (e.getTrainerMentor() == null) {
-                        return switch (e.getRole()) {
-                                case TRAINER -> "SME";
-                                case MENTOR -> "Mentor";
-                                case BUDDY_MENTOR -> "Buddy Mentor";
-                                case BH_TRAINER -> "MFRP Contributor";
-                        };
-                }
-
-                String empId = e.getTrainerMentor().getEmpId();
-
-                if (e.getRole() == StakeholderEffort.Role.TRAINER) {
-                        return trainerRepository.findByEmpId(empId)
-                                        .map(t -> t.getTrainerType() != null ? capitalize(t.getTrainerType().name())
-                                                        : "SME")
-                                        .orElse("SME");
-                }
-
-                if (e.getRole() == StakeholderEffort.Role.MENTOR) {
-                        return mentorRepository.findByEmpId(empId)
-                                        .map(m -> m.getMentorType() != null ? capitalize(m.getMentorType().name())
-                                                        : "Mentor")
-                                        .orElse("Mentor");
-                }
-
-                return switch (e.getRole()) {
-                        case TRAINER -> "SME";
-                        case MENTOR -> "Mentor";
-                        case BUDDY_MENTOR -> "Buddy Mentor";
-                        case BH_TRAINER -> "MFRP Contributor";
-                };
-        }
-
-        private String capitalize(String str) {
-                if (str == null || str.isEmpty())
-                        return str;
-                return str.substring(0, 1).toUpperCase() + str.substring(1).toLowerCase();
-        }
-
-        private String resolveMappedType(StakeholderEffort e, Cohort cohort) {
-                // Try mapping first
-                if (e.getRole() == StakeholderEffort.Role.TRAINER || e.getRole() == StakeholderEffort.Role.BH_TRAINER) {
-                        return trainerMappingRepository.findByCohortId(cohort.getId()).stream()
-                                        .filter(m -> m.getRole().name().equals(e.getRole().name())
-                                                        || (e.getRole() == StakeholderEffort.Role.TRAINER
-                                                                        && m.getRole() == CohortTrainerMapping.Role.TRAINER)
-                                                        || (e.getRole() == StakeholderEffort.Role.BH_TRAINER
-                                                                        && m.getRole() == CohortTrainerMapping.Role.BH_TRAINER))
-                                        .findFirst()
-                                        .map(m -> m.getTrainer().isInternal() ? "INTERNAL" : "EXTERNAL")
-                                        .orElse(e.getTrainerMentor() != null
-                                                        ? e.getTrainerMentor().getEmployeeType().name()
-                                                        : "N/A");
-                }
-                if (e.getRole() == StakeholderEffort.Role.MENTOR
-                                || e.getRole() == StakeholderEffort.Role.BUDDY_MENTOR) {
-                        return mentorMappingRepository.findByCohortId(cohort.getId()).stream()
-                                        .filter(m -> m.getRole().name().equals(e.getRole().name())
-                                                        || (e.getRole() == StakeholderEffort.Role.MENTOR
-                                                                        && m.getRole() == CohortMentorMapping.Role.MENTOR)
-                                                        || (e.getRole() == StakeholderEffort.Role.BUDDY_MENTOR
-                                                                        && m.getRole() == CohortMentorMapping.Role.BUDDY_MENTOR))
-                                        .findFirst()
-                                        .map(m -> m.getMentor().isInternal() ? "INTERNAL" : "EXTERNAL")
-                                        .orElse(e.getTrainerMentor() != null
-                                                        ? e.getTrainerMentor().getEmployeeType().name()
-                                                        : "N/A");
-                }
-                return e.getTrainerMentor() != null ? e.getTrainerMentor().getEmployeeType().name() : "N/A";
-        }
-
-        private String resolveStakeholderId(StakeholderEffort e, Cohort cohort) {
-                if (e.getRole() == StakeholderEffort.Role.TRAINER || e.getRole() == StakeholderEffort.Role.BH_TRAINER) {
-                        Optional<String> id = trainerMappingRepository.findByCohortId(cohort.getId()).stream()
-                                        .filter(m -> m.getRole().name().equals(e.getRole().name()))
-                                        .findFirst()
-                                        .map(m -> m.getTrainer().getEmpId());
-                        if (id.isPresent())
-                                return id.get();
-                }
-                if (e.getRole() == StakeholderEffort.Role.MENTOR
-                                || e.getRole() == StakeholderEffort.Role.BUDDY_MENTOR) {
-                        Optional<String> id = mentorMappingRepository.findByCohortId(cohort.getId()).stream()
-                                        .filter(m -> m.getRole().name().equals(e.getRole().name()))
-                                        .findFirst()
-                                        .map(m -> m.getMentor().getEmpId());
-                        if (id.isPresent())
-                                return id.get();
-                }
-
-                if (e.getTrainerMentor() != null) {
-                        String empId = e.getTrainerMentor().getEmpId();
-                        if ("2457131".equals(empId) || "2457".equals(empId) || "coach2001".equals(empId)) {
-                                if (e.getUpdatedBy() != null)
-                                        return e.getUpdatedBy().getEmpId();
-                        }
-                        return e.getTrainerMentor().getEmpId();
-                }
-
-                return "N/A";
-        }
-
-        private String resolveStakeholderName(StakeholderEffort e, Cohort cohort) {
-                // 1. Primary Source: Cohort Mappings (What's in the Dashboard)
-                if (e.getRole() == StakeholderEffort.Role.TRAINER || e.getRole() == StakeholderEffort.Role.BH_TRAINER) {
-                        Optional<String> name = trainerMappingRepository.findByCohortId(cohort.getId()).stream()
-                                        .filter(m -> m.getRole().name().equals(e.getRole().name()))
-                                        .findFirst()
-                                        .map(m -> m.getTrainer().getName());
-                        if (name.isPresent())
-                                return name.get();
-                }
-                if (e.getRole() == StakeholderEffort.Role.MENTOR
-                                || e.getRole() == StakeholderEffort.Role.BUDDY_MENTOR) {
-                        Optional<String> name = mentorMappingRepository.findByCohortId(cohort.getId()).stream()
-                                        .filter(m -> m.getRole().name().equals(e.getRole().name()))
-                                        .findFirst()
-                                        .map(m -> m.getMentor().getName());
-                        if (name.isPresent())
-                                return name.get();
-                }
-
-                // 2. Secondary Source: Actual Log Creator (If trainer_mentor is a system dummy)
-                if (e.getTrainerMentor() != null) {
-                        String empId = e.getTrainerMentor().getEmpId();
-                        if ("2457131".equals(empId) || "2457".equals(empId) || "coach2001".equals(empId)) {
-                                if (e.getUpdatedBy() != null)
-                                        return e.getUpdatedBy().getName();
-                        }
-                        return e.getTrainerMentor().getName();
-                }
-
-                return "N/A";
-        }
 }
@@ -3,7 +3,9 @@ package com.example.Academy.service;
 import com.example.Academy.dto.feedback.FeedbackRequestCreateDTO;
 import com.example.Academy.dto.feedback.FeedbackSubmissionDTO;
 import com.example.Academy.dto.feedback.FeedbackAnalyticsResponseDTO;
+import com.example.Academy.dto.feedback.FeedbackScoreCount;
 import com.example.Academy.dto.feedback.FeedbackSessionDTO;
+import com.example.Academy.dto.feedback.FeedbackWeekTotals;
 import com.example.Academy.entity.Cohort;
 import com.example.Academy.entity.Feedback;
 import com.example.Academy.entity.FeedbackRequest;
@@ -11,32 +13,43 @@ import com.example.Academy.entity.CohortTrainerMapping;
 import com.example.Academy.entity.CohortMentorMapping;
 import com.example.Academy.entity.WeeklySummary;
 import com.example.Academy.repository.CohortRepository;
+import com.example.Academy.repository.FeedbackBatchRepository;
 import com.example.Academy.repository.FeedbackRepository;
 import com.example.Academy.repository.FeedbackRequestRepository;
 import com.example.Academy.repository.WeeklySummaryRepository;
 import com.example.Academy.repository.CohortTrainerMappingRepository;
 import com.example.Academy.repository.CohortMentorMappingRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
 public class FeedbackService {
 
+    // Number of ratings averaged into the technical trainer score
+    private static final int TECHNICAL_RATING_COUNT = 6;
+
     private final FeedbackRepository feedbackRepository;
     private final FeedbackRequestRepository requestRepository;
     private final CohortRepository cohortRepository;
     private final WeeklySummaryRepository weeklySummaryRepository;
     private final CohortTrainerMappingRepository trainerMappingRepository;
     private final CohortMentorMappingRepository mentorMappingRepository;
+    private final FeedbackSessionCache feedbackSessionCache;
+    private final FeedbackWriteBehindBuffer writeBehindBuffer;
 
     @Transactional
     public FeedbackRequest createFeedbackRequest(FeedbackRequestCreateDTO dto) {
@@ -63,12 +76,64 @@ public class FeedbackService {
                 .orElseThrow(() -> new RuntimeException("Request not found"));
         request.setActive(false);
         requestRepository.save(request);
+        feedbackSessionCache.evictCohort(request.getCohort().getId());
     }
 
-    @Transactional
+    /**
+     * Validates the submission against the cached session and inserts it. A
+     * duplicate Employee ID for the same request is detected by the
+     * uk_feedback_request_employee constraint rather than a prior lookup; the
+     * insert runs in the repository's own transaction. Other integrity
+     * violations are rethrown unchanged.
+     */
     public Feedback submitFeedback(FeedbackSubmissionDTO dto) {
-        FeedbackRequest request = requestRepository.findByToken(dto.getToken())
-                .orElseThrow(() -> new RuntimeException("Invalid feedback token"));
+        Feedback feedback = toFeedback(validRequest(dto.getToken()), dto);
+        try {
+            return feedbackRepository.saveAndFlush(feedback);
+        } catch (DataIntegrityViolationException e) {
+            if (FeedbackBatchRepository.isDuplicateSubmission(e)) {
+                throw new RuntimeException("Feedback already submitted for this Employee ID");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Write-behind variant of {@link #submitFeedback}: queues the validated
+     * submission for the next batch flush and returns null. A submission already
+     * stored is rejected here, with one lookup on the unique key, rather than
+     * acknowledged and dropped at flush time. Falls back to a direct insert when
+     * write-behind is disabled or its queue is full.
+     */
+    public Feedback acceptFeedback(FeedbackSubmissionDTO dto) {
+        if (writeBehindBuffer.isEnabled()) {
+            Feedback feedback = toFeedback(validRequest(dto.getToken()), dto);
+            if (feedback.getEmployeeId() != null && feedbackRepository
+                    .existsByFeedbackRequestIdAndEmployeeId(feedback.getFeedbackRequest().getId(),
+                            feedback.getEmployeeId())) {
+                throw new RuntimeException("Feedback already submitted for this Employee ID");
+            }
+            if (writeBehindBuffer.offer(feedback)) {
+                return null;
+            }
+        }
+        return submitFeedback(dto);
+    }
+
+    public Map<String, Object> getWriteBehindStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", writeBehindBuffer.isEnabled());
+        stats.putAll(writeBehindBuffer.getStats());
+        return stats;
+    }
+
+    private FeedbackRequest validRequest(String token) {
+        FeedbackRequest request;
+        try {
+            request = getRequestByToken(token).getRequest();
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid feedback token");
+        }
 
         if (!request.getActive()) {
             throw new RuntimeException("This feedback link has been deactivated");
@@ -77,11 +142,10 @@ public class FeedbackService {
         if (request.getExpiresAt() != null && request.getExpiresAt().isBefore(LocalDateTime.now())) {
             throw new RuntimeException("This feedback link has expired");
         }
+        return request;
+    }
 
-        if (feedbackRepository.existsByFeedbackRequestIdAndEmployeeId(request.getId(), dto.getEmployeeId())) {
-            throw new RuntimeException("Feedback already submitted for this Employee ID");
-        }
-
+    private Feedback toFeedback(FeedbackRequest request, FeedbackSubmissionDTO dto) {
         Feedback feedback = new Feedback();
         feedback.setCohort(request.getCohort());
         feedback.setFeedbackRequest(request);
@@ -122,27 +186,36 @@ public class FeedbackService {
         feedback.setCandidateName(dto.getCandidateName());
         feedback.setEmployeeId(dto.getEmployeeId());
 
-        return feedbackRepository.save(feedback);
+        return feedback;
     }
 
     public List<Feedback> getFeedbackForCohort(Long cohortId) {
         return feedbackRepository.findByCohortId(cohortId);
     }
 
+    /**
+     * Public session for a feedback link. Sessions are assembled once per token
+     * and served from {@link FeedbackSessionCache} afterwards.
+     */
     public FeedbackSessionDTO getRequestByToken(String token) {
+        return feedbackSessionCache.get(token, this::loadSession);
+    }
+
+    private FeedbackSessionDTO loadSession(String token) {
         FeedbackRequest request = requestRepository.findByToken(token)
                 .orElseThrow(() -> new RuntimeException("Feedback session not found"));
 
         FeedbackSessionDTO sessionDto = new FeedbackSessionDTO();
         sessionDto.setRequest(request);
 
-        // Fetch effort info for the specific week
-        List<WeeklySummary> summaries = weeklySummaryRepository.findByCohortId(request.getCohort().getId());
-        // Sort by start date to find the n-th week
-        summaries.sort(Comparator.comparing(WeeklySummary::getWeekStartDate));
+        // Fetch effort info for the n-th week by start date
+        List<WeeklySummary> summaries = request.getWeekNumber() > 0
+                ? weeklySummaryRepository.findByCohortIdOrderByWeekStartDateAsc(request.getCohort().getId(),
+                        PageRequest.of(request.getWeekNumber() - 1, 1))
+                : List.of();
 
-        if (request.getWeekNumber() > 0 && request.getWeekNumber() <= summaries.size()) {
-            WeeklySummary weeklySummary = summaries.get(request.getWeekNumber() - 1);
+        if (!summaries.isEmpty()) {
+            WeeklySummary weeklySummary = summaries.get(0);
             sessionDto.setTrainerHours(weeklySummary.getTechnicalTrainerHours());
             sessionDto.setMentorHours(weeklySummary.getMentorHours());
             // Map behavioral trainer to coach hours as a fallback for visibility
@@ -158,8 +231,8 @@ public class FeedbackService {
 
         // Fetch Stakeholder Names from Mapping Tables (Real-time lookup)
         Long cohortId = request.getCohort().getId();
-        List<CohortTrainerMapping> trainerMappings = trainerMappingRepository.findByCohortId(cohortId);
-        List<CohortMentorMapping> mentorMappings = mentorMappingRepository.findByCohortId(cohortId);
+        List<CohortTrainerMapping> trainerMappings = trainerMappingRepository.findWithTrainerByCohortIdIn(List.of(cohortId));
+        List<CohortMentorMapping> mentorMappings = mentorMappingRepository.findWithMentorByCohortIdIn(List.of(cohortId));
 
         // Technical Trainer
         trainerMappings.stream()
@@ -193,30 +266,91 @@ public class FeedbackService {
         return sessionDto;
     }
 
+    /**
+     * Cohort and per-week feedback averages plus overall satisfaction
+     * distributions, computed with two GROUP BY queries. Raw responses are served
+     * separately by {@link #getCohortResponses}.
+     */
     @Transactional(readOnly = true)
     public Map<String, Object> getCohortAnalytics(Long cohortId) {
-        List<Feedback> feedbackList = feedbackRepository.findByCohortId(cohortId);
-
-        double avgTrainer = feedbackList.stream().filter(f -> f.getCourseContentRating() != null)
-                .mapToDouble(Feedback::getTechnicalAggregatedScore)
-                .average().orElse(0.0);
-        double avgMentor = feedbackList.stream().filter(f -> f.getMentorGuidanceRating() != null)
-                .mapToInt(Feedback::getMentorGuidanceRating)
-                .average().orElse(0.0);
-        double avgCoach = feedbackList.stream().filter(f -> f.getCoachEffectivenessRating() != null)
-                .mapToInt(Feedback::getCoachEffectivenessRating)
-                .average().orElse(0.0);
-        double avgOverall = feedbackList.stream()
-                .mapToInt(f -> f.getOverallSatisfaction() != null ? f.getOverallSatisfaction() : 0).average()
-                .orElse(0.0);
-
-        return Map.of(
-                "totalResponses", feedbackList.size(),
-                "averages", Map.of(
-                        "trainer", avgTrainer,
-                        "mentor", avgMentor,
-                        "coach", avgCoach,
-                        "overall", avgOverall),
-                "responses", feedbackList.stream().map(FeedbackAnalyticsResponseDTO::new).collect(Collectors.toList()));
+        List<FeedbackWeekTotals> weekTotals = feedbackRepository.sumScoresByWeek(cohortId);
+
+        Map<Integer, Map<Integer, Long>> distributionByWeek = new TreeMap<>();
+        Map<Integer, Long> cohortDistribution = new TreeMap<>();
+        for (FeedbackScoreCount row : feedbackRepository.countOverallScoresByWeek(cohortId)) {
+            distributionByWeek.computeIfAbsent(row.getWeekNumber(), k -> new TreeMap<>())
+                    .put(row.getScore(), row.getResponseCount());
+            cohortDistribution.merge(row.getScore(), row.getResponseCount(), Long::sum);
+        }
+
+        long totalResponses = 0;
+        double trainerSum = 0, mentorSum = 0, coachSum = 0, buddySum = 0, overallSum = 0;
+        long trainerCount = 0, mentorCount = 0, coachCount = 0, buddyCount = 0;
+        List<Map<String, Object>> weeks = new ArrayList<>();
+
+        for (FeedbackWeekTotals week : weekTotals) {
+            totalResponses += week.getResponseCount();
+            trainerSum += toDouble(week.getTrainerSum());
+            trainerCount += week.getTrainerCount();
+            mentorSum += toDouble(week.getMentorSum());
+            mentorCount += week.getMentorCount();
+            coachSum += toDouble(week.getCoachSum());
+            coachCount += week.getCoachCount();
+            buddySum += toDouble(week.getBuddySum());
+            buddyCount += week.getBuddyCount();
+            overallSum += toDouble(week.getOverallSum());
+
+            Map<String, Object> weekStats = new LinkedHashMap<>();
+            weekStats.put("weekNumber", week.getWeekNumber());
+            weekStats.put("totalResponses", week.getResponseCount());
+            weekStats.put("averages", averages(
+                    average(toDouble(week.getTrainerSum()) / TECHNICAL_RATING_COUNT, week.getTrainerCount()),
+                    average(toDouble(week.getMentorSum()), week.getMentorCount()),
+                    average(toDouble(week.getCoachSum()), week.getCoachCount()),
+                    average(toDouble(week.getBuddySum()), week.getBuddyCount()),
+                    average(toDouble(week.getOverallSum()), week.getResponseCount())));
+            weekStats.put("overallDistribution",
+                    distributionByWeek.getOrDefault(week.getWeekNumber(), Map.of()));
+            weeks.add(weekStats);
+        }
+
+        Map<String, Object> analytics = new LinkedHashMap<>();
+        analytics.put("totalResponses", totalResponses);
+        analytics.put("latestWeek", weekTotals.isEmpty() ? null : weekTotals.get(weekTotals.size() - 1).getWeekNumber());
+        analytics.put("averages", averages(
+                average(trainerSum / TECHNICAL_RATING_COUNT, trainerCount),
+                average(mentorSum, mentorCount),
+                average(coachSum, coachCount),
+                average(buddySum, buddyCount),
+                average(overallSum, totalResponses)));
+        analytics.put("overallDistribution", cohortDistribution);
+        analytics.put("weeks", weeks);
+        return analytics;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<FeedbackAnalyticsResponseDTO> getCohortResponses(Long cohortId, Integer weekNumber, Pageable pageable) {
+        Page<Feedback> page = weekNumber != null
+                ? feedbackRepository.findWithRequestByCohortIdAndWeekNumber(cohortId, weekNumber, pageable)
+                : feedbackRepository.findWithRequestByCohortId(cohortId, pageable);
+        return page.map(FeedbackAnalyticsResponseDTO::new);
+    }
+
+    private Map<String, Object> averages(double trainer, double mentor, double coach, double buddy, double overall) {
+        Map<String, Object> averages = new LinkedHashMap<>();
+        averages.put("trainer", trainer);
+        averages.put("mentor", mentor);
+        averages.put("coach", coach);
+        averages.put("buddy", buddy);
+        averages.put("overall", overall);
+        return averages;
+    }
+
+    private double average(double sum, long count) {
+        return count > 0 ? sum / count : 0.0;
+    }
+
+    private double toDouble(Number value) {
+        return value != null ? value.doubleValue() : 0.0;
     }
 }
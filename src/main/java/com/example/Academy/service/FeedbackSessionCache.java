@@ -0,0 +1,83 @@
+package com.example.Academy.service;
+
+import com.example.Academy.dto.feedback.FeedbackSessionDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of assembled public feedback sessions keyed by
+ * token, so a feedback link mailed to a whole cohort is resolved once rather
+ * than once per candidate. Entries are evicted per cohort when its mappings,
+ * weekly summaries or feedback requests change; the TTL bounds staleness for
+ * name changes made elsewhere.
+ */
+@Component
+public class FeedbackSessionCache {
+
+    @Value("${feedback.session-cache.ttl-ms:600000}")
+    private long ttlMs;
+
+    @Value("${feedback.session-cache.max-size:500}")
+    private int maxSize;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /**
+     * Returns the cached session or assembles and caches it. Sessions are shared
+     * between callers and must not be modified.
+     */
+    public FeedbackSessionDTO get(String token, Function<String, FeedbackSessionDTO> loader) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(token);
+            if (entry != null && entry.expiresAt > now) {
+                return entry.session;
+            }
+        }
+        FeedbackSessionDTO session = loader.apply(token);
+        synchronized (entries) {
+            entries.put(token, new Entry(session, session.getRequest().getCohort().getId(), now + ttlMs));
+        }
+        return session;
+    }
+
+    /**
+     * Drops every session of the cohort now and again once the current
+     * transaction completes, so a concurrent reader cannot re-cache the
+     * pre-commit state.
+     */
+    public void evictCohort(Long cohortId) {
+        if (cohortId == null) {
+            return;
+        }
+        removeCohort(cohortId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    removeCohort(cohortId);
+                }
+            });
+        }
+    }
+
+    private void removeCohort(Long cohortId) {
+        synchronized (entries) {
+            entries.values().removeIf(entry -> entry.cohortId.equals(cohortId));
+        }
+    }
+
+    private record Entry(FeedbackSessionDTO session, Long cohortId, long expiresAt) {
+    }
+}
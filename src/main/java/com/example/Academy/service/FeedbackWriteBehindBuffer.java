@@ -0,0 +1,214 @@
+package com.example.Academy.service;
+
+import com.example.Academy.entity.Feedback;
+import com.example.Academy.repository.FeedbackBatchRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional write-behind path for public feedback submissions, enabled with
+ * feedback.write-behind.enabled.
+ *
+ * Validated submissions are queued in memory and acknowledged immediately; a
+ * single flusher thread writes them in JDBC batches. Duplicates are rejected
+ * against the database and the queue on accept; one that races in between is
+ * skipped on flush. A row the database rejects for another reason is dropped
+ * and counted without holding back the rest of its batch. Queued rows are
+ * lost if the process dies before the next flush, which is the trade-off
+ * accepted for surviving a whole cohort submitting at once.
+ */
+@Service
+public class FeedbackWriteBehindBuffer {
+
+    @Autowired
+    private FeedbackBatchRepository feedbackBatchRepository;
+
+    @Value("${feedback.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${feedback.write-behind.batch-size:200}")
+    private int batchSize;
+
+    @Value("${feedback.write-behind.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${feedback.write-behind.max-pending:10000}")
+    private int maxPending;
+
+    private final List<Feedback> pending = new ArrayList<>();
+    private final Set<String> pendingKeys = new HashSet<>();
+    private volatile boolean running;
+    private Thread flusher;
+
+    private final AtomicLong acceptedTotal = new AtomicLong();
+    private final AtomicLong writtenTotal = new AtomicLong();
+    private final AtomicLong skippedTotal = new AtomicLong();
+    private final AtomicLong failedTotal = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "feedback-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+        System.out.println("Feedback write-behind: flushing every " + flushIntervalMs + " ms in batches of "
+                + batchSize + ".");
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            try {
+                flusher.join(10000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushAll();
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Queues the feedback for the next flush. Returns false when the queue is
+     * full so the caller can fall back to a direct insert.
+     */
+    public boolean offer(Feedback feedback) {
+        String key = key(feedback);
+        synchronized (pending) {
+            if (pending.size() >= maxPending) {
+                return false;
+            }
+            if (feedback.getEmployeeId() != null && !pendingKeys.add(key)) {
+                throw new RuntimeException("Feedback already submitted for this Employee ID");
+            }
+            pending.add(feedback);
+        }
+        acceptedTotal.incrementAndGet();
+        return true;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (pending) {
+            stats.put("pending", pending.size());
+        }
+        stats.put("acceptedTotal", acceptedTotal.get());
+        stats.put("writtenTotal", writtenTotal.get());
+        stats.put("skippedTotal", skippedTotal.get());
+        stats.put("failedTotal", failedTotal.get());
+        return stats;
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                Thread.sleep(flushIntervalMs);
+            } catch (InterruptedException e) {
+                break;
+            }
+            flushAll();
+        }
+    }
+
+    private void flushAll() {
+        List<Feedback> batch;
+        while (!(batch = takeBatch()).isEmpty()) {
+            try {
+                flush(batch);
+                release(batch);
+            } catch (Exception e) {
+                // Database unavailable: keep the rows queued and retry on the next tick
+                System.err.println("Feedback write-behind: flush of " + batch.size() + " rows failed: "
+                        + e.getMessage());
+                synchronized (pending) {
+                    pending.addAll(0, batch);
+                }
+                return;
+            }
+        }
+    }
+
+    private void flush(List<Feedback> batch) {
+        // Rows already stored (e.g. by a concurrent direct submit) are skipped up front
+        Set<String> existing = feedbackBatchRepository.findExistingKeys(batch);
+        List<Feedback> rows = new ArrayList<>(batch.size());
+        for (Feedback f : batch) {
+            if (f.getEmployeeId() == null || !existing.contains(key(f))) {
+                rows.add(f);
+            }
+        }
+        int skipped = batch.size() - rows.size();
+        int written = 0;
+
+        try {
+            feedbackBatchRepository.insertAll(rows);
+            written = rows.size();
+        } catch (DataIntegrityViolationException e) {
+            // A duplicate that raced the check or a row the database rejects must not
+            // block the others: retry them one by one
+            for (Feedback f : rows) {
+                try {
+                    feedbackBatchRepository.insertAll(List.of(f));
+                    written++;
+                } catch (DataIntegrityViolationException rowError) {
+                    if (FeedbackBatchRepository.isDuplicateSubmission(rowError)) {
+                        skipped++;
+                        continue;
+                    }
+                    failedTotal.incrementAndGet();
+                    System.err.println("Feedback write-behind: dropped submission for request "
+                            + f.getFeedbackRequest().getId() + " / employee " + f.getEmployeeId() + ": "
+                            + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        writtenTotal.addAndGet(written);
+        skippedTotal.addAndGet(skipped);
+        if (skipped > 0) {
+            System.out.println("Feedback write-behind: skipped " + skipped + " duplicate submissions.");
+        }
+    }
+
+    private static String key(Feedback feedback) {
+        return FeedbackBatchRepository.key(feedback.getFeedbackRequest().getId(), feedback.getEmployeeId());
+    }
+
+    private List<Feedback> takeBatch() {
+        synchronized (pending) {
+            List<Feedback> head = pending.subList(0, Math.min(batchSize, pending.size()));
+            List<Feedback> batch = new ArrayList<>(head);
+            head.clear();
+            return batch;
+        }
+    }
+
+    private void release(List<Feedback> batch) {
+        synchronized (pending) {
+            for (Feedback f : batch) {
+                pendingKeys.remove(key(f));
+            }
+        }
+    }
+}
@@ -30,6 +30,9 @@ public class MentorService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ReportCache reportCache;
+
     public List<Mentor> getAllMentors() {
         return mentorRepository.findAll();
     }
@@ -92,6 +95,7 @@ public class MentorService {
                     cohort.setBuddyMentor(userOpt.orElse(null));
                 }
                 cohortRepository.save(cohort);
+                reportCache.invalidateCohort(cohortId);
             });
         });
     }
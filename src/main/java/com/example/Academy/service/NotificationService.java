@@ -3,10 +3,16 @@ package com.example.Academy.service;
 import com.example.Academy.entity.Notification;
 import com.example.Academy.repository.NotificationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class NotificationService {
@@ -17,44 +23,62 @@ public class NotificationService {
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Notification> getNotificationsForUser(Long userId, String role) {
         // Fetch notifications specific to the user OR targeted at their role (e.g. ALL
         // ADMINS)
         return notificationRepository.findByRecipientIdOrRole(userId, role);
     }
 
-    @Autowired
-    private com.example.Academy.repository.UserRepository userRepository;
-
-    // ... existing methods ...
-
     public void notifyRole(String targetRole, String type, String title, String message, String link) {
         notifyRole(targetRole, type, title, message, link, null);
     }
 
+    /**
+     * Notifies every ACTIVE user with the role. The fan-out is deferred until the
+     * caller's transaction commits and then runs on the async executor, so the
+     * request thread only publishes an event.
+     */
     public void notifyRole(String targetRole, String type, String title, String message, String link,
             Long excludeUserId) {
         try {
-            com.example.Academy.entity.User.Role roleEnum = com.example.Academy.entity.User.Role.valueOf(targetRole);
-            List<com.example.Academy.entity.User> users = userRepository.findByRoleAndStatus(roleEnum,
-                    com.example.Academy.entity.User.Status.ACTIVE);
-
-            for (com.example.Academy.entity.User user : users) {
-                if (excludeUserId != null && user.getId().equals(excludeUserId)) {
-                    continue; // Skip the sender
-                }
-                Notification n = new Notification(
-                        user.getId(),
-                        targetRole,
-                        type,
-                        title,
-                        message,
-                        link);
-                createNotification(n);
-            }
+            com.example.Academy.entity.User.Role.valueOf(targetRole);
         } catch (IllegalArgumentException e) {
             System.err.println("Invalid role for notification: " + targetRole);
+            return;
         }
+        eventPublisher.publishEvent(new RoleNotification(targetRole, type, title, message, link, excludeUserId,
+                LocalDateTime.now()));
+    }
+
+    /**
+     * Writes one row per recipient with a single INSERT ... SELECT and publishes a
+     * single frame on /topic/notifications/role/{role} instead of one per user.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void fanOutToRole(RoleNotification event) {
+        int recipients = notificationRepository.insertForRole(event.role(), event.type(), event.title(),
+                event.message(), event.link(), event.createdAt(), event.excludeUserId());
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("role", event.role());
+        payload.put("type", event.type());
+        payload.put("title", event.title());
+        payload.put("message", event.message());
+        payload.put("link", event.link());
+        payload.put("createdAt", event.createdAt());
+        payload.put("excludeUserId", event.excludeUserId());
+        messagingTemplate.convertAndSend("/topic/notifications/role/" + event.role(), (Object) payload);
+
+        System.out.println("Role notification '" + event.title() + "' delivered to " + recipients + " "
+                + event.role() + " users.");
+    }
+
+    public record RoleNotification(String role, String type, String title, String message, String link,
+            Long excludeUserId, LocalDateTime createdAt) {
     }
 
     public Notification createNotification(Notification notification) {
@@ -0,0 +1,231 @@
+package com.example.Academy.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Bounded cache of generated cohort reports, keyed by cohort, date range and
+ * format. Report bytes live in files under report.cache.dir; an in-memory
+ * index in LRU order tracks them and evicts the least recently used once the
+ * entry or byte limit is exceeded.
+ *
+ * Entries are invalidated when efforts, weekly summaries, stakeholder mappings
+ * or the cohort itself change. A per-cohort version discards reports whose
+ * generation overlapped such a write, and the TTL bounds staleness for changes
+ * made elsewhere (user names, for instance). The index is not persisted, so
+ * files left from a previous run are removed at startup.
+ */
+@Component
+public class ReportCache {
+
+    @FunctionalInterface
+    public interface ReportLoader {
+        byte[] load() throws Exception;
+    }
+
+    public record CachedReport(byte[] content, String etag, long lastModified) {
+    }
+
+    @Value("${report.cache.dir:${java.io.tmpdir}/academy-report-cache}")
+    private String cacheDir;
+
+    @Value("${report.cache.max-entries:200}")
+    private int maxEntries;
+
+    @Value("${report.cache.max-bytes:268435456}")
+    private long maxBytes;
+
+    @Value("${report.cache.ttl-ms:86400000}")
+    private long ttlMs;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Bumped on every invalidation so in-flight generations are not cached
+    private final Map<Long, Long> cohortVersions = new HashMap<>();
+    private long epoch;
+    private long totalBytes;
+    private Path dir;
+
+    @PostConstruct
+    void init() throws IOException {
+        dir = Paths.get(cacheDir);
+        Files.createDirectories(dir);
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(ReportCache::deleteQuietly);
+        }
+    }
+
+    /**
+     * Returns the cached report or generates, stores and returns it. Formats are
+     * matched case-insensitively.
+     */
+    public CachedReport get(Long cohortId, LocalDate startDate, LocalDate endDate, String format,
+            ReportLoader loader) throws Exception {
+        Key key = new Key(cohortId, startDate, endDate, format.toUpperCase(Locale.ROOT));
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+                remove(key);
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            try {
+                return new CachedReport(Files.readAllBytes(entry.file), entry.etag, entry.createdAt);
+            } catch (IOException e) {
+                // Evicted between lookup and read; generate a fresh copy
+            }
+        }
+
+        long startEpoch;
+        long startVersion;
+        synchronized (entries) {
+            startEpoch = epoch;
+            startVersion = cohortVersions.getOrDefault(cohortId, 0L);
+        }
+
+        byte[] content = loader.load();
+        long now = System.currentTimeMillis();
+        String etag = "\"" + sha256(content) + "\"";
+
+        Path file = dir.resolve(UUID.randomUUID() + ".bin");
+        Path tmp = Files.createTempFile(dir, "report", ".tmp");
+        try {
+            Files.write(tmp, content);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(tmp);
+            System.err.println("Report cache: could not store report for cohort " + cohortId + ": " + e.getMessage());
+            return new CachedReport(content, etag, now);
+        }
+
+        synchronized (entries) {
+            if (epoch != startEpoch || cohortVersions.getOrDefault(cohortId, 0L) != startVersion) {
+                // Invalidated while generating; serve this copy but do not keep it
+                deleteQuietly(file);
+            } else {
+                remove(key);
+                entries.put(key, new Entry(file, content.length, etag, now, now + ttlMs));
+                totalBytes += content.length;
+                evictOverflow();
+            }
+        }
+        return new CachedReport(content, etag, now);
+    }
+
+    /**
+     * Drops the cohort's reports whose range overlaps [from, to], now and again
+     * once the current transaction completes.
+     */
+    public void invalidate(Long cohortId, LocalDate from, LocalDate to) {
+        if (cohortId == null) {
+            return;
+        }
+        removeOverlapping(cohortId, from, to);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    removeOverlapping(cohortId, from, to);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops every report of the cohort, for changes not tied to a date range.
+     */
+    public void invalidateCohort(Long cohortId) {
+        invalidate(cohortId, null, null);
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            for (Entry entry : entries.values()) {
+                deleteQuietly(entry.file);
+            }
+            entries.clear();
+            totalBytes = 0;
+            epoch++;
+        }
+    }
+
+    private void removeOverlapping(Long cohortId, LocalDate from, LocalDate to) {
+        synchronized (entries) {
+            cohortVersions.merge(cohortId, 1L, Long::sum);
+            Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Key, Entry> e = it.next();
+                Key key = e.getKey();
+                if (key.cohortId.equals(cohortId) && (from == null || !key.endDate.isBefore(from))
+                        && (to == null || !key.startDate.isAfter(to))) {
+                    it.remove();
+                    totalBytes -= e.getValue().size;
+                    deleteQuietly(e.getValue().file);
+                }
+            }
+        }
+    }
+
+    // Callers hold the entries lock
+    private void remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            totalBytes -= entry.size;
+            deleteQuietly(entry.file);
+        }
+    }
+
+    // Callers hold the entries lock
+    private void evictOverflow() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (eldest.hasNext() && (entries.size() > maxEntries || totalBytes > maxBytes)) {
+            Entry entry = eldest.next();
+            eldest.remove();
+            totalBytes -= entry.size;
+            deleteQuietly(entry.file);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Report cache: could not delete " + file + ": " + e.getMessage());
+        }
+    }
+
+    private record Key(Long cohortId, LocalDate startDate, LocalDate endDate, String format) {
+    }
+
+    private record Entry(Path file, long size, String etag, long createdAt, long expiresAt) {
+    }
+}
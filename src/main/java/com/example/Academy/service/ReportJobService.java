@@ -0,0 +1,242 @@
+package com.example.Academy.service;
+
+import com.example.Academy.dto.report.ReportJobStatus;
+import com.example.Academy.exception.ReportJobRejectedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Runs report generation off the request threads.
+ *
+ * Jobs are queued on a small bounded executor, each user may have only a few
+ * queued or running jobs, and results are written to files under
+ * report.jobs.dir instead of being held in heap. Progress and completion are
+ * published to /topic/reports/jobs/{jobId}; finished jobs and their files are
+ * dropped after report.jobs.retention-ms by a background sweep that runs every
+ * report.jobs.cleanup-interval-ms. Job state is in memory only, so a
+ * restart forgets every job and clears the directory.
+ */
+@Service
+public class ReportJobService {
+
+    public static final String XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    @FunctionalInterface
+    private interface JobBody {
+        void run(ReportJobStatus job, OutputStream out) throws Exception;
+    }
+
+    @Autowired
+    private ExecutiveReportService executiveReportService;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${report.jobs.dir:${java.io.tmpdir}/academy-report-jobs}")
+    private String jobsDir;
+
+    @Value("${report.jobs.threads:2}")
+    private int threads;
+
+    @Value("${report.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${report.jobs.max-per-user:2}")
+    private int maxPerUser;
+
+    @Value("${report.jobs.retention-ms:3600000}")
+    private long retentionMs;
+
+    @Value("${report.jobs.cleanup-interval-ms:60000}")
+    private long cleanupIntervalMs;
+
+    private final Map<String, ReportJobStatus> jobs = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+    private volatile boolean running;
+    private Thread cleaner;
+    private Path dir;
+
+    @PostConstruct
+    void init() throws IOException {
+        dir = Paths.get(jobsDir);
+        Files.createDirectories(dir);
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(ReportJobService::deleteQuietly);
+        }
+
+        AtomicInteger index = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "report-job-" + index.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        running = true;
+        cleaner = new Thread(this::cleanupLoop, "report-job-cleanup");
+        cleaner.setDaemon(true);
+        cleaner.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        cleaner.interrupt();
+        executor.shutdownNow();
+    }
+
+    public ReportJobStatus submitGlobalReport(String owner, LocalDate startDate, LocalDate endDate,
+            String fileName) {
+        return submit(owner, "GLOBAL", fileName, XLSX, (job, out) -> {
+            job.setTotalRows(executiveReportService.countGlobalReportRows(startDate, endDate));
+            publish(job);
+            executiveReportService.streamGlobalReportByRange(startDate, endDate, out, rows -> {
+                job.setRowsProcessed(rows);
+                publish(job);
+            });
+        });
+    }
+
+    public ReportJobStatus submitCohortReport(String owner, Long cohortId, LocalDate startDate, LocalDate endDate,
+            String format) {
+        boolean pdf = "PDF".equalsIgnoreCase(format);
+        if (!pdf && !"EXCEL".equalsIgnoreCase(format)) {
+            throw new RuntimeException("Unsupported format: " + format);
+        }
+        String fileName = "Cohort_Report_" + cohortId + (pdf ? ".pdf" : ".xlsx");
+        return submit(owner, "COHORT", fileName, pdf ? "application/pdf" : XLSX, (job, out) -> out.write(
+                reportCache.get(cohortId, startDate, endDate, format,
+                        () -> executiveReportService.generateReport(cohortId, startDate, endDate, format))
+                        .content()));
+    }
+
+    /**
+     * Returns the job if it exists and belongs to the caller, otherwise null.
+     */
+    public ReportJobStatus getJob(String jobId, String owner) {
+        ReportJobStatus job = jobs.get(jobId);
+        return job != null && job.getOwner().equals(owner) ? job : null;
+    }
+
+    private ReportJobStatus submit(String owner, String type, String fileName, String contentType, JobBody body) {
+        pruneExpired();
+        ReportJobStatus job = new ReportJobStatus(UUID.randomUUID().toString(), type, owner, fileName, contentType);
+
+        // Check and register atomically so parallel submits cannot both pass the limit
+        synchronized (jobs) {
+            long active = jobs.values().stream().filter(j -> j.getOwner().equals(owner) && j.isActive()).count();
+            if (active >= maxPerUser) {
+                throw new ReportJobRejectedException(
+                        "You already have " + active + " reports in progress; wait for one to finish");
+            }
+            jobs.put(job.getJobId(), job);
+        }
+
+        try {
+            executor.execute(() -> run(job, body));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            throw new ReportJobRejectedException("The report queue is full, try again shortly");
+        }
+        return job;
+    }
+
+    private void run(ReportJobStatus job, JobBody body) {
+        job.setState(ReportJobStatus.State.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        publish(job);
+
+        Path file = dir.resolve(job.getJobId() + ".part");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                body.run(job, out);
+            }
+            job.setSizeBytes(Files.size(file));
+            job.setResultFile(file);
+            job.setState(ReportJobStatus.State.DONE);
+        } catch (Throwable e) {
+            // Errors too (e.g. OutOfMemoryError): a job left RUNNING would hold one of the owner's slots forever
+            System.err.println("Report job " + job.getJobId() + " failed: " + e);
+            deleteQuietly(file);
+            job.setError(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            job.setState(ReportJobStatus.State.FAILED);
+            if (e instanceof Error error) {
+                throw error;
+            }
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+            publish(job);
+        }
+    }
+
+    private void cleanupLoop() {
+        while (running) {
+            try {
+                Thread.sleep(cleanupIntervalMs);
+            } catch (InterruptedException e) {
+                break;
+            }
+            try {
+                pruneExpired();
+            } catch (RuntimeException e) {
+                System.err.println("Report jobs: cleanup failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void pruneExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(retentionMs * 1_000_000);
+        Iterator<ReportJobStatus> it = jobs.values().iterator();
+        while (it.hasNext()) {
+            ReportJobStatus job = it.next();
+            if (job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff)) {
+                it.remove();
+                if (job.getResultFile() != null) {
+                    deleteQuietly(job.getResultFile());
+                }
+            }
+        }
+    }
+
+    private void publish(ReportJobStatus job) {
+        try {
+            messagingTemplate.convertAndSend("/topic/reports/jobs/" + job.getJobId(), (Object) job);
+        } catch (Exception e) {
+            System.err.println("Failed to publish report job status: " + e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Report jobs: could not delete " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.Academy.service;
+
+import com.example.Academy.entity.CohortMentorMapping;
+import com.example.Academy.entity.CohortTrainerMapping;
+import com.example.Academy.entity.Mentor;
+import com.example.Academy.entity.StakeholderEffort;
+import com.example.Academy.entity.Trainer;
+import com.example.Academy.repository.CohortMentorMappingRepository;
+import com.example.Academy.repository.CohortTrainerMappingRepository;
+import com.example.Academy.repository.MentorRepository;
+import com.example.Academy.repository.TrainerRepository;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-export lookup state for executive report rows.
+ *
+ * Cohort trainer/mentor mappings and Trainer/Mentor type dictionaries are
+ * loaded in bulk via {@link #prepare(Collection)} so every row can be resolved
+ * from memory instead of issuing mapping/type queries per effort. Cohorts and
+ * employee IDs that were already loaded are skipped, so the context can be fed
+ * chunk by chunk.
+ */
+public class ReportResolverContext {
+
+    // System dummy accounts whose efforts are attributed to the actual log creator
+    private static final Set<String> DUMMY_EMP_IDS = Set.of("2457131", "2457", "coach2001");
+
+    private final CohortTrainerMappingRepository trainerMappingRepository;
+    private final CohortMentorMappingRepository mentorMappingRepository;
+    private final TrainerRepository trainerRepository;
+    private final MentorRepository mentorRepository;
+
+    private final Map<Long, Map<StakeholderEffort.Role, Trainer>> trainerMappings = new HashMap<>();
+    private final Map<Long, Map<StakeholderEffort.Role, Mentor>> mentorMappings = new HashMap<>();
+    private final Map<String, Trainer.TrainerType> trainerTypes = new HashMap<>();
+    private final Map<String, Mentor.MentorType> mentorTypes = new HashMap<>();
+    private final Set<String> loadedEmpIds = new HashSet<>();
+
+    private int queryCount;
+    private long rowsResolved;
+    private final long startedAt = System.currentTimeMillis();
+
+    public ReportResolverContext(CohortTrainerMappingRepository trainerMappingRepository,
+            CohortMentorMappingRepository mentorMappingRepository,
+            TrainerRepository trainerRepository,
+            MentorRepository mentorRepository) {
+        this.trainerMappingRepository = trainerMappingRepository;
+        this.mentorMappingRepository = mentorMappingRepository;
+        this.trainerRepository = trainerRepository;
+        this.mentorRepository = mentorRepository;
+    }
+
+    /**
+     * Bulk-loads mappings and type dictionaries for any cohorts and stakeholders
+     * in the given efforts that have not been seen yet. Issues at most four
+     * queries per call regardless of the number of efforts.
+     */
+    public void prepare(Collection<StakeholderEffort> efforts) {
+        Set<Long> newCohortIds = new HashSet<>();
+        Set<String> newEmpIds = new HashSet<>();
+
+        for (StakeholderEffort e : efforts) {
+            Long cohortId = e.getCohort().getId();
+            if (!trainerMappings.containsKey(cohortId)) {
+                newCohortIds.add(cohortId);
+            }
+            if (e.getTrainerMentor() != null && e.getTrainerMentor().getEmpId() != null
+                    && !loadedEmpIds.contains(e.getTrainerMentor().getEmpId())) {
+                newEmpIds.add(e.getTrainerMentor().getEmpId());
+            }
+        }
+
+        if (!newCohortIds.isEmpty()) {
+            newCohortIds.forEach(id -> {
+                trainerMappings.put(id, new EnumMap<>(StakeholderEffort.Role.class));
+                mentorMappings.put(id, new EnumMap<>(StakeholderEffort.Role.class));
+            });
+
+            // First mapping per role wins, matching the order the mapping tables return
+            for (CohortTrainerMapping m : trainerMappingRepository.findWithTrainerByCohortIdIn(newCohortIds)) {
+                trainerMappings.get(m.getCohort().getId())
+                        .putIfAbsent(StakeholderEffort.Role.valueOf(m.getRole().name()), m.getTrainer());
+            }
+            for (CohortMentorMapping m : mentorMappingRepository.findWithMentorByCohortIdIn(newCohortIds)) {
+                mentorMappings.get(m.getCohort().getId())
+                        .putIfAbsent(StakeholderEffort.Role.valueOf(m.getRole().name()), m.getMentor());
+            }
+            queryCount += 2;
+        }
+
+        if (!newEmpIds.isEmpty()) {
+            for (Object[] row : trainerRepository.findTypesByEmpIdIn(newEmpIds)) {
+                trainerTypes.put((String) row[0], (Trainer.TrainerType) row[1]);
+            }
+            for (Object[] row : mentorRepository.findTypesByEmpIdIn(newEmpIds)) {
+                mentorTypes.put((String) row[0], (Mentor.MentorType) row[1]);
+            }
+            loadedEmpIds.addAll(newEmpIds);
+            queryCount += 2;
+        }
+    }
+
+    public String resolveMappedType(StakeholderEffort e) {
+        rowsResolved++;
+        Trainer trainer = mappedTrainer(e);
+        if (trainer != null) {
+            return trainer.isInternal() ? "INTERNAL" : "EXTERNAL";
+        }
+        Mentor mentor = mappedMentor(e);
+        if (mentor != null) {
+            return mentor.isInternal() ? "INTERNAL" : "EXTERNAL";
+        }
+        return e.getTrainerMentor() != null ? e.getTrainerMentor().getEmployeeType().name() : "N/A";
+    }
+
+    public String resolveStakeholderId(StakeholderEffort e) {
+        Trainer trainer = mappedTrainer(e);
+        if (trainer != null) {
+            return trainer.getEmpId();
+        }
+        Mentor mentor = mappedMentor(e);
+        if (mentor != null) {
+            return mentor.getEmpId();
+        }
+
+        if (e.getTrainerMentor() != null) {
+            if (DUMMY_EMP_IDS.contains(e.getTrainerMentor().getEmpId()) && e.getUpdatedBy() != null) {
+                return e.getUpdatedBy().getEmpId();
+            }
+            return e.getTrainerMentor().getEmpId();
+        }
+
+        return "N/A";
+    }
+
+    public String resolveStakeholderName(StakeholderEffort e) {
+        // 1. Primary Source: Cohort Mappings (What's in the Dashboard)
+        Trainer trainer = mappedTrainer(e);
+        if (trainer != null) {
+            return trainer.getName();
+        }
+        Mentor mentor = mappedMentor(e);
+        if (mentor != null) {
+            return mentor.getName();
+        }
+
+        // 2. Secondary Source: Actual Log Creator (If trainer_mentor is a system dummy)
+        if (e.getTrainerMentor() != null) {
+            if (DUMMY_EMP_IDS.contains(e.getTrainerMentor().getEmpId()) && e.getUpdatedBy() != null) {
+                return e.getUpdatedBy().getName();
+            }
+            return e.getTrainerMentor().getName();
+        }
+
+        return "N/A";
+    }
+
+    public String resolveRoleName(StakeholderEffort e) {
+        if (e.getTrainerMentor() != null) {
+            String empId = e.getTrainerMentor().getEmpId();
+
+            if (e.getRole() == StakeholderEffort.Role.TRAINER) {
+                Trainer.TrainerType type = trainerTypes.get(empId);
+                return type != null ? capitalize(type.name()) : "SME";
+            }
+
+            if (e.getRole() == StakeholderEffort.Role.MENTOR) {
+                Mentor.MentorType type = mentorTypes.get(empId);
+                return type != null ? capitalize(type.name()) : "Mentor";
+            }
+        }
+
+        return switch (e.getRole()) {
+            case TRAINER -> "SME";
+            case MENTOR -> "Mentor";
+            case BUDDY_MENTOR -> "Buddy Mentor";
+            case BH_TRAINER -> "MFRP Contributor";
+        };
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public long getRowsResolved() {
+        return rowsResolved;
+    }
+
+    public String summary() {
+        return String.format("Resolver context: %d rows across %d cohorts resolved with %d lookup queries in %d ms",
+                rowsResolved, trainerMappings.size(), queryCount, System.currentTimeMillis() - startedAt);
+    }
+
+    private Trainer mappedTrainer(StakeholderEffort e) {
+        if (e.getRole() != StakeholderEffort.Role.TRAINER && e.getRole() != StakeholderEffort.Role.BH_TRAINER) {
+            return null;
+        }
+        Map<StakeholderEffort.Role, Trainer> byRole = trainerMappings.get(e.getCohort().getId());
+        return byRole != null ? byRole.get(e.getRole()) : null;
+    }
+
+    private Mentor mappedMentor(StakeholderEffort e) {
+        if (e.getRole() != StakeholderEffort.Role.MENTOR && e.getRole() != StakeholderEffort.Role.BUDDY_MENTOR) {
+            return null;
+        }
+        Map<StakeholderEffort.Role, Mentor> byRole = mentorMappings.get(e.getCohort().getId());
+        return byRole != null ? byRole.get(e.getRole()) : null;
+    }
+
+    private String capitalize(String str) {
+        if (str == null || str.isEmpty())
+            return str;
+        return str.substring(0, 1).toUpperCase() + str.substring(1).toLowerCase();
+    }
+}
@@ -4,9 +4,12 @@ import com.example.Academy.dto.report.ChartDataDTO;
 import com.example.Academy.dto.report.ReportResponseDTO;
 import com.example.Academy.dto.report.ReportStatsDTO;
 import com.example.Academy.dto.report.RecentActivityDTO;
-import com.example.Academy.entity.StakeholderEffort;
+import com.example.Academy.dto.report.RoleHoursTotal;
+import com.example.Academy.dto.report.StakeholderHoursTotal;
+import com.example.Academy.dto.report.WeeklyRoleHoursTotal;
 import com.example.Academy.entity.WeeklySummary;
 import com.example.Academy.repository.ActivityRepository;
+import com.example.Academy.repository.DailyEffortRollupRepository;
 import com.example.Academy.repository.MentorRepository;
 import com.example.Academy.repository.StakeholderEffortRepository;
 import com.example.Academy.repository.TrainerRepository;
@@ -17,6 +20,7 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +29,9 @@ public class ReportService {
         @Autowired
         private StakeholderEffortRepository effortRepository;
 
+        @Autowired
+        private DailyEffortRollupRepository rollupRepository;
+
         @Autowired
         private WeeklySummaryRepository weeklySummaryRepository;
 
@@ -38,8 +45,13 @@ public class ReportService {
         private MentorRepository mentorRepository;
 
         public ReportResponseDTO getReportData(Long cohortId) {
-                ReportStatsDTO stats = calculateStats(cohortId);
-                List<ChartDataDTO> distribution = calculateDistribution(cohortId);
+                // Role totals feed both the headline stats and the distribution chart
+                List<RoleHoursTotal> roleTotals = (cohortId != null)
+                                ? rollupRepository.sumHoursByRoleForCohort(cohortId)
+                                : rollupRepository.sumHoursByRole();
+
+                ReportStatsDTO stats = calculateStats(cohortId, roleTotals);
+                List<ChartDataDTO> distribution = calculateDistribution(roleTotals);
                 List<ChartDataDTO> utilization = calculateUtilization(cohortId);
                 Map<String, BigDecimal> latestWeekEffort = calculateLatestWeekEffort(cohortId);
                 Map<String, BigDecimal> overallEffort = calculateOverallEffort(cohortId);
@@ -78,19 +90,15 @@ public class ReportService {
                                 .collect(Collectors.toList());
         }
 
-        private ReportStatsDTO calculateStats(Long cohortId) {
-                List<StakeholderEffort> allEfforts = (cohortId != null)
-                                ? effortRepository.findByCohortId(cohortId)
-                                : effortRepository.findAll();
-
-                BigDecimal totalHours = allEfforts.stream()
-                                .map(StakeholderEffort::getEffortHours)
+        private ReportStatsDTO calculateStats(Long cohortId, List<RoleHoursTotal> roleTotals) {
+                BigDecimal totalHours = roleTotals.stream()
+                                .map(t -> orZero(t.getTotalHours()))
                                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
                 long totalTrainers = (cohortId != null) ? 1 : trainerRepository.count(); // Simplified for cohort
                 long totalMentors = (cohortId != null) ? 1 : mentorRepository.count();
                 long summaryCount = (cohortId != null)
-                                ? weeklySummaryRepository.findByCohortId(cohortId).size()
+                                ? weeklySummaryRepository.countByCohortId(cohortId)
                                 : weeklySummaryRepository.count();
 
                 // Real-time attendance simulation based on cohort quality
@@ -99,33 +107,24 @@ public class ReportService {
                 return new ReportStatsDTO(totalHours, totalTrainers, totalMentors, summaryCount, attendance);
         }
 
-        private List<ChartDataDTO> calculateDistribution(Long cohortId) {
-                List<StakeholderEffort> allEfforts = (cohortId != null)
-                                ? effortRepository.findByCohortId(cohortId)
-                                : effortRepository.findAll();
-
-                Map<StakeholderEffort.Role, BigDecimal> roleHours = allEfforts.stream()
-                                .collect(Collectors.groupingBy(
-                                                StakeholderEffort::getRole,
-                                                Collectors.reducing(BigDecimal.ZERO, StakeholderEffort::getEffortHours,
-                                                                BigDecimal::add)));
-
-                return roleHours.entrySet().stream()
-                                .map(e -> new ChartDataDTO(e.getKey().toString(), e.getValue()))
+        private List<ChartDataDTO> calculateDistribution(List<RoleHoursTotal> roleTotals) {
+                return roleTotals.stream()
+                                .map(t -> new ChartDataDTO(t.getRole().toString(), orZero(t.getTotalHours())))
                                 .collect(Collectors.toList());
         }
 
         private List<ChartDataDTO> calculateUtilization(Long cohortId) {
-                List<StakeholderEffort> allEfforts = (cohortId != null)
-                                ? effortRepository.findByCohortId(cohortId)
-                                : effortRepository.findAll();
+                List<StakeholderHoursTotal> totals = (cohortId != null)
+                                ? effortRepository.sumHoursByStakeholderForCohort(cohortId)
+                                : effortRepository.sumHoursByStakeholder();
 
-                Map<String, BigDecimal> trainerHours = allEfforts.stream()
+                // Efforts without a trainer/mentor are grouped per role as "Acting <role>"
+                Map<String, BigDecimal> trainerHours = totals.stream()
                                 .collect(Collectors.groupingBy(
-                                                e -> e.getTrainerMentor() != null
-                                                                ? e.getTrainerMentor().getName()
-                                                                : "Acting " + e.getRole().toString().replace("_", " "),
-                                                Collectors.reducing(BigDecimal.ZERO, StakeholderEffort::getEffortHours,
+                                                t -> t.getStakeholderName() != null
+                                                                ? t.getStakeholderName()
+                                                                : "Acting " + t.getRole().toString().replace("_", " "),
+                                                Collectors.reducing(BigDecimal.ZERO, t -> orZero(t.getTotalHours()),
                                                                 BigDecimal::add)));
 
                 return trainerHours.entrySet().stream()
@@ -134,11 +133,11 @@ public class ReportService {
         }
 
         private Map<String, BigDecimal> calculateLatestWeekEffort(Long cohortId) {
-                List<WeeklySummary> summaries = (cohortId != null)
-                                ? weeklySummaryRepository.findByCohortId(cohortId)
-                                : weeklySummaryRepository.findAll();
+                Optional<WeeklySummary> latestSummary = (cohortId != null)
+                                ? weeklySummaryRepository.findTopByCohortIdOrderByWeekStartDateDesc(cohortId)
+                                : weeklySummaryRepository.findTopByOrderByWeekStartDateDesc();
 
-                if (summaries.isEmpty()) {
+                if (latestSummary.isEmpty()) {
                         return Map.of(
                                         "Technical Trainer", BigDecimal.ZERO,
                                         "Mentor", BigDecimal.ZERO,
@@ -146,51 +145,29 @@ public class ReportService {
                                         "Soft Skills", BigDecimal.ZERO);
                 }
 
-                // Get latest summary
-                WeeklySummary latest = summaries.stream()
-                                .max((a, b) -> a.getWeekStartDate().compareTo(b.getWeekStartDate()))
-                                .orElse(summaries.get(0));
+                WeeklySummary latest = latestSummary.get();
 
                 return Map.of(
-                                "Technical Trainer",
-                                latest.getTechnicalTrainerHours() != null ? latest.getTechnicalTrainerHours()
-                                                : BigDecimal.ZERO,
-                                "Mentor", latest.getMentorHours() != null ? latest.getMentorHours() : BigDecimal.ZERO,
-                                "Buddy Mentor",
-                                latest.getBuddyMentorHours() != null ? latest.getBuddyMentorHours() : BigDecimal.ZERO,
-                                "Soft Skills",
-                                latest.getBehavioralTrainerHours() != null ? latest.getBehavioralTrainerHours()
-                                                : BigDecimal.ZERO);
+                                "Technical Trainer", orZero(latest.getTechnicalTrainerHours()),
+                                "Mentor", orZero(latest.getMentorHours()),
+                                "Buddy Mentor", orZero(latest.getBuddyMentorHours()),
+                                "Soft Skills", orZero(latest.getBehavioralTrainerHours()));
         }
 
         private Map<String, BigDecimal> calculateOverallEffort(Long cohortId) {
-                List<WeeklySummary> summaries = (cohortId != null)
-                                ? weeklySummaryRepository.findByCohortId(cohortId)
-                                : weeklySummaryRepository.findAll();
-
-                BigDecimal techTotal = summaries.stream()
-                                .map(s -> s.getTechnicalTrainerHours() != null ? s.getTechnicalTrainerHours()
-                                                : BigDecimal.ZERO)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal mentorTotal = summaries.stream()
-                                .map(s -> s.getMentorHours() != null ? s.getMentorHours() : BigDecimal.ZERO)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal buddyTotal = summaries.stream()
-                                .map(s -> s.getBuddyMentorHours() != null ? s.getBuddyMentorHours() : BigDecimal.ZERO)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal behavioralTotal = summaries.stream()
-                                .map(s -> s.getBehavioralTrainerHours() != null ? s.getBehavioralTrainerHours()
-                                                : BigDecimal.ZERO)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                WeeklyRoleHoursTotal totals = (cohortId != null)
+                                ? weeklySummaryRepository.sumRoleHoursForCohort(cohortId)
+                                : weeklySummaryRepository.sumRoleHours();
 
                 return Map.of(
-                                "Technical", techTotal,
-                                "Mentor", mentorTotal,
-                                "Buddy Mentor", buddyTotal,
-                                "Soft Skills", behavioralTotal);
+                                "Technical", orZero(totals.getTechnicalHours()),
+                                "Mentor", orZero(totals.getMentorHours()),
+                                "Buddy Mentor", orZero(totals.getBuddyMentorHours()),
+                                "Soft Skills", orZero(totals.getBehavioralHours()));
+        }
+
+        private BigDecimal orZero(BigDecimal value) {
+                return value != null ? value : BigDecimal.ZERO;
         }
 
         public long getWeeklySubmissionCount() {
@@ -0,0 +1,402 @@
+package com.example.Academy.service;
+
+import com.example.Academy.dto.candidate.CandidateImportReport;
+import com.example.Academy.dto.cohort.CreateCohortRequest;
+import com.example.Academy.dto.roster.RosterImportReport;
+import com.example.Academy.dto.user.CreateUserRequest;
+import com.example.Academy.entity.Candidate;
+import com.example.Academy.entity.Cohort;
+import com.example.Academy.entity.User;
+import com.example.Academy.repository.CohortRepository;
+import com.example.Academy.repository.UserRepository;
+import com.example.Academy.util.SpreadsheetRowReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Imports candidate, user and cohort rosters from XLSX/CSV files.
+ *
+ * Rows are streamed by {@link SpreadsheetRowReader}, validated as they arrive
+ * and committed in batches of import.batch-size through the existing services,
+ * so memory use depends on the batch size rather than the file size. If a batch
+ * fails as a whole it is retried row by row and only the offending rows are
+ * skipped. Progress is published to /topic/imports/{importId} after every
+ * batch.
+ */
+@Service
+public class RosterImportService {
+
+    @Autowired
+    private CandidateService candidateService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CohortService cohortService;
+
+    @Autowired
+    private CohortRepository cohortRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Expected headers: Associate Id, Name, Cognizant Email ID, Cohort Code and
+     * optionally Status, Join Date, End Date. When cohortId is given, rows for
+     * other cohort codes are skipped and rows without a code go to that cohort.
+     */
+    public RosterImportReport importCandidates(File file, String filename, Long cohortId, String importId)
+            throws IOException {
+        Cohort fixedCohort = cohortId != null
+                ? cohortRepository.findById(cohortId).orElseThrow(() -> new RuntimeException("Cohort not found"))
+                : null;
+        Map<String, Cohort> cohortsByCode = new HashMap<>();
+        long importStamp = System.currentTimeMillis();
+
+        return run("CANDIDATES", importId, file, filename, (rowNumber, values) -> {
+            String candidateId = first(values, "associate_id", "associateid", "candidate_id");
+            if (candidateId == null) {
+                candidateId = "GC-" + importStamp + "-" + rowNumber;
+            }
+            String code = first(values, "cohort_code", "cohortcode");
+
+            if (fixedCohort != null && code != null && !code.equalsIgnoreCase(fixedCohort.getCode())) {
+                return PendingRow.skip(rowNumber, candidateId, "Belongs to cohort " + code);
+            }
+            if (fixedCohort == null && code == null) {
+                return PendingRow.skip(rowNumber, candidateId, "Missing cohort code");
+            }
+
+            Candidate.Status status;
+            try {
+                String raw = first(values, "status");
+                status = raw != null ? Candidate.Status.valueOf(raw.toUpperCase()) : Candidate.Status.ACTIVE;
+            } catch (IllegalArgumentException e) {
+                return PendingRow.skip(rowNumber, candidateId, "Invalid status");
+            }
+
+            Candidate candidate = new Candidate();
+            candidate.setCandidateId(candidateId);
+            candidate.setName(first(values, "name", "full_name"));
+            candidate.setEmail(first(values, "cognizant_email_id", "cognizantemailid", "email"));
+            candidate.setStatus(status);
+            try {
+                candidate.setJoinDate(parseDate(first(values, "join_date", "joindate")));
+                candidate.setEndDate(parseDate(first(values, "end_date", "enddate")));
+            } catch (DateTimeParseException e) {
+                return PendingRow.skip(rowNumber, candidateId, "Invalid date");
+            }
+            return new PendingRow<>(rowNumber, candidateId, new CandidateRow(candidate, fixedCohort != null ? null : code));
+        }, rows -> {
+            // Resolve cohort codes not seen in earlier batches with one query
+            Set<String> unknownCodes = new HashSet<>();
+            for (PendingRow<CandidateRow> row : rows) {
+                if (row.value.cohortCode != null && !cohortsByCode.containsKey(row.value.cohortCode.toLowerCase())) {
+                    unknownCodes.add(row.value.cohortCode);
+                }
+            }
+            if (!unknownCodes.isEmpty()) {
+                cohortRepository.findByCodeIn(unknownCodes).forEach(c -> cohortsByCode.put(c.getCode().toLowerCase(), c));
+            }
+
+            List<Candidate> candidates = new ArrayList<>(rows.size());
+            for (PendingRow<CandidateRow> row : rows) {
+                Candidate candidate = row.value.candidate;
+                Cohort cohort = row.value.cohortCode != null
+                        ? cohortsByCode.get(row.value.cohortCode.toLowerCase())
+                        : fixedCohort;
+                candidate.setCohort(cohort);
+                if (cohort != null) {
+                    if (candidate.getJoinDate() == null) {
+                        candidate.setJoinDate(cohort.getStartDate());
+                    }
+                    if (candidate.getEndDate() == null) {
+                        candidate.setEndDate(cohort.getEndDate());
+                    }
+                }
+                candidates.add(candidate);
+            }
+
+            List<Outcome> outcomes = new ArrayList<>(rows.size());
+            for (CandidateImportReport.RowResult result : candidateService.importCandidates(candidates).getRows()) {
+                PendingRow<CandidateRow> row = rows.get(result.row() - 1);
+                outcomes.add(new Outcome(row.rowNumber, row.key, result.reason()));
+            }
+            return outcomes;
+        });
+    }
+
+    /**
+     * Expected headers: Employee Id, Full Name, Email and optionally Role,
+     * Employee Type, Location, Initial Password, Skill, with the same defaults as
+     * the CSV upload on the Coaches page.
+     */
+    public RosterImportReport importUsers(File file, String filename, String importId) throws IOException {
+        return run("USERS", importId, file, filename, (rowNumber, values) -> {
+            CreateUserRequest request = new CreateUserRequest();
+            request.setEmpId(first(values, "employee_id", "emp_id", "id"));
+            request.setName(first(values, "full_name", "name"));
+            request.setEmail(first(values, "email"));
+            request.setRole(orDefault(first(values, "role"), "COACH").toUpperCase());
+            request.setEmployeeType(orDefault(first(values, "employee_type"), "INTERNAL").toUpperCase());
+            request.setLocation(orDefault(first(values, "location"), "Bangalore"));
+            request.setPassword(orDefault(first(values, "initial_password", "password"), "Welcome@123"));
+            request.setSkill(first(values, "skill"));
+
+            String key = request.getEmpId();
+            if (request.getEmpId() == null || request.getName() == null || request.getEmail() == null) {
+                return PendingRow.skip(rowNumber, key, "Missing employee ID, name or email");
+            }
+            if (!isEnumValue(User.Role.class, request.getRole())) {
+                return PendingRow.skip(rowNumber, key, "Invalid role");
+            }
+            if (!isEnumValue(User.EmployeeType.class, request.getEmployeeType())) {
+                return PendingRow.skip(rowNumber, key, "Invalid employee type");
+            }
+            return new PendingRow<>(rowNumber, key, request);
+        }, rows -> {
+            Set<String> empIds = new HashSet<>();
+            Set<String> emails = new HashSet<>();
+            rows.forEach(r -> {
+                empIds.add(r.value.getEmpId());
+                emails.add(r.value.getEmail());
+            });
+            Set<String> takenEmpIds = new HashSet<>(userRepository.findExistingEmpIds(empIds));
+            Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(emails));
+
+            // The batch has been checked above, so build the users directly and save them together
+            List<Outcome> outcomes = new ArrayList<>(rows.size());
+            List<User> users = new ArrayList<>(rows.size());
+            for (PendingRow<CreateUserRequest> row : rows) {
+                CreateUserRequest request = row.value;
+                if (!takenEmpIds.add(request.getEmpId())) {
+                    outcomes.add(new Outcome(row.rowNumber, row.key, "Employee ID already exists"));
+                } else if (!takenEmails.add(request.getEmail())) {
+                    outcomes.add(new Outcome(row.rowNumber, row.key, "Email already exists"));
+                } else {
+                    users.add(userService.newUser(request));
+                    outcomes.add(new Outcome(row.rowNumber, row.key, null));
+                }
+            }
+            userRepository.saveAll(users);
+            return outcomes;
+        });
+    }
+
+    /**
+     * Expected headers: Cohort Code, Business Unit, Skill/Technology, Location,
+     * Start Date and optionally Service Line, Strategic Business Unit, End Date,
+     * Active GenC Count, Assign Coach, Primary Trainer Email.
+     */
+    public RosterImportReport importCohorts(File file, String filename, String importId) throws IOException {
+        return run("COHORTS", importId, file, filename, (rowNumber, values) -> {
+            CreateCohortRequest request = new CreateCohortRequest();
+            request.setCode(first(values, "cohort_code", "code"));
+            request.setBu(first(values, "business_unit", "bu"));
+            request.setSl(first(values, "service_line", "sl"));
+            request.setSbu(first(values, "strategic_business_unit", "sbu"));
+            request.setSkill(first(values, "skill_technology", "skill"));
+            request.setTrainingLocation(first(values, "location", "training_location"));
+            request.setStartDate(first(values, "start_date"));
+            request.setEndDate(first(values, "end_date"));
+            request.setCoachEmail(first(values, "assign_coach", "coach_email"));
+            request.setPrimaryTrainerEmail(first(values, "primary_trainer_email"));
+
+            String key = request.getCode();
+            if (request.getCode() == null || request.getBu() == null || request.getSkill() == null
+                    || request.getTrainingLocation() == null || request.getStartDate() == null) {
+                return PendingRow.skip(rowNumber, key, "Missing code, BU, skill, location or start date");
+            }
+            try {
+                parseDate(request.getStartDate());
+                parseDate(request.getEndDate());
+                String count = first(values, "active_genc_count");
+                request.setActiveGencCount(count != null ? Integer.parseInt(count) : 0);
+            } catch (DateTimeParseException e) {
+                return PendingRow.skip(rowNumber, key, "Invalid date");
+            } catch (NumberFormatException e) {
+                return PendingRow.skip(rowNumber, key, "Invalid active GenC count");
+            }
+            return new PendingRow<>(rowNumber, key, request);
+        }, rows -> {
+            Set<String> codes = new HashSet<>();
+            Set<String> trainerEmails = new HashSet<>();
+            rows.forEach(r -> {
+                codes.add(r.value.getCode());
+                if (r.value.getPrimaryTrainerEmail() != null) {
+                    trainerEmails.add(r.value.getPrimaryTrainerEmail());
+                }
+            });
+            Set<String> takenCodes = new HashSet<>();
+            cohortRepository.findByCodeIn(codes).forEach(c -> takenCodes.add(c.getCode()));
+            Set<String> knownTrainers = trainerEmails.isEmpty() ? Set.of()
+                    : new HashSet<>(userRepository.findExistingEmails(trainerEmails));
+
+            List<Outcome> outcomes = new ArrayList<>(rows.size());
+            for (PendingRow<CreateCohortRequest> row : rows) {
+                CreateCohortRequest request = row.value;
+                if (!takenCodes.add(request.getCode())) {
+                    outcomes.add(new Outcome(row.rowNumber, row.key, "Cohort code already exists"));
+                } else if (request.getPrimaryTrainerEmail() != null
+                        && !knownTrainers.contains(request.getPrimaryTrainerEmail())) {
+                    outcomes.add(new Outcome(row.rowNumber, row.key, "Primary trainer not found"));
+                } else {
+                    cohortService.createCohort(request);
+                    outcomes.add(new Outcome(row.rowNumber, row.key, null));
+                }
+            }
+            return outcomes;
+        });
+    }
+
+    private <T> RosterImportReport run(String type, String importId, File file, String filename,
+            RowMapper<T> mapper, BatchWriter<T> writer) throws IOException {
+        long start = System.currentTimeMillis();
+        RosterImportReport report = new RosterImportReport(importId != null ? importId : UUID.randomUUID().toString(),
+                type);
+        List<PendingRow<T>> batch = new ArrayList<>(batchSize);
+
+        try {
+            SpreadsheetRowReader.read(file, filename, (rowNumber, values) -> {
+                PendingRow<T> row = mapper.map(rowNumber, values);
+                if (row.skipReason != null) {
+                    report.skip(row.rowNumber, row.key, row.skipReason);
+                    return;
+                }
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    commit(batch, writer, report);
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                commit(batch, writer, report);
+            }
+        } catch (IOException | RuntimeException e) {
+            report.setError(e.getMessage());
+            throw e;
+        } finally {
+            report.setDone(true);
+            report.setDurationMs(System.currentTimeMillis() - start);
+            publish(report);
+            System.out.println("Roster import " + report.getImportId() + " (" + type + "): " + report.getAccepted()
+                    + " accepted, " + report.getSkipped() + " skipped in " + report.getDurationMs() + " ms");
+        }
+        return report;
+    }
+
+    private <T> void commit(List<PendingRow<T>> batch, BatchWriter<T> writer, RosterImportReport report) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<Outcome> outcomes;
+        try {
+            outcomes = tx.execute(status -> writer.write(batch));
+        } catch (RuntimeException batchFailure) {
+            // Retry one row per transaction so a single bad row does not sink the batch
+            outcomes = new ArrayList<>(batch.size());
+            for (PendingRow<T> row : batch) {
+                try {
+                    outcomes.addAll(tx.execute(status -> writer.write(List.of(row))));
+                } catch (RuntimeException rowFailure) {
+                    outcomes.add(new Outcome(row.rowNumber, row.key, rowFailure.getMessage()));
+                }
+            }
+        }
+
+        for (Outcome outcome : outcomes) {
+            if (outcome.skipReason == null) {
+                report.accept();
+            } else {
+                report.skip(outcome.rowNumber, outcome.key, outcome.skipReason);
+            }
+        }
+        report.batchCommitted();
+        publish(report);
+    }
+
+    private void publish(RosterImportReport report) {
+        try {
+            messagingTemplate.convertAndSend("/topic/imports/" + report.getImportId(), (Object) report);
+        } catch (Exception e) {
+            System.err.println("Failed to publish import progress: " + e.getMessage());
+        }
+    }
+
+    private static String first(Map<String, String> values, String... keys) {
+        for (String key : keys) {
+            String value = values.get(key);
+            if (value != null && !value.isBlank()) {
+                return value.trim();
+            }
+        }
+        return null;
+    }
+
+    private static String orDefault(String value, String fallback) {
+        return value != null ? value : fallback;
+    }
+
+    private static LocalDate parseDate(String value) {
+        return value != null ? LocalDate.parse(value) : null;
+    }
+
+    private static <E extends Enum<E>> boolean isEnumValue(Class<E> type, String value) {
+        try {
+            Enum.valueOf(type, value);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        PendingRow<T> map(int rowNumber, Map<String, String> values);
+    }
+
+    @FunctionalInterface
+    private interface BatchWriter<T> {
+        List<Outcome> write(List<PendingRow<T>> rows);
+    }
+
+    private record PendingRow<T>(int rowNumber, String key, T value, String skipReason) {
+        PendingRow(int rowNumber, String key, T value) {
+            this(rowNumber, key, value, null);
+        }
+
+        static <T> PendingRow<T> skip(int rowNumber, String key, String reason) {
+            return new PendingRow<>(rowNumber, key, null, reason);
+        }
+    }
+
+    private record Outcome(int rowNumber, String key, String skipReason) {
+    }
+
+    private record CandidateRow(Candidate candidate, String cohortCode) {
+    }
+}
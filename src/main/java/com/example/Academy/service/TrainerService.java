@@ -30,6 +30,9 @@ public class TrainerService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ReportCache reportCache;
+
     public List<Trainer> getAllTrainers() {
         return trainerRepository.findAll();
     }
@@ -94,6 +97,7 @@ public class TrainerService {
                     cohort.setBehavioralTrainer(userOpt.orElse(null));
                 }
                 cohortRepository.save(cohort);
+                reportCache.invalidateCohort(cohortId);
             });
         });
     }
@@ -0,0 +1,69 @@
+package com.example.Academy.service;
+
+import com.example.Academy.dto.user.UserIdentity;
+import com.example.Academy.entity.User;
+import com.example.Academy.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves users to id/name/avatar projections, by id or by display name.
+ *
+ * Name lookups go through the indexed users.name_key column (trimmed, lower
+ * case), so matching is case-insensitive without scanning every user.
+ */
+@Service
+public class UserIdentityService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillNameKeys() {
+        int filled = userRepository.backfillNameKeys();
+        if (filled > 0) {
+            System.out.println("User identity: filled name_key for " + filled + " users.");
+        }
+    }
+
+    public Map<Long, UserIdentity> findByIds(Collection<Long> ids) {
+        Set<Long> distinct = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinct.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, UserIdentity> byId = new HashMap<>();
+        for (UserIdentity identity : userRepository.findIdentitiesByIdIn(distinct)) {
+            byId.put(identity.getId(), identity);
+        }
+        return byId;
+    }
+
+    /**
+     * Returns the matching users keyed by {@link User#normalizeName(String)}.
+     * When several users share a name the one with the lowest id wins.
+     */
+    public Map<String, UserIdentity> findByNames(Collection<String> names) {
+        Set<String> keys = names.stream().map(User::normalizeName).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, UserIdentity> byName = new HashMap<>();
+        for (UserIdentity identity : userRepository.findIdentitiesByNameKeyIn(keys)) {
+            byName.merge(User.normalizeName(identity.getName()), identity,
+                    (a, b) -> a.getId() <= b.getId() ? a : b);
+        }
+        return byName;
+    }
+}
@@ -4,10 +4,13 @@ import com.example.Academy.dto.user.CreateUserRequest;
 import com.example.Academy.dto.user.UpdateUserRequest;
 import com.example.Academy.entity.User;
 import com.example.Academy.repository.UserRepository;
+import com.example.Academy.security.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +25,12 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private AvatarStore avatarStore;
+
     public User createUser(User user) {
         if (userRepository.existsByEmpId(user.getEmpId())) {
             throw new RuntimeException("Employee ID already exists");
@@ -44,6 +53,14 @@ public class UserService {
             throw new RuntimeException("Email already exists");
         }
 
+        return userRepository.save(newUser(request));
+    }
+
+    /**
+     * Builds an active user from the request without checking for duplicates or
+     * saving it; callers that have already checked a whole batch save it themselves.
+     */
+    public User newUser(CreateUserRequest request) {
         User user = new User();
         user.setEmpId(request.getEmpId());
         user.setName(request.getName());
@@ -60,7 +77,7 @@ public class UserService {
         user.setAssignedCohorts(0);
         user.setCreatedAt(java.time.LocalDateTime.now());
 
-        return userRepository.save(user);
+        return user;
     }
 
     public List<User> createUsers(List<CreateUserRequest> requests) {
@@ -89,6 +106,8 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        String previousEmail = user.getEmail();
+
         // Check for duplicate empId
         if (!user.getEmpId().equals(userDetails.getEmpId()) &&
                 userRepository.existsByEmpId(userDetails.getEmpId())) {
@@ -129,6 +148,7 @@ public class UserService {
         user.setTrainingStartDate(userDetails.getTrainingStartDate());
         user.setTrainingEndDate(userDetails.getTrainingEndDate());
         user.setUpdatedAt(java.time.LocalDateTime.now());
+        evictUserDetails(previousEmail, user.getEmail());
         return userRepository.save(user);
     }
 
@@ -146,6 +166,7 @@ public class UserService {
             throw new RuntimeException("Email already exists");
         }
 
+        evictUserDetails(user.getEmail(), request.getEmail());
         user.setEmpId(request.getEmpId());
         user.setName(request.getName());
         user.setEmail(request.getEmail());
@@ -156,6 +177,7 @@ public class UserService {
     }
 
     public void deleteUser(Long id) {
+        userRepository.findById(id).ifPresent(user -> evictUserDetails(user.getEmail()));
         userRepository.deleteById(id);
     }
 
@@ -167,7 +189,7 @@ public class UserService {
         user.setLocation(location);
 
         if (avatarFile != null && !avatarFile.isEmpty()) {
-            String avatarUrl = saveAvatar(avatarFile);
+            String avatarUrl = avatarStore.store(avatarFile);
             user.setAvatar(avatarUrl);
         }
 
@@ -175,25 +197,6 @@ public class UserService {
         return userRepository.save(user);
     }
 
-    private String saveAvatar(org.springframework.web.multipart.MultipartFile file) {
-        try {
-            String uploadDir = "profiles/";
-            java.io.File directory = new java.io.File(uploadDir);
-            if (!directory.exists()) {
-                directory.mkdirs();
-            }
-
-            String filename = System.currentTimeMillis() + "_" + file.getOriginalFilename();
-            java.nio.file.Path filePath = java.nio.file.Paths.get(uploadDir, filename);
-            java.nio.file.Files.copy(file.getInputStream(), filePath,
-                    java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-
-            return "/profiles/" + filename;
-        } catch (java.io.IOException e) {
-            throw new RuntimeException("Failed to store avatar file", e);
-        }
-    }
-
     public void updatePassword(Long userId, String currentPassword, String newPassword) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -205,6 +208,7 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setUpdatedAt(java.time.LocalDateTime.now());
         userRepository.save(user);
+        evictUserDetails(user.getEmail());
     }
 
     public boolean authenticateUser(String empId, String password) {
@@ -227,4 +231,23 @@ public class UserService {
                 User.Status.valueOf(status));
     }
 
-}
\ No newline at end of file
+    /**
+     * Drops cached security details now and again after commit, so a request
+     * racing the update cannot re-cache the old credentials or role.
+     */
+    private void evictUserDetails(String... emails) {
+        for (String email : emails) {
+            userDetailsCache.evict(email);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    for (String email : emails) {
+                        userDetailsCache.evict(email);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.Academy.service;
+
+import com.example.Academy.entity.StakeholderEffort;
+import com.example.Academy.entity.WeeklySummary;
+import com.example.Academy.repository.WeeklySummaryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Applies changes to WeeklySummary rows without rebuilding them from raw
+ * efforts.
+ *
+ * Writes for the same (cohortId, weekStart) are serialized by a striped
+ * in-process lock that is held until the surrounding transaction completes.
+ * The row itself is changed by a single atomic UPDATE that also bumps the
+ * entity's optimistic version, so a stale JPA save of the same summary fails
+ * instead of silently overwriting the totals. Each transaction should touch a
+ * single cohort/week to keep lock ordering trivial.
+ */
+@Service
+@Transactional
+public class WeeklySummaryUpdater {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    @Autowired
+    private WeeklySummaryRepository weeklySummaryRepository;
+
+    @Autowired
+    private FeedbackSessionCache feedbackSessionCache;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public WeeklySummaryUpdater() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Adds signed hours for one role to the cohort's summary for the given week,
+     * creating the summary row if needed.
+     */
+    public void applyDelta(Long cohortId, LocalDate weekStart, StakeholderEffort.Role role, BigDecimal hours,
+            String submittedByName, Long submittedByUserId) {
+        BigDecimal tech = role == StakeholderEffort.Role.TRAINER ? hours : BigDecimal.ZERO;
+        BigDecimal behavioral = role == StakeholderEffort.Role.BH_TRAINER ? hours : BigDecimal.ZERO;
+        BigDecimal mentor = role == StakeholderEffort.Role.MENTOR ? hours : BigDecimal.ZERO;
+        BigDecimal buddy = role == StakeholderEffort.Role.BUDDY_MENTOR ? hours : BigDecimal.ZERO;
+
+        runLocked(cohortId, weekStart, () -> {
+            weeklySummaryRepository.insertIfAbsent(cohortId, weekStart, weekStart.plusDays(6));
+            weeklySummaryRepository.incrementHours(cohortId, weekStart, hours, tech, behavioral, mentor, buddy,
+                    submittedByName, submittedByUserId);
+        });
+        feedbackSessionCache.evictCohort(cohortId);
+        reportCache.invalidate(cohortId, weekStart, weekStart.plusDays(6));
+    }
+
+    /**
+     * Overwrites the week's totals, used when a whole week is resubmitted. Holidays
+     * are only replaced when a list is given.
+     */
+    public void replaceWeek(Long cohortId, LocalDate weekStart, BigDecimal techHours, BigDecimal bhHours,
+            BigDecimal mentorHours, BigDecimal buddyHours, List<LocalDate> holidays, String submittedByName,
+            Long submittedByUserId) {
+        BigDecimal totalHours = techHours.add(bhHours).add(mentorHours).add(buddyHours);
+        String holidaysStr = holidays != null
+                ? holidays.stream().map(LocalDate::toString).collect(Collectors.joining(","))
+                : null;
+
+        runLocked(cohortId, weekStart, () -> {
+            weeklySummaryRepository.insertIfAbsent(cohortId, weekStart, weekStart.plusDays(6));
+            weeklySummaryRepository.replaceHours(cohortId, weekStart, totalHours, techHours, bhHours, mentorHours,
+                    buddyHours, holidaysStr, submittedByName, submittedByUserId);
+        });
+        feedbackSessionCache.evictCohort(cohortId);
+        reportCache.invalidate(cohortId, weekStart, weekStart.plusDays(6));
+    }
+
+    /**
+     * Loads the summary as last written by this updater, bypassing any stale copy
+     * held in the persistence context.
+     */
+    public Optional<WeeklySummary> loadCurrent(Long cohortId, LocalDate weekStart) {
+        Optional<WeeklySummary> summary = weeklySummaryRepository.findByCohortIdAndWeekStartDate(cohortId, weekStart);
+        summary.ifPresent(entityManager::refresh);
+        return summary;
+    }
+
+    private void runLocked(Long cohortId, LocalDate weekStart, Runnable action) {
+        ReentrantLock lock = locks[Math.floorMod(Objects.hash(cohortId, weekStart), LOCK_STRIPES)];
+        lock.lock();
+        boolean releaseOnCompletion = false;
+        try {
+            // Hold the stripe until commit/rollback so the next writer sees our totals
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        lock.unlock();
+                    }
+                });
+                releaseOnCompletion = true;
+            }
+            action.run();
+        } finally {
+            if (!releaseOnCompletion) {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -2,129 +2,167 @@ package com.example.Academy.util;
 
 import com.example.Academy.entity.Feedback;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Builds the six per-stakeholder feedback workbooks mailed with the weekly
+ * report.
+ *
+ * The feedback list is walked once: every row is routed to all six sheets and
+ * column widths are estimated from the longest value seen, since
+ * autoSizeColumn is both slow and unavailable on streamed rows. The workbooks
+ * are then written with SXSSF in parallel on a small shared pool, or as one
+ * multi-sheet workbook via {@link #generateCombined(List)}.
+ */
 public class ComprehensiveFeedbackReportGenerator {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
 
-    public static java.util.Map<String, byte[]> generate(List<Feedback> feedbackList) throws IOException {
-        java.util.Map<String, byte[]> attachments = new java.util.HashMap<>();
+    // Rows kept in memory by SXSSF before older rows are flushed to a temp file
+    private static final int STREAMING_ROW_WINDOW = 200;
 
-        attachments.put("Technical_Feedback.xlsx", createWorkbookBytes(feedbackList, "TECHNICAL"));
-        attachments.put("Mentor_Feedback.xlsx", createWorkbookBytes(feedbackList, "MENTOR"));
-        attachments.put("Coach_Feedback.xlsx", createWorkbookBytes(feedbackList, "COACH"));
-        attachments.put("Buddy_Mentor_Feedback.xlsx", createWorkbookBytes(feedbackList, "BUDDY"));
-        attachments.put("Behavioral_Feedback.xlsx", createWorkbookBytes(feedbackList, "BEHAVIORAL"));
-        attachments.put("Overall_Feedback.xlsx", createWorkbookBytes(feedbackList, "OVERALL"));
+    // Estimated widths in characters; long free-text answers wrap past the cap
+    private static final int MIN_COLUMN_CHARS = 8;
+    private static final int MAX_COLUMN_CHARS = 60;
 
-        return attachments;
-    }
+    private static final int POOL_SIZE = Math.max(1, Math.min(6, Runtime.getRuntime().availableProcessors()));
 
-    private static byte[] createWorkbookBytes(List<Feedback> feedbackList, String type) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook()) {
-            switch (type) {
-                case "TECHNICAL":
-                    createTechnicalSheet(workbook, feedbackList);
-                    break;
-                case "MENTOR":
-                    createMentorSheet(workbook, feedbackList);
-                    break;
-                case "COACH":
-                    createCoachSheet(workbook, feedbackList);
-                    break;
-                case "BUDDY":
-                    createBuddySheet(workbook, feedbackList);
-                    break;
-                case "BEHAVIORAL":
-                    createBehavioralSheet(workbook, feedbackList);
-                    break;
-                case "OVERALL":
-                    createOverallSheet(workbook, feedbackList);
-                    break;
-            }
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            workbook.write(out);
-            return out.toByteArray();
-        }
-    }
-
-    private static void createTechnicalSheet(Workbook workbook, List<Feedback> feedbackList) {
-        Sheet sheet = workbook.createSheet("Technical Feedback");
-        String[] headers = {
-                "Week", "Candidate ID", "Technical Session Held?", "Course Content Rating",
-                "Technical Knowledge Rating", "Trainer Engagement Rating", "Concepts Schedule Rating",
-                "Udemy Recap Rating", "Additional Scenario Rating", "Low Score Explanation"
-        };
-        createSheetContent(workbook, sheet, headers, feedbackList, "TECHNICAL");
-    }
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(POOL_SIZE, new ThreadFactory() {
+        private final AtomicInteger index = new AtomicInteger();
 
-    private static void createMentorSheet(Workbook workbook, List<Feedback> feedbackList) {
-        Sheet sheet = workbook.createSheet("Mentor Feedback");
-        String[] headers = {
-                "Week", "Candidate ID", "Mentor Session Held?", "Mentor Guidance Rating",
-                "Low Score Explanation"
-        };
-        createSheetContent(workbook, sheet, headers, feedbackList, "MENTOR");
-    }
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "feedback-report-" + index.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    });
+
+    private static final List<SheetSpec> SHEETS = List.of(
+            new SheetSpec("Technical_Feedback.xlsx", "Technical Feedback", new String[] {
+                    "Week", "Candidate ID", "Technical Session Held?", "Course Content Rating",
+                    "Technical Knowledge Rating", "Trainer Engagement Rating", "Concepts Schedule Rating",
+                    "Udemy Recap Rating", "Additional Scenario Rating", "Low Score Explanation"
+            }, f -> new Object[] {
+                    week(f), getSafeString(f.getEmployeeId()), getSafeBoolean(f.getIsTechnicalSessionHeld()),
+                    getSafeInt(f.getCourseContentRating()), getSafeInt(f.getTechnicalKnowledgeRating()),
+                    getSafeInt(f.getTrainerEngagementRating()), getSafeInt(f.getConceptsScheduleRating()),
+                    getSafeInt(f.getUdemyRecapRating()), getSafeInt(f.getAdditionalScenarioRating()),
+                    getSafeString(f.getTechnicalLowScoreExplanation())
+            }),
+            new SheetSpec("Mentor_Feedback.xlsx", "Mentor Feedback", new String[] {
+                    "Week", "Candidate ID", "Mentor Session Held?", "Mentor Guidance Rating",
+                    "Low Score Explanation"
+            }, f -> new Object[] {
+                    week(f), getSafeString(f.getEmployeeId()), getSafeBoolean(f.getIsMentorSessionHeld()),
+                    getSafeInt(f.getMentorGuidanceRating()), getSafeString(f.getMentorLowScoreExplanation())
+            }),
+            new SheetSpec("Coach_Feedback.xlsx", "Coach Feedback", new String[] {
+                    "Week", "Candidate ID", "Coach Effectiveness Rating", "Low Score Explanation"
+            }, f -> new Object[] {
+                    week(f), getSafeString(f.getEmployeeId()), getSafeInt(f.getCoachEffectivenessRating()),
+                    getSafeString(f.getCoachLowScoreExplanation())
+            }),
+            new SheetSpec("Buddy_Mentor_Feedback.xlsx", "Buddy Mentor Feedback", new String[] {
+                    "Week", "Candidate ID", "Did Buddy Connect?", "Doubts Clarified?",
+                    "Buddy Guidance Rating", "Suggestions"
+            }, f -> new Object[] {
+                    week(f), getSafeString(f.getEmployeeId()), getSafeBoolean(f.getDidBuddyMentorConnect()),
+                    getSafeBoolean(f.getWereDoubtsClarified()), getSafeInt(f.getBuddyMentorGuidanceRating()),
+                    getSafeString(f.getBuddyMentorSuggestions())
+            }),
+            new SheetSpec("Behavioral_Feedback.xlsx", "Behavioral Feedback", new String[] {
+                    "Week", "Candidate ID", "Session Held?", "Delivery Rating",
+                    "Low Score Explanation"
+            }, f -> new Object[] {
+                    week(f), getSafeString(f.getEmployeeId()), getSafeBoolean(f.getIsBehavioralSessionHeld()),
+                    getSafeInt(f.getBehavioralDeliveryRating()), getSafeString(f.getBehavioralLowScoreExplanation())
+            }),
+            new SheetSpec("Overall_Feedback.xlsx", "Overall Feedback", new String[] {
+                    "Week", "Candidate ID", "Overall Satisfaction", "Created At"
+            }, f -> new Object[] {
+                    week(f), getSafeString(f.getEmployeeId()), getSafeInt(f.getOverallSatisfaction()),
+                    f.getCreatedAt() != null ? f.getCreatedAt().format(DATE_FORMATTER) : ""
+            }));
+
+    /**
+     * Returns one workbook per stakeholder sheet, keyed by attachment file name.
+     * The returned map is mutable so callers can add further attachments.
+     */
+    public static Map<String, byte[]> generate(List<Feedback> feedbackList) throws IOException {
+        List<SheetData> sheets = route(feedbackList);
+
+        List<Future<byte[]>> futures = new ArrayList<>(sheets.size());
+        for (SheetData sheet : sheets) {
+            futures.add(POOL.submit(() -> writeWorkbook(List.of(sheet))));
+        }
 
-    private static void createCoachSheet(Workbook workbook, List<Feedback> feedbackList) {
-        Sheet sheet = workbook.createSheet("Coach Feedback");
-        String[] headers = {
-                "Week", "Candidate ID", "Coach Effectiveness Rating", "Low Score Explanation"
-        };
-        createSheetContent(workbook, sheet, headers, feedbackList, "COACH");
+        Map<String, byte[]> attachments = new LinkedHashMap<>();
+        for (int i = 0; i < sheets.size(); i++) {
+            attachments.put(sheets.get(i).spec.fileName, await(futures.get(i)));
+        }
+        return attachments;
     }
 
-    private static void createBuddySheet(Workbook workbook, List<Feedback> feedbackList) {
-        Sheet sheet = workbook.createSheet("Buddy Mentor Feedback");
-        String[] headers = {
-                "Week", "Candidate ID", "Did Buddy Connect?", "Doubts Clarified?",
-                "Buddy Guidance Rating", "Suggestions"
-        };
-        createSheetContent(workbook, sheet, headers, feedbackList, "BUDDY");
+    /**
+     * Returns all six stakeholder sheets in a single workbook.
+     */
+    public static byte[] generateCombined(List<Feedback> feedbackList) throws IOException {
+        return writeWorkbook(route(feedbackList));
     }
 
-    private static void createBehavioralSheet(Workbook workbook, List<Feedback> feedbackList) {
-        Sheet sheet = workbook.createSheet("Behavioral Feedback");
-        String[] headers = {
-                "Week", "Candidate ID", "Session Held?", "Delivery Rating",
-                "Low Score Explanation"
-        };
-        createSheetContent(workbook, sheet, headers, feedbackList, "BEHAVIORAL");
+    // Single pass over the feedback, filling every sheet's rows and widths
+    private static List<SheetData> route(List<Feedback> feedbackList) {
+        List<SheetData> sheets = new ArrayList<>(SHEETS.size());
+        for (SheetSpec spec : SHEETS) {
+            sheets.add(new SheetData(spec, feedbackList.size()));
+        }
+        for (Feedback f : feedbackList) {
+            for (SheetData sheet : sheets) {
+                sheet.add(sheet.spec.rowMapper.apply(f));
+            }
+        }
+        return sheets;
     }
 
-    private static void createOverallSheet(Workbook workbook, List<Feedback> feedbackList) {
-        Sheet sheet = workbook.createSheet("Overall Feedback");
-        String[] headers = {
-                "Week", "Candidate ID", "Overall Satisfaction", "Created At"
-        };
-        createSheetContent(workbook, sheet, headers, feedbackList, "OVERALL");
+    private static byte[] writeWorkbook(List<SheetData> sheets) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(STREAMING_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            CellStyle headerStyle = createHeaderStyle(workbook);
+            for (SheetData data : sheets) {
+                writeSheet(workbook.createSheet(data.spec.sheetName), data, headerStyle);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            return out.toByteArray();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
     }
 
-    private static void createSheetContent(Workbook workbook, Sheet sheet, String[] headers,
-            List<Feedback> feedbackList, String type) {
-        // Styles
-        CellStyle headerStyle = workbook.createCellStyle();
-        Font headerFont = workbook.createFont();
-        headerFont.setBold(true);
-        headerStyle.setFont(headerFont);
-        headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        headerStyle.setBorderBottom(BorderStyle.THIN);
-
-        CellStyle dataStyle = workbook.createCellStyle();
-        dataStyle.setBorderBottom(BorderStyle.THIN);
-        dataStyle.setBorderLeft(BorderStyle.THIN);
-        dataStyle.setBorderRight(BorderStyle.THIN);
-        dataStyle.setBorderTop(BorderStyle.THIN);
+    private static void writeSheet(Sheet sheet, SheetData data, CellStyle headerStyle) {
+        String[] headers = data.spec.headers;
+        for (int i = 0; i < headers.length; i++) {
+            sheet.setColumnWidth(i, Math.min(Math.max(data.widths[i], MIN_COLUMN_CHARS), MAX_COLUMN_CHARS) * 256 + 512);
+        }
 
-        // Header Row
         Row headerRow = sheet.createRow(0);
         for (int i = 0; i < headers.length; i++) {
             Cell cell = headerRow.createCell(i);
@@ -132,91 +170,48 @@ public class ComprehensiveFeedbackReportGenerator {
             cell.setCellStyle(headerStyle);
         }
 
-        // Data Rows
         int rowNum = 1;
-        for (Feedback f : feedbackList) {
+        for (Object[] values : data.rows) {
             Row row = sheet.createRow(rowNum++);
-            int col = 0;
-
-            // Common columns first if needed, but per sheet is better
-            // Assuming Candidate ID is available via feedbackRequest -> Candidate mapping?
-            // Wait, Feedback entity doesn't link to Candidate directly?
-            // Let's check Feedback.java again. It links to FeedbackRequest.
-            // FeedbackRequest links to Cohort.
-            // FeedbackRepository likely stores `employee_id` or similar?
-            // Let's check Feedback.java again...
-            // Ah, I missed checking if Feedback has Candidate info.
-
-            // Re-checking Feedback.java content:
-            // "private FeedbackRequest feedbackRequest;"
-            // It doesn't seem to have Candidate info directly in the fields I saw.
-            // Wait, I only saw lines 1-100.
-            // I need to check lines 100+ of Feedback.java to see if `candidateName` or
-            // `employeeId` is there.
-            // The previous SQL logs showed: `f1_0.candidate_name`, `f1_0.employee_id`.
-            // So they must be there. I will assume getters exist: getCandidateName(),
-            // getEmployeeId().
-
-            row.createCell(col++).setCellValue(f.getWeekNumber());
-            // Using employeeId as a proxy for Candidate ID
-            // I'll use a placeholder getter for now and verify later if I need to.
-            // Based on SQL logs `f1_0.employee_id`, I assume `getEmployeeId()` exists.
-
-            // Check if I can see getEmployeeId in the view_file output...
-            // The view_file output ended at line 100.
-            // I'll assume they exist.
-
-            switch (type) {
-                case "TECHNICAL":
-                    row.createCell(col++).setCellValue(getSafeString(f.getEmployeeId()));
-                    row.createCell(col++).setCellValue(getSafeBoolean(f.getIsTechnicalSessionHeld()));
-                    row.createCell(col++).setCellValue(getSafeInt(f.getCourseContentRating()));
-                    row.createCell(col++).setCellValue(getSafeInt(f.getTechnicalKnowledgeRating()));
-                    row.createCell(col++).setCellValue(getSafeInt(f.getTrainerEngagementRating()));
-                    row.createCell(col++).setCellValue(getSafeInt(f.getConceptsScheduleRating()));
-                    row.createCell(col++).setCellValue(getSafeInt(f.getUdemyRecapRating()));
-                    row.createCell(col++).setCellValue(getSafeInt(f.getAdditionalScenarioRating()));
-                    row.createCell(col++).setCellValue(getSafeString(f.getTechnicalLowScoreExplanation()));
-                    break;
-                case "MENTOR":
-                    row.createCell(col++).setCellValue(getSafeString(f.getEmployeeId()));
-                    row.createCell(col++).setCellValue(getSafeBoolean(f.getIsMentorSessionHeld()));
-                    row.createCell(col++).setCellValue(getSafeInt(f.getMentorGuidanceRating()));
-                    row.createCell(col++).setCellValue(getSafeString(f.getMentorLowScoreExplanation()));
-                    break;
-                case "COACH":
-                    row.createCell(col++).setCellValue(getSafeString(f.getEmployeeId()));
-                    row.createCell(col++).setCellValue(getSafeInt(f.getCoachEffectivenessRating()));
-                    row.createCell(col++).setCellValue(getSafeString(f.getCoachLowScoreExplanation()));
-                    break;
-                case "BUDDY":
-                    row.createCell(col++).setCellValue(getSafeString(f.getEmployeeId()));
-                    row.createCell(col++).setCellValue(getSafeBoolean(f.getDidBuddyMentorConnect()));
-                    row.createCell(col++).setCellValue(getSafeBoolean(f.getWereDoubtsClarified()));
-                    row.createCell(col++).setCellValue(getSafeInt(f.getBuddyMentorGuidanceRating()));
-                    row.createCell(col++).setCellValue(getSafeString(f.getBuddyMentorSuggestions()));
-                    break;
-                case "BEHAVIORAL":
-                    row.createCell(col++).setCellValue(getSafeString(f.getEmployeeId()));
-                    row.createCell(col++).setCellValue(getSafeBoolean(f.getIsBehavioralSessionHeld()));
-                    row.createCell(col++).setCellValue(getSafeInt(f.getBehavioralDeliveryRating()));
-                    row.createCell(col++).setCellValue(getSafeString(f.getBehavioralLowScoreExplanation()));
-                    break;
-                case "OVERALL":
-                    row.createCell(col++).setCellValue(getSafeString(f.getEmployeeId()));
-                    row.createCell(col++).setCellValue(getSafeInt(f.getOverallSatisfaction()));
-                    row.createCell(col++)
-                            .setCellValue(f.getCreatedAt() != null ? f.getCreatedAt().format(DATE_FORMATTER) : "");
-                    break;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] instanceof Double d) {
+                    row.createCell(i).setCellValue(d);
+                } else {
+                    row.createCell(i).setCellValue((String) values[i]);
+                }
             }
         }
+    }
 
-        // Auto-size columns
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
+    private static CellStyle createHeaderStyle(Workbook workbook) {
+        CellStyle headerStyle = workbook.createCellStyle();
+        Font headerFont = workbook.createFont();
+        headerFont.setBold(true);
+        headerStyle.setFont(headerFont);
+        headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        headerStyle.setBorderBottom(BorderStyle.THIN);
+        return headerStyle;
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Feedback report generation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Feedback report generation failed", e.getCause());
         }
     }
 
+    private static Double week(Feedback f) {
+        return f.getWeekNumber() != null ? f.getWeekNumber().doubleValue() : 0.0;
+    }
+
     private static String getSafeString(String val) {
         return val != null ? val : "";
     }
@@ -228,4 +223,33 @@ public class ComprehensiveFeedbackReportGenerator {
     private static String getSafeBoolean(Boolean val) {
         return val != null ? (val ? "Yes" : "No") : "No";
     }
+
+    private record SheetSpec(String fileName, String sheetName, String[] headers,
+            Function<Feedback, Object[]> rowMapper) {
+    }
+
+    private static class SheetData {
+        private final SheetSpec spec;
+        private final List<Object[]> rows;
+        private final int[] widths;
+
+        SheetData(SheetSpec spec, int expectedRows) {
+            this.spec = spec;
+            this.rows = new ArrayList<>(expectedRows);
+            this.widths = new int[spec.headers.length];
+            for (int i = 0; i < widths.length; i++) {
+                widths[i] = spec.headers[i].length();
+            }
+        }
+
+        void add(Object[] values) {
+            rows.add(values);
+            for (int i = 0; i < values.length; i++) {
+                int length = values[i] instanceof String s ? s.length() : 4;
+                if (length > widths[i]) {
+                    widths[i] = length;
+                }
+            }
+        }
+    }
 }
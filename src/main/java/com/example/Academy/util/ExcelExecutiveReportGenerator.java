@@ -2,16 +2,41 @@ package com.example.Academy.util;
 
 import com.example.Academy.dto.report.ExecutiveReportData;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
 
 public class ExcelExecutiveReportGenerator {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
 
+    private static final String[] HEADERS = {
+            "Cohort Code", "BU", "Skill", "Active GenC Count", "Training Location",
+            "Mapped Trainer Type (Internal/External)", "Internal SME /External SME/Mentor ID",
+            "Internal SME /External SME/Mentor Name",
+            "SME/Mentor/Buddy Mentor/MFRP Contributor", "Mode in which trainer connected (Virtual/In-Person)",
+            "Reason for virtual connect of the trainer", "Area of Work", "Effort in Hours",
+            "Date", "Month", "Updated By", "Updated Date"
+    };
+
+    // Precomputed widths (1/256th of a character) used by the streaming writer, where
+    // autoSizeColumn is unavailable for rows already flushed to disk.
+    private static final int[] STREAMING_COLUMN_WIDTHS = {
+            4500, 3500, 5000, 3500, 4500,
+            5500, 5500, 6500,
+            5500, 5500,
+            7000, 9000, 3500,
+            3500, 3500, 5000, 3500
+    };
+
+    // Rows kept in memory by SXSSF before older rows are flushed to a temp file
+    private static final int STREAMING_ROW_WINDOW = 200;
+
     public static byte[] generate(ExecutiveReportData data) throws IOException {
         try (Workbook workbook = new XSSFWorkbook()) {
             Sheet sheet = workbook.createSheet("Governance Telemetry");
@@ -20,70 +45,14 @@ public class ExcelExecutiveReportGenerator {
             CellStyle headerStyle = createHeaderStyle(workbook);
             CellStyle dataStyle = createDataStyle(workbook);
 
-            CellStyle dateStyle = workbook.createCellStyle();
-            dateStyle.cloneStyleFrom(dataStyle);
-            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd-mmm-yyyy"));
-
             // 2. MAIN DATA TABLE (Row 0)
             int rowNum = 0;
-            Row headerRow = sheet.createRow(rowNum++);
-            headerRow.setHeightInPoints(30);
-            String[] headers = {
-                    "Cohort Code", "BU", "Skill", "Active GenC Count", "Training Location",
-                    "Mapped Trainer Type (Internal/External)", "Internal SME /External SME/Mentor ID",
-                    "Internal SME /External SME/Mentor Name",
-                    "SME/Mentor/Buddy Mentor/MFRP Contributor", "Mode in which trainer connected (Virtual/In-Person)",
-                    "Reason for virtual connect of the trainer", "Area of Work", "Effort in Hours",
-                    "Date", "Month", "Updated By", "Updated Date"
-            };
-
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
+            writeHeaderRow(sheet.createRow(rowNum++), headerStyle);
 
             // 3. DATA ROWS
             if (data.getDetailedLogs() != null) {
                 for (ExecutiveReportData.DetailedEffortLog log : data.getDetailedLogs()) {
-                    Row row = sheet.createRow(rowNum++);
-                    row.setHeightInPoints(22);
-
-                    row.createCell(0).setCellValue(log.getCohortCode());
-                    row.createCell(1).setCellValue(log.getBu());
-                    row.createCell(2).setCellValue(log.getSkill());
-                    row.createCell(3).setCellValue(log.getActiveGencCount() != null ? log.getActiveGencCount() : 0);
-                    row.createCell(4)
-                            .setCellValue(log.getTrainingLocation() != null ? log.getTrainingLocation() : "Remote");
-                    row.createCell(5).setCellValue(log.getMapped());
-                    row.createCell(6).setCellValue(log.getMentorId());
-                    row.createCell(7).setCellValue(log.getMentorName());
-                    row.createCell(8).setCellValue(log.getRole());
-                    row.createCell(9).setCellValue(log.getMode());
-                    row.createCell(10).setCellValue(log.getReasonVirtual());
-                    row.createCell(11).setCellValue(log.getAreaOfVisit());
-                    row.createCell(12).setCellValue(log.getEffortHours().doubleValue());
-
-                    Cell dateCell = row.createCell(13);
-                    if (log.getDate() != null) {
-                        dateCell.setCellValue(log.getDate().format(DATE_FORMATTER));
-                    }
-
-                    row.createCell(14).setCellValue(log.getMonth());
-                    row.createCell(15).setCellValue(log.getUpdatedBy());
-
-                    Cell updateCell = row.createCell(16);
-                    if (log.getUpdatedDate() != null) {
-                        updateCell.setCellValue(log.getUpdatedDate().format(DATE_FORMATTER));
-                    }
-
-                    // Apply style to all cells in row
-                    for (int i = 0; i < headers.length; i++) {
-                        Cell c = row.getCell(i);
-                        if (c != null) {
-                            c.setCellStyle(dataStyle);
-                        }
-                    }
+                    writeDataRow(sheet.createRow(rowNum++), log, dataStyle);
                 }
             }
 
@@ -91,7 +60,7 @@ public class ExcelExecutiveReportGenerator {
             sheet.createFreezePane(0, 1);
 
             // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
+            for (int i = 0; i < HEADERS.length; i++) {
                 sheet.autoSizeColumn(i);
                 if (sheet.getColumnWidth(i) < 3500) {
                     sheet.setColumnWidth(i, 3500);
@@ -104,6 +73,103 @@ public class ExcelExecutiveReportGenerator {
         }
     }
 
+    /**
+     * Opens a windowed SXSSF workbook for the global effort sheet. Rows are
+     * appended one at a time and flushed to a compressed temp file once they leave
+     * the window, so memory use does not depend on the number of rows.
+     */
+    public static StreamingSheetWriter openStreamingWriter() {
+        return new StreamingSheetWriter();
+    }
+
+    public static class StreamingSheetWriter implements Closeable {
+
+        private final SXSSFWorkbook workbook;
+        private final Sheet sheet;
+        private final CellStyle dataStyle;
+        private int rowNum = 0;
+
+        private StreamingSheetWriter() {
+            workbook = new SXSSFWorkbook(STREAMING_ROW_WINDOW);
+            workbook.setCompressTempFiles(true);
+            sheet = workbook.createSheet("Governance Telemetry");
+            dataStyle = createDataStyle(workbook);
+
+            for (int i = 0; i < HEADERS.length; i++) {
+                sheet.setColumnWidth(i, STREAMING_COLUMN_WIDTHS[i]);
+            }
+            writeHeaderRow(sheet.createRow(rowNum++), createHeaderStyle(workbook));
+            sheet.createFreezePane(0, 1);
+        }
+
+        public void writeRow(ExecutiveReportData.DetailedEffortLog log) {
+            writeDataRow(sheet.createRow(rowNum++), log, dataStyle);
+        }
+
+        public int getRowCount() {
+            return rowNum - 1;
+        }
+
+        public void writeTo(OutputStream out) throws IOException {
+            workbook.write(out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private static void writeHeaderRow(Row headerRow, CellStyle headerStyle) {
+        headerRow.setHeightInPoints(30);
+        for (int i = 0; i < HEADERS.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(HEADERS[i]);
+            cell.setCellStyle(headerStyle);
+        }
+    }
+
+    private static void writeDataRow(Row row, ExecutiveReportData.DetailedEffortLog log, CellStyle dataStyle) {
+        row.setHeightInPoints(22);
+
+        row.createCell(0).setCellValue(log.getCohortCode());
+        row.createCell(1).setCellValue(log.getBu());
+        row.createCell(2).setCellValue(log.getSkill());
+        row.createCell(3).setCellValue(log.getActiveGencCount() != null ? log.getActiveGencCount() : 0);
+        row.createCell(4)
+                .setCellValue(log.getTrainingLocation() != null ? log.getTrainingLocation() : "Remote");
+        row.createCell(5).setCellValue(log.getMapped());
+        row.createCell(6).setCellValue(log.getMentorId());
+        row.createCell(7).setCellValue(log.getMentorName());
+        row.createCell(8).setCellValue(log.getRole());
+        row.createCell(9).setCellValue(log.getMode());
+        row.createCell(10).setCellValue(log.getReasonVirtual());
+        row.createCell(11).setCellValue(log.getAreaOfVisit());
+        row.createCell(12).setCellValue(log.getEffortHours().doubleValue());
+
+        Cell dateCell = row.createCell(13);
+        if (log.getDate() != null) {
+            dateCell.setCellValue(log.getDate().format(DATE_FORMATTER));
+        }
+
+        row.createCell(14).setCellValue(log.getMonth());
+        row.createCell(15).setCellValue(log.getUpdatedBy());
+
+        Cell updateCell = row.createCell(16);
+        if (log.getUpdatedDate() != null) {
+            updateCell.setCellValue(log.getUpdatedDate().format(DATE_FORMATTER));
+        }
+
+        // Apply style to all cells in row
+        for (int i = 0; i < HEADERS.length; i++) {
+            Cell c = row.getCell(i);
+            if (c != null) {
+                c.setCellStyle(dataStyle);
+            }
+        }
+    }
+
     private static CellStyle createHeaderStyle(Workbook workbook) {
         CellStyle style = workbook.createCellStyle();
         style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
@@ -0,0 +1,224 @@
+package com.example.Academy.util;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams the rows of an uploaded roster (first sheet of an XLSX, or a CSV)
+ * as header-keyed maps without loading the file into memory.
+ *
+ * XLSX files are parsed with POI's SAX event model, so only the shared strings
+ * table and the current row are held. CSV files are read line by line. Header
+ * names are normalized to lower case with runs of other characters collapsed to
+ * '_' ("Cognizant Email ID" becomes "cognizant_email_id"). Excel dates are
+ * reported as ISO dates and blank rows are skipped.
+ */
+public class SpreadsheetRowReader {
+
+    @FunctionalInterface
+    public interface RowHandler {
+        /**
+         * @param rowNumber 1-based row number in the file, the header being row 1
+         */
+        void row(int rowNumber, Map<String, String> values);
+    }
+
+    public static void read(File file, String filename, RowHandler handler) throws IOException {
+        String name = filename != null ? filename.toLowerCase() : "";
+        if (name.endsWith(".xlsx")) {
+            readXlsx(file, handler);
+        } else if (name.endsWith(".csv")) {
+            readCsv(file, handler);
+        } else {
+            throw new RuntimeException("Unsupported file type, expected .xlsx or .csv");
+        }
+    }
+
+    public static String normalizeHeader(String header) {
+        return header == null ? "" : header.trim().toLowerCase().replaceAll("[^a-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+
+    private static void readXlsx(File file, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings,
+                        new RowCollector(handler), new IsoDateFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Could not read spreadsheet: " + e.getMessage(), e);
+        }
+    }
+
+    private static void readCsv(File file, RowHandler handler) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            List<String> headers = null;
+            int rowNumber = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                rowNumber++;
+                // Quoted fields may span lines; keep reading until the quotes balance
+                StringBuilder record = new StringBuilder(line);
+                while (countQuotes(record) % 2 != 0 && (line = in.readLine()) != null) {
+                    record.append('\n').append(line);
+                }
+                List<String> fields = parseCsvRecord(record.toString());
+                if (headers == null) {
+                    if (!fields.isEmpty() && fields.get(0).startsWith("\uFEFF")) {
+                        fields.set(0, fields.get(0).substring(1));
+                    }
+                    headers = new ArrayList<>();
+                    for (String field : fields) {
+                        headers.add(normalizeHeader(field));
+                    }
+                    continue;
+                }
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < fields.size() && i < headers.size(); i++) {
+                    String value = fields.get(i).trim();
+                    if (!value.isEmpty()) {
+                        values.put(headers.get(i), value);
+                    }
+                }
+                if (!values.isEmpty()) {
+                    handler.row(rowNumber, values);
+                }
+            }
+        }
+    }
+
+    private static int countQuotes(CharSequence s) {
+        int count = 0;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static List<String> parseCsvRecord(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char ch = record.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(ch);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Maps the cells of each sheet row to the header row's names.
+     */
+    private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final RowHandler handler;
+        private final Map<Integer, String> headers = new HashMap<>();
+        private Map<Integer, String> current;
+        private int rowNumber;
+
+        RowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            rowNumber = rowNum + 1;
+            current = new HashMap<>();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (headers.isEmpty()) {
+                current.forEach((col, value) -> headers.put(col, normalizeHeader(value)));
+            } else if (!current.isEmpty()) {
+                Map<String, String> values = new HashMap<>();
+                current.forEach((col, value) -> {
+                    String header = headers.get(col);
+                    if (header != null) {
+                        values.put(header, value);
+                    }
+                });
+                handler.row(rowNumber, values);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (formattedValue == null || formattedValue.isBlank()) {
+                return;
+            }
+            int col = new CellReference(cellReference).getCol();
+            current.put(col, formattedValue.trim());
+        }
+    }
+
+    /**
+     * Formats date cells as yyyy-MM-dd so they parse with LocalDate.parse, and
+     * everything else as displayed in Excel.
+     */
+    private static class IsoDateFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                LocalDate date = DateUtil.getLocalDateTime(value).toLocalDate();
+                return date.toString();
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString);
+        }
+    }
+}
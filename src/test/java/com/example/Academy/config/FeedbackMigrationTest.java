@@ -0,0 +1,83 @@
+package com.example.Academy.config;
+
+import com.example.Academy.entity.Cohort;
+import com.example.Academy.entity.User;
+import com.example.Academy.repository.CohortRepository;
+import com.example.Academy.repository.FeedbackBatchRepository;
+import com.example.Academy.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FeedbackMigrationTest {
+
+    @Autowired
+    private FeedbackMigration migration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CohortRepository cohortRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void removesLaterDuplicatesAndRestoresTheUniqueKey() throws Exception {
+        User coach = userRepository.findByEmpId("coach2001").orElseThrow();
+        Cohort cohort = cohortRepository.save(new Cohort("FBM-" + System.nanoTime(), "BU", "SL", "SBU", "Java",
+                0, "Chennai", LocalDate.of(2026, 1, 5), LocalDate.of(2026, 6, 30), coach));
+        jdbcTemplate.update("INSERT INTO feedback_requests (cohort_id, token, week_number, active, created_at) "
+                + "VALUES (?, ?, 1, TRUE, ?)", cohort.getId(), "tok-" + System.nanoTime(), LocalDateTime.now());
+        Long requestId = jdbcTemplate.queryForObject("SELECT id FROM feedback_requests WHERE cohort_id = ?",
+                Long.class, cohort.getId());
+
+        // Recreate the legacy state: no unique key and repeated Employee IDs
+        jdbcTemplate.execute("ALTER TABLE feedback DROP CONSTRAINT " + FeedbackMigration.CONSTRAINT);
+        assertFalse(migration.hasUniqueKey());
+        Long first = insertFeedback(cohort.getId(), requestId, "E1");
+        insertFeedback(cohort.getId(), requestId, "E1");
+        insertFeedback(cohort.getId(), requestId, "e1");
+        Long other = insertFeedback(cohort.getId(), requestId, "E2");
+        Long anonymous = insertFeedback(cohort.getId(), requestId, null);
+        Long anonymousAgain = insertFeedback(cohort.getId(), requestId, null);
+
+        migration.run();
+
+        List<Long> remaining = jdbcTemplate.queryForList("SELECT id FROM feedback WHERE request_id = ? ORDER BY id",
+                Long.class, requestId);
+        assertEquals(List.of(first, other, anonymous, anonymousAgain), remaining);
+        assertTrue(migration.hasUniqueKey());
+
+        // Only a repeated Employee ID counts as a duplicate submission
+        DataIntegrityViolationException duplicate = assertThrows(DataIntegrityViolationException.class,
+                () -> insertFeedback(cohort.getId(), requestId, "E2"));
+        assertTrue(FeedbackBatchRepository.isDuplicateSubmission(duplicate));
+        DataIntegrityViolationException notNull = assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update("INSERT INTO feedback (cohort_id, request_id, week_number, created_at, "
+                        + "employee_id) VALUES (?, ?, NULL, ?, 'E3')", cohort.getId(), requestId,
+                        LocalDateTime.now()));
+        assertFalse(FeedbackBatchRepository.isDuplicateSubmission(notNull));
+    }
+
+    private Long insertFeedback(Long cohortId, Long requestId, String employeeId) {
+        jdbcTemplate.update("INSERT INTO feedback (cohort_id, request_id, week_number, created_at, employee_id) "
+                + "VALUES (?, ?, 1, ?, ?)", cohortId, requestId, LocalDateTime.now(), employeeId);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM feedback", Long.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.Academy.config;
+
+import com.example.Academy.entity.Cohort;
+import com.example.Academy.entity.StakeholderEffort;
+import com.example.Academy.entity.User;
+import com.example.Academy.repository.CohortRepository;
+import com.example.Academy.repository.StakeholderEffortRepository;
+import com.example.Academy.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class WeeklySummaryMigrationTest {
+
+    @Autowired
+    private WeeklySummaryMigration migration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CohortRepository cohortRepository;
+
+    @Autowired
+    private StakeholderEffortRepository effortRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void mergesDuplicateAndNonMondayWeeksAndRestoresTheUniqueKey() throws Exception {
+        User coach = userRepository.findByEmpId("coach2001").orElseThrow();
+        Cohort cohort = cohortRepository.save(new Cohort("MIG-" + System.nanoTime(), "BU", "SL", "SBU", "Java",
+                10, "Chennai", LocalDate.of(2026, 1, 5), LocalDate.of(2026, 6, 30), coach));
+        LocalDate monday = LocalDate.of(2026, 4, 6);
+        effortRepository.save(new StakeholderEffort(cohort, coach, StakeholderEffort.Role.TRAINER,
+                StakeholderEffort.Mode.VIRTUAL, "work", BigDecimal.valueOf(3), monday.plusDays(1), "APRIL", coach));
+        effortRepository.save(new StakeholderEffort(cohort, coach, StakeholderEffort.Role.MENTOR,
+                StakeholderEffort.Mode.VIRTUAL, "work", BigDecimal.valueOf(2), monday.plusDays(3), "APRIL", coach));
+
+        // Recreate the legacy state: no unique key, two Monday rows and one keyed by the effort date
+        jdbcTemplate.execute("ALTER TABLE weekly_effort_summary DROP CONSTRAINT uk_summary_cohort_week");
+        assertFalse(migration.hasUniqueKey());
+        insertSummary(cohort.getId(), monday, "5", "2026-04-10");
+        insertSummary(cohort.getId(), monday, "5", null);
+        insertSummary(cohort.getId(), monday.plusDays(3), "2", "2026-04-09");
+
+        migration.run();
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT * FROM weekly_effort_summary WHERE cohort_id = ?", cohort.getId());
+        assertEquals(1, rows.size());
+        Map<String, Object> row = rows.get(0);
+        assertEquals(monday.toString(), row.get("week_start_date").toString());
+        assertEquals(0, new BigDecimal("5").compareTo((BigDecimal) row.get("total_hours")));
+        assertEquals(0, new BigDecimal("3").compareTo((BigDecimal) row.get("technical_trainer_hours")));
+        assertEquals(0, new BigDecimal("2").compareTo((BigDecimal) row.get("mentor_hours")));
+        assertEquals("2026-04-09,2026-04-10", row.get("holidays"));
+        assertTrue(migration.hasUniqueKey());
+
+        // A second run has nothing left to do
+        assertEquals(0, migration.mergeWeeks());
+    }
+
+    private void insertSummary(Long cohortId, LocalDate weekStart, String hours, String holidays) {
+        jdbcTemplate.update("INSERT INTO weekly_effort_summary (cohort_id, week_start_date, week_end_date, "
+                + "total_hours, technical_trainer_hours, behavioral_trainer_hours, mentor_hours, "
+                + "buddy_mentor_hours, holidays, version) VALUES (?, ?, ?, ?, ?, 0, 0, 0, ?, 0)",
+                cohortId, weekStart, weekStart.plusDays(6), new BigDecimal(hours), new BigDecimal(hours), holidays);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.Academy.service;
+
+import com.example.Academy.dto.candidate.CandidateImportReport;
+import com.example.Academy.entity.Candidate;
+import com.example.Academy.entity.Cohort;
+import com.example.Academy.entity.User;
+import com.example.Academy.repository.CohortRepository;
+import com.example.Academy.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CandidateServiceTest {
+
+    @Autowired
+    private CandidateService candidateService;
+
+    @Autowired
+    private CohortRepository cohortRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Cohort cohort;
+    private String prefix;
+
+    @BeforeEach
+    void createCohort() {
+        User coach = userRepository.findByEmpId("coach2001").orElseThrow();
+        prefix = "T" + System.nanoTime();
+        cohort = cohortRepository.save(new Cohort("CAND-" + prefix, "BU", "SL", "SBU", "Java", 0, "Chennai",
+                LocalDate.of(2026, 1, 5), LocalDate.of(2026, 6, 30), coach));
+    }
+
+    @Test
+    void duplicatesWithinTheUploadDifferingOnlyInCaseAreSkipped() {
+        CandidateImportReport report = candidateService.importCandidates(List.of(
+                candidate(prefix + "-A", prefix + "A@x.com"),
+                candidate(prefix + "-B", " " + prefix.toLowerCase() + "a@X.COM "),
+                candidate(prefix.toLowerCase() + "-a", prefix + "c@x.com"),
+                candidate(prefix + "-D", null)));
+
+        assertEquals(2, report.getAccepted());
+        assertEquals(2, report.getSkipped());
+        assertEquals("Duplicate email", report.getRows().get(1).reason());
+        assertEquals("Duplicate candidate ID", report.getRows().get(2).reason());
+    }
+
+    @Test
+    void duplicatesOfStoredCandidatesAreSkipped() {
+        candidateService.importCandidates(List.of(candidate(prefix + "-A", prefix + "a@x.com")));
+
+        CandidateImportReport report = candidateService.importCandidates(List.of(
+                candidate(prefix.toLowerCase() + "-a", prefix + "new@x.com"),
+                candidate(prefix + "-B", prefix.toUpperCase() + "A@X.COM"),
+                candidate(prefix + "-C", prefix + "c@x.com")));
+
+        assertEquals(1, report.getAccepted());
+        assertEquals("Duplicate candidate ID", report.getRows().get(0).reason());
+        assertEquals("Duplicate email", report.getRows().get(1).reason());
+    }
+
+    private Candidate candidate(String candidateId, String email) {
+        return new Candidate(candidateId, "Candidate " + candidateId, email, cohort, Candidate.Status.ACTIVE,
+                LocalDate.of(2026, 1, 5));
+    }
+}
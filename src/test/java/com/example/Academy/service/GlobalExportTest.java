@@ -0,0 +1,146 @@
+package com.example.Academy.service;
+
+import com.example.Academy.entity.Cohort;
+import com.example.Academy.entity.User;
+import com.example.Academy.repository.CohortRepository;
+import com.example.Academy.repository.UserRepository;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class GlobalExportTest {
+
+    @Autowired
+    private ExecutiveReportService reportService;
+
+    @Autowired
+    private CohortRepository cohortRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void cohortsAreWrittenInCodeOrderWithEachCohortInDateOrder() throws Exception {
+        LocalDate start = LocalDate.of(2031, 1, 1);
+        String prefix = "EXP-" + System.nanoTime();
+        List<String> expected = new ArrayList<>();
+        // Created out of code order; B spans several keyset chunks
+        List<String> c = seed(prefix + "-C", start, 3);
+        List<String> a = seed(prefix + "-A", start, 5);
+        List<String> b = seed(prefix + "-B", start, 2100);
+        expected.addAll(a);
+        expected.addAll(b);
+        expected.addAll(c);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportService.streamGlobalReportByRange(start, start.plusYears(1).minusDays(1), out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            List<String> written = new ArrayList<>();
+            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+                written.add(sheet.getRow(i).getCell(11).getStringCellValue());
+            }
+            assertEquals(expected, written);
+        }
+    }
+
+    /**
+     * Export throughput by pool size. Run with -Dbench=true on a machine with 8 or
+     * more cores, e.g. mvn test -Dtest=GlobalExportTest -Dbench=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "bench", matches = "true")
+    void benchmarkExportByThreadCount() throws Exception {
+        int cohorts = Integer.getInteger("bench.cohorts", 16);
+        int effortsPerCohort = Integer.getInteger("bench.efforts", 2500);
+        LocalDate start = LocalDate.of(2032, 1, 1);
+        LocalDate end = start.plusYears(1).minusDays(1);
+        String prefix = "BENCH-" + System.nanoTime();
+        for (int i = 0; i < cohorts; i++) {
+            seed(prefix + "-" + i, start, effortsPerCohort);
+        }
+
+        Set<Integer> threadCounts = new LinkedHashSet<>(List.of(1, 2, 4, 8));
+        threadCounts.add(Runtime.getRuntime().availableProcessors());
+        ExecutiveReportService target = AopTestUtils.getTargetObject(reportService);
+        int configured = (Integer) ReflectionTestUtils.getField(target, "exportThreads");
+        long baseline = 0;
+        try {
+            for (int threads : threadCounts) {
+                usePool(target, threads);
+                export(start, end); // warm-up
+                long best = Long.MAX_VALUE;
+                for (int run = 0; run < 3; run++) {
+                    long begin = System.nanoTime();
+                    long rows = export(start, end);
+                    best = Math.min(best, System.nanoTime() - begin);
+                    assertEquals((long) cohorts * effortsPerCohort, rows);
+                }
+                baseline = baseline == 0 ? best : baseline;
+                System.out.printf("Global export bench: %d cohorts x %d efforts, %d threads: %d ms (%.2fx)%n",
+                        cohorts, effortsPerCohort, threads, best / 1_000_000, (double) baseline / best);
+            }
+        } finally {
+            usePool(target, configured);
+        }
+    }
+
+    private long export(LocalDate start, LocalDate end) throws Exception {
+        AtomicLong rows = new AtomicLong();
+        reportService.streamGlobalReportByRange(start, end, OutputStream.nullOutputStream(), rows::set);
+        return rows.get();
+    }
+
+    private static void usePool(ExecutiveReportService target, int threads) {
+        target.shutdown();
+        ReflectionTestUtils.setField(target, "exportThreads", threads);
+        target.init();
+    }
+
+    // Inserts efforts on descending dates and returns their area-of-work markers in export order
+    private List<String> seed(String code, LocalDate start, int efforts) {
+        User coach = userRepository.findByEmpId("coach2001").orElseThrow();
+        Cohort cohort = cohortRepository.save(new Cohort(code, "BU", "SL", "SBU", "Java", 0, "Chennai",
+                start, start.plusMonths(6), coach));
+        List<Object[]> rows = new ArrayList<>(efforts);
+        List<String> markers = new ArrayList<>(efforts);
+        for (int i = 0; i < efforts; i++) {
+            LocalDate date = start.plusDays((efforts - 1 - i) % 300);
+            rows.add(new Object[] { cohort.getId(), coach.getEmpId(), "TRAINER", "IN_PERSON",
+                    code + "#" + i, 1, date, "JANUARY", coach.getId() });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO stakeholder_efforts (cohort_id, trainer_mentor_id, role, mode, "
+                + "area_of_work, effort_hours, effort_date, effort_month, updated_by) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        // Export order within a cohort is (effort date, id); ids follow insertion order
+        rows.stream()
+                .sorted((x, y) -> ((LocalDate) x[6]).compareTo((LocalDate) y[6]))
+                .forEach(row -> markers.add((String) row[4]));
+        return markers;
+    }
+}
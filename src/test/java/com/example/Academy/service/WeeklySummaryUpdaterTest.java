@@ -0,0 +1,121 @@
+package com.example.Academy.service;
+
+import com.example.Academy.entity.Cohort;
+import com.example.Academy.entity.StakeholderEffort;
+import com.example.Academy.entity.User;
+import com.example.Academy.entity.WeeklySummary;
+import com.example.Academy.repository.CohortRepository;
+import com.example.Academy.repository.UserRepository;
+import com.example.Academy.repository.WeeklySummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class WeeklySummaryUpdaterTest {
+
+    private static final int THREADS = 8;
+    private static final int DELTAS_PER_THREAD = 25;
+
+    @Autowired
+    private WeeklySummaryUpdater updater;
+
+    @Autowired
+    private WeeklySummaryRepository summaryRepository;
+
+    @Autowired
+    private CohortRepository cohortRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Cohort cohort;
+
+    @BeforeEach
+    void createCohort() {
+        User coach = userRepository.findByEmpId("coach2001").orElseThrow();
+        cohort = cohortRepository.save(new Cohort("WS-" + System.nanoTime(), "BU", "SL", "SBU", "Java", 10,
+                "Chennai", LocalDate.of(2026, 1, 5), LocalDate.of(2026, 6, 30), coach));
+    }
+
+    @Test
+    void concurrentDeltasForANewWeekAreAllApplied() throws Exception {
+        LocalDate weekStart = LocalDate.of(2026, 3, 2);
+
+        runConcurrently(i -> updater.applyDelta(cohort.getId(), weekStart,
+                i % 2 == 0 ? StakeholderEffort.Role.TRAINER : StakeholderEffort.Role.MENTOR, BigDecimal.ONE,
+                "Tester", null));
+
+        List<WeeklySummary> rows = summaryRepository.findByCohortId(cohort.getId());
+        assertEquals(1, rows.size());
+        WeeklySummary summary = rows.get(0);
+        int expected = THREADS * DELTAS_PER_THREAD;
+        assertEquals(0, BigDecimal.valueOf(expected).compareTo(summary.getTotalHours()));
+        assertEquals(0, BigDecimal.valueOf(expected / 2).compareTo(summary.getTechnicalTrainerHours()));
+        assertEquals(0, BigDecimal.valueOf(expected / 2).compareTo(summary.getMentorHours()));
+    }
+
+    @Test
+    void deltasAfterAReplaceBuildOnTheReplacedTotals() throws Exception {
+        LocalDate weekStart = LocalDate.of(2026, 3, 9);
+        transactionTemplate.executeWithoutResult(status -> updater.replaceWeek(cohort.getId(), weekStart,
+                BigDecimal.TEN, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, null, "Tester", null));
+
+        runConcurrently(i -> updater.applyDelta(cohort.getId(), weekStart, StakeholderEffort.Role.TRAINER,
+                i % 2 == 0 ? BigDecimal.ONE : BigDecimal.ONE.negate(), "Tester", null));
+
+        WeeklySummary summary = summaryRepository.findByCohortIdAndWeekStartDate(cohort.getId(), weekStart)
+                .orElseThrow();
+        assertEquals(0, BigDecimal.TEN.compareTo(summary.getTotalHours()));
+        assertEquals(0, BigDecimal.TEN.compareTo(summary.getTechnicalTrainerHours()));
+    }
+
+    private void runConcurrently(IndexedTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < DELTAS_PER_THREAD; i++) {
+                        int index = thread * DELTAS_PER_THREAD + i;
+                        // One transaction per delta, as in the effort endpoints
+                        transactionTemplate.executeWithoutResult(status -> task.run(index));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.Academy.util;
+
+import com.example.Academy.entity.Feedback;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ComprehensiveFeedbackReportGeneratorTest {
+
+    /**
+     * Build time of the six per-stakeholder workbooks (written in parallel) and of
+     * the single multi-sheet workbook. Run with -Dbench=true, e.g.
+     * mvn test -Dtest=ComprehensiveFeedbackReportGeneratorTest -Dbench=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "bench", matches = "true")
+    void benchmarkLargeWorkbooks() throws Exception {
+        int responses = Integer.getInteger("bench.responses", 50000);
+        List<Feedback> feedback = feedback(responses);
+
+        // Warm-up
+        ComprehensiveFeedbackReportGenerator.generate(feedback);
+        byte[] combined = ComprehensiveFeedbackReportGenerator.generateCombined(feedback);
+
+        long separate = Long.MAX_VALUE;
+        long single = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            long begin = System.nanoTime();
+            Map<String, byte[]> files = ComprehensiveFeedbackReportGenerator.generate(feedback);
+            separate = Math.min(separate, System.nanoTime() - begin);
+            assertEquals(6, files.size());
+
+            begin = System.nanoTime();
+            combined = ComprehensiveFeedbackReportGenerator.generateCombined(feedback);
+            single = Math.min(single, System.nanoTime() - begin);
+        }
+        System.out.printf("Feedback report bench: %d responses, %d cores: six workbooks %d ms, "
+                + "combined workbook %d ms (%d KB)%n", responses, Runtime.getRuntime().availableProcessors(),
+                separate / 1_000_000, single / 1_000_000, combined.length / 1024);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(combined))) {
+            assertEquals(6, workbook.getNumberOfSheets());
+            for (Sheet sheet : workbook) {
+                assertEquals(responses, sheet.getLastRowNum());
+            }
+        }
+    }
+
+    private static List<Feedback> feedback(int responses) {
+        Random random = new Random(1);
+        List<Feedback> list = new ArrayList<>(responses);
+        for (int i = 0; i < responses; i++) {
+            Feedback f = new Feedback();
+            f.setWeekNumber(1 + i % 12);
+            f.setEmployeeId("EMP" + i);
+            f.setCreatedAt(LocalDateTime.of(2026, 1, 5, 10, 0).plusMinutes(i));
+            f.setIsTechnicalSessionHeld(true);
+            f.setCourseContentRating(1 + random.nextInt(5));
+            f.setTechnicalKnowledgeRating(1 + random.nextInt(5));
+            f.setTrainerEngagementRating(1 + random.nextInt(5));
+            f.setTechnicalLowScoreExplanation(i % 5 == 0 ? "The session moved too fast through topic " + i : null);
+            f.setIsMentorSessionHeld(i % 2 == 0);
+            f.setMentorGuidanceRating(1 + random.nextInt(5));
+            f.setCoachEffectivenessRating(1 + random.nextInt(5));
+            f.setDidBuddyMentorConnect(true);
+            f.setBuddyMentorGuidanceRating(1 + random.nextInt(5));
+            f.setBuddyMentorSuggestions("More practice problems in week " + f.getWeekNumber());
+            f.setIsBehavioralSessionHeld(true);
+            f.setBehavioralDeliveryRating(1 + random.nextInt(5));
+            f.setOverallSatisfaction(1 + random.nextInt(5));
+            list.add(f);
+        }
+        return list;
+    }
+}